@@ -0,0 +1,115 @@
+package suzume.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import bgame.Action;
+import bgame.ActionResult;
+import suzume.Player;
+import suzume.SuzumeSession;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.TsumoAction;
+
+/**
+ * 액션 처리(<code>doAction()</code>) 벤치마크.<p>
+ * 도라 → (쯔모 → 버리기)를 패 더미가 빌 때까지 반복하는 라운드를 한 번에 액션 하나씩 진행하며,
+ * 더미가 비어 라운드가 유국으로 정산되면 다시 초기화합니다(그 비용도 나눠 포함). 버리기는 방금 쯔모한 패를 버리고, 론 대기는 바로 닫습니다.<p>
+ * <code>contendedStep</code>은 여러 스레드가 한 세션에 액션을 보내는 경우로, 세션 모니터 경합을 측정합니다.
+ * 다른 스레드가 먼저 진행시켜 낡은 액션은 거절되므로 예외 대신 거절 결과를 반환하는 <code>tryAction()</code>을 사용합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ActionBenchmark {
+
+    // 상수
+    private static final int PLAYER_CNT = 4;
+    private static final int CONTENDED_THREAD_CNT = 4;
+
+    /**
+     * 스레드마다 독립된 세션.
+     */
+    @State(Scope.Thread)
+    public static class SingleSession {
+
+        SuzumeSession session;
+
+        @Setup
+        public void setup() {
+            this.session = openSession("action-bench");
+        }
+    }
+
+    /**
+     * 모든 스레드가 공유하는 세션.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedSession {
+
+        SuzumeSession session;
+
+        @Setup
+        public void setup() {
+            this.session = openSession("action-bench-shared");
+        }
+    }
+
+    private static SuzumeSession openSession(String sessionId) {
+        final List<Player> playerList = new ArrayList<>(PLAYER_CNT);
+        for (int i = 0; i < PLAYER_CNT; ++i) {
+            playerList.add(Player.of("player" + i, "player" + i));
+        }
+
+        final SuzumeSession session = SessionBenchmark.openSession(sessionId, playerList);
+        session.initRound();
+        return session;
+    }
+
+    /**
+     * 현재 상태에서 진행할 다음 액션을 고릅니다. 론 대기를 닫거나 라운드를 다시 초기화해야 하면 직접 처리하고 <code>null</code>을 반환합니다.
+     */
+    private static Action nextAction(SuzumeSession session) {
+        synchronized (session) {
+            final Player turnHolder = session.getTurnHolder();
+
+            switch (session.getSuzumeState()) {
+                case WAITING_DORA:
+                    return new DoraAction(session, session.getRoundStartPlayer().getSeatIdx());
+                case WAITING_THUMO:
+                    return new TsumoAction(session, turnHolder.getSeatIdx());
+                case WAITING_DISCARD:
+                    return new DiscardAndPassTurnAction(session, turnHolder.getSeatIdx(), session.getLastDrawnTile().getId());
+                case WAITING_LOAN:
+                    session.closeLoanWindow();
+                    return null;
+                default:
+                    // 라운드 종료 (유국으로 정산됨)
+                    session.initRound();
+                    return null;
+            }
+        }
+    }
+
+    @Benchmark
+    public ActionResult step(SingleSession state) {
+        final Action action = nextAction(state.session);
+        return action == null ? null : state.session.doAction(action);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREAD_CNT)
+    public ActionResult contendedStep(SharedSession state) {
+        final Action action = nextAction(state.session);
+        return action == null ? null : state.session.tryAction(action);
+    }
+}
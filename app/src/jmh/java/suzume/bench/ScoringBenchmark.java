@@ -0,0 +1,85 @@
+package suzume.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import bgame.SessionRandom;
+import suzume.HuaryoScoreTable;
+import suzume.SuzumeUtil;
+import suzume.Tile;
+
+/**
+ * 화료 점수 계산(<code>SuzumeUtil.calcHuaryoScore()</code>) 벤치마크.<p>
+ * 완성된 손패(몸통 두 개, 역만 포함)와 무작위로 나눠준 손패를 섞은 <code>HAND_CNT</code>개의 손패를 차례로 계산하여
+ * 분기 예측이 한 손패에 맞춰지지 않도록 합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoringBenchmark {
+
+    // 상수
+    private static final int HAND_CNT = 1024;   // 2의 제곱수 (인덱스 마스크)
+    private static final int[][] COMPLETE_HANDS = {
+        { 1, 5, 9, 25, 29, 33 },        // 1-2-3, 7-8-9 (찬타)
+        { 5, 6, 7, 21, 22, 23 },        // 2-2-2, 6-6-6
+        { 5, 9, 13, 29, 30, 37 },       // 2-3-4, 8-8 발 (올그린 후보)
+        { 4, 8, 12, 16, 20, 24 },       // 적 1~6 (적패 다수)
+        { 37, 38, 39, 41, 42, 43 },     // 발 3개, 중 3개
+    };
+
+    // 필드
+    private final List<List<Tile>> handLists = new ArrayList<>(HAND_CNT);
+    private final long[] handKeys = new long[HAND_CNT];
+    private Tile doraTile;
+    private int handIdx;
+
+    @Setup
+    public void setup() {
+        final SessionRandom random = SessionRandom.seeded(42L);
+        final List<Tile> deck = new ArrayList<>(Tile.getDefinedTileList());
+
+        for (int i = 0; i < HAND_CNT; ++i) {
+            final List<Tile> hand = new ArrayList<>(HuaryoScoreTable.HAND_SIZE);
+
+            if (i % 4 == 0) {
+                for (int tileId : COMPLETE_HANDS[(i / 4) % COMPLETE_HANDS.length]) {
+                    hand.add(Tile.getDefinedTile(tileId));
+                }
+            }
+            else {
+                for (int j = deck.size() - 1; j >= deck.size() - HuaryoScoreTable.HAND_SIZE; --j) {
+                    final int k = random.nextInt(j + 1);
+                    final Tile tile = deck.get(j);
+                    deck.set(j, deck.get(k));
+                    deck.set(k, tile);
+                    hand.add(deck.get(j));
+                }
+            }
+
+            this.handLists.add(hand);
+            this.handKeys[i] = HuaryoScoreTable.keyOf(hand);
+        }
+
+        this.doraTile = Tile.getDefinedTile(17);
+    }
+
+    @Benchmark
+    public int calcHuaryoScoreByKey() {
+        return SuzumeUtil.calcHuaryoScore(this.doraTile, this.handKeys[this.handIdx++ & (HAND_CNT - 1)]);
+    }
+
+    @Benchmark
+    public int calcHuaryoScoreByList() {
+        return SuzumeUtil.calcHuaryoScore(this.doraTile, this.handLists.get(this.handIdx++ & (HAND_CNT - 1)));
+    }
+}
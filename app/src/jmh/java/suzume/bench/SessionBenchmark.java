@@ -0,0 +1,105 @@
+package suzume.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import bgame.SessionRandom;
+import suzume.Player;
+import suzume.SuzumeSession;
+import suzume.Tile;
+
+/**
+ * 세션의 라운드 준비와 조회 벤치마크.<p>
+ * 라운드 초기화(패 더미 섞기, 나눠주기), 패 더미에서 뽑기, 아이디로 플레이어/패 조회를 측정합니다.
+ * 세션은 타이밍 휠 없이 열어 타이머 등록 비용을 제외합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SessionBenchmark {
+
+    // 필드
+    @Param({ "2", "5" })
+    private int playerCnt;
+
+    private SuzumeSession session;
+    private String[] playerIds;
+    private String[] tileIds;
+    private int idx;
+
+    @Setup
+    public void setup() {
+        final List<Player> playerList = new ArrayList<>(this.playerCnt);
+        this.playerIds = new String[this.playerCnt];
+
+        for (int i = 0; i < this.playerCnt; ++i) {
+            this.playerIds[i] = "player" + i;
+            playerList.add(Player.of(this.playerIds[i], this.playerIds[i]));
+        }
+
+        this.session = openSession("session-bench", playerList);
+        this.session.initRound();
+
+        final List<Tile> tileList = Tile.getDefinedTileList();
+        this.tileIds = new String[tileList.size()];
+        for (int i = 0; i < tileList.size(); ++i) {
+            this.tileIds[i] = String.valueOf(tileList.get(i).getId());
+        }
+    }
+
+    /**
+     * 벤치마크용 세션을 엽니다. 시드를 고정하고 타이밍 휠과 턴 시간 제한을 끕니다.
+     */
+    static SuzumeSession openSession(String sessionId, List<Player> playerList) {
+        final SuzumeSession session = SuzumeSession.openSession(sessionId, playerList, SessionRandom.seeded(42L));
+        session.setTimingWheel(null);
+        session.setTurnTimeoutMs(0L);
+        return session;
+    }
+
+    @Benchmark
+    public SuzumeSession initRound() {
+        this.session.initRound();
+        return this.session;
+    }
+
+    /**
+     * 패 더미에서 하나를 뽑습니다. 더미가 비면 라운드를 다시 초기화하므로,
+     * 결과에는 (남은 패 수)번에 한 번의 <code>initRound()</code> 비용이 나눠 포함됩니다.
+     */
+    @Benchmark
+    public Tile pickRandomTileFromStock() {
+        final Tile tile = this.session.pickRandomTileFromStock();
+
+        if (tile == null) {
+            this.session.initRound();
+        }
+
+        return tile;
+    }
+
+    @Benchmark
+    public Player getPlayerById() {
+        return this.session.getPlayerById(this.playerIds[this.idx++ % this.playerCnt]);
+    }
+
+    @Benchmark
+    public Tile getTileById() {
+        return this.session.getTileById(this.tileIds[this.idx++ % this.tileIds.length]);
+    }
+
+    @Benchmark
+    public Tile getTileByIntId() {
+        return this.session.getTileById(this.idx++ % this.tileIds.length + 1);
+    }
+}
@@ -4,4 +4,9 @@ public interface Action {
  
     // 내제된 액션을 수행 후 결과 반환
     public ActionResult act();
+
+    // 내제된 액션을 수행 후 결과 반환. 규칙 위반은 예외 대신 거절 결과(isRejected())로 반환
+    public default ActionResult tryAct() {
+        return act();
+    }
 }
@@ -0,0 +1,375 @@
+package bgame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 추가 전용(append-only) 바이너리 액션 저널.<p>
+ * 레코드는 메모리 매핑된 고정 크기 세그먼트 파일에 순서대로 기록되며, 세그먼트가 가득 차면 다음 파일로 넘어갑니다.
+ * 기록은 매핑된 버퍼에 값을 쓰는 것뿐이므로 디스크 I/O를 기다리지 않으며, 프로세스가 죽어도 OS 페이지 캐시에 남습니다.
+ * 디스크 동기화(<code>flush()</code>)는 그 사이에 쌓인 레코드를 한번에 내려쓰는 그룹 커밋으로 동작합니다.<p>
+ * 기록은 락을 잡지 않습니다. 레코드 자리는 세그먼트의 쓰기 위치를 CAS로 옮겨 확보하고, 내용은 확보한 자리에 각자 복사합니다.
+ * 락은 세그먼트 교체, 동기화, 닫기에만 사용하며, 교체/닫기 전에는 세그먼트를 봉인한 후 복사중인 기록이 끝나기를 기다립니다.
+ * 레코드 길이는 내용을 모두 쓴 후 기록하므로 읽기 쪽은 완성된 레코드만 봅니다. 다만 복사 도중 프로세스가 죽으면
+ * 그 레코드가 세그먼트의 끝으로 읽혀, 같은 세그먼트에서 그 뒤에 자리를 확보한 레코드는 읽히지 않습니다.<p>
+ * 레코드 구조 (리틀 엔디안): <code>[int 레코드 길이][int 세션 번호][int 레코드 종류][내용...]</code>.
+ * 길이가 <code>0</code>인 위치는 세그먼트의 끝입니다.
+ */
+public final class ActionJournal implements Closeable {
+
+    // 상수
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final int HEADER_SIZE = 12;                       // 레코드 헤더 크기
+    public static final int FIXED_RECORD_SIZE = HEADER_SIZE + 16;   // 고정 길이 레코드 크기 (long 2개)
+    private static final int SEGMENT_MAGIC = 0x4A4E4C31;            // "JNL1"
+    private static final int SEGMENT_HEADER_SIZE = 16;              // [int 매직][int 예약][long 기록자 세대]
+    private static final String SEGMENT_SUFFIX = ".jnl";
+
+    // 필드
+    private final Path directory;
+    private final int segmentSize;
+    private final long epoch;                   // 기록자 세대 (세션 번호의 유효 범위)
+    private volatile Segment segment;           // 기록중인 세그먼트 (교체는 이 객체의 락 안에서)
+    private volatile boolean dirty;             // 마지막 flush() 이후 기록 여부
+    private volatile boolean closed;
+
+    /**
+     * 생성자. 저널 디렉토리에 이미 세그먼트가 있으면 그 다음 번호의 세그먼트부터 기록합니다.
+     * @param directory 세그먼트 파일을 둘 디렉토리
+     * @param segmentSize 세그먼트 파일 크기 (byte)
+     * @throws IOException 디렉토리나 세그먼트 파일을 만들 수 없는 경우.
+     * @throws IllegalArgumentException 세그먼트 크기가 너무 작은 경우.
+     */
+    public ActionJournal(Path directory, int segmentSize) throws IOException {
+        Objects.requireNonNull(this.directory = directory);
+
+        if (segmentSize < SEGMENT_HEADER_SIZE + 2 * FIXED_RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment size is too small! (segmentSize: " + segmentSize + ")");
+        }
+
+        Files.createDirectories(directory);
+
+        final List<Path> segmentPaths = listSegments(directory);
+        this.segmentSize = segmentSize;
+        this.epoch = System.currentTimeMillis();
+        this.dirty = false;
+        this.closed = false;
+        this.segment = mapSegment(segmentPaths.isEmpty() ? 0 : segmentNoOf(segmentPaths.get(segmentPaths.size() - 1)) + 1);
+    }
+
+    /**
+     * 생성자. <code>DEFAULT_SEGMENT_SIZE</code> 크기의 세그먼트를 사용합니다.
+     * @param directory 세그먼트 파일을 둘 디렉토리
+     * @throws IOException 디렉토리나 세그먼트 파일을 만들 수 없는 경우.
+     */
+    public ActionJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 고정 길이 레코드를 기록합니다. 액션 기록에 사용하는 빠른 경로입니다.
+     * @param sessionNo 세션 번호
+     * @param type 레코드 종류
+     * @param arg0 첫번째 값
+     * @param arg1 두번째 값
+     * @throws IOException 새 세그먼트를 만들 수 없는 경우.
+     */
+    public void append(int sessionNo, int type, long arg0, long arg1) throws IOException {
+        Segment seg = this.segment;
+        int pos;
+
+        while ((pos = seg.reserve(FIXED_RECORD_SIZE)) < 0) {
+            seg = nextSegment(seg);
+        }
+
+        try {
+            final ByteBuffer buf = seg.buf;
+            buf.putInt(pos + 4, sessionNo);
+            buf.putInt(pos + 8, type);
+            buf.putLong(pos + HEADER_SIZE, arg0);
+            buf.putLong(pos + HEADER_SIZE + 8, arg1);
+            buf.putInt(pos, FIXED_RECORD_SIZE); // 길이는 마지막에 기록 (읽기 쪽에서 완성된 레코드만 보이도록)
+            this.dirty = true;
+        }
+        finally {
+            seg.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 가변 길이 레코드를 기록합니다. 세션 시작 등 드물게 발생하는 레코드에 사용합니다.
+     * @param sessionNo 세션 번호
+     * @param type 레코드 종류
+     * @param payload 레코드 내용
+     * @throws IOException 새 세그먼트를 만들 수 없는 경우.
+     * @throws IllegalArgumentException 레코드가 세그먼트보다 큰 경우.
+     */
+    public void append(int sessionNo, int type, byte[] payload) throws IOException {
+        final int recordSize = HEADER_SIZE + payload.length;
+
+        if (recordSize > this.segmentSize - SEGMENT_HEADER_SIZE - 4) {
+            throw new IllegalArgumentException("Record is larger than segment! (recordSize: " + recordSize + ")");
+        }
+
+        Segment seg = this.segment;
+        int pos;
+
+        while ((pos = seg.reserve(recordSize)) < 0) {
+            seg = nextSegment(seg);
+        }
+
+        try {
+            final ByteBuffer buf = seg.buf.duplicate().order(ByteOrder.LITTLE_ENDIAN); // 다른 기록과 위치를 공유하지 않도록 복제
+            buf.putInt(pos + 4, sessionNo);
+            buf.putInt(pos + 8, type);
+            buf.position(pos + HEADER_SIZE);
+            buf.put(payload);
+            seg.buf.putInt(pos, recordSize);
+            this.dirty = true;
+        }
+        finally {
+            seg.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 마지막 동기화 이후 기록된 레코드를 디스크에 내려씁니다(그룹 커밋).
+     */
+    public synchronized void flush() {
+        if (this.dirty && !this.closed) {
+            this.dirty = false; // 동기화 도중 끝난 기록은 다음 동기화에서 내려씀
+            this.segment.buf.force();
+        }
+    }
+
+    /**
+     * 타이밍 휠을 이용해 주기적으로 <code>flush()</code>를 실행합니다.
+     * 동기화는 휠 스레드를 막지 않도록 <code>executor</code>에서 실행됩니다.
+     * @param timingWheel 사용할 타이밍 휠
+     * @param intervalMs 그룹 커밋 주기 (ms)
+     * @param executor 동기화를 실행할 실행기
+     * @return 첫번째 실행 타이머
+     */
+    public TimingWheel.Timeout scheduleFlush(TimingWheel timingWheel, long intervalMs, Executor executor) {
+        Objects.requireNonNull(timingWheel);
+        Objects.requireNonNull(executor);
+
+        return timingWheel.schedule(intervalMs, () -> executor.execute(() -> {
+            if (!isClosed()) {
+                flush();
+                scheduleFlush(timingWheel, intervalMs, executor);
+            }
+        }));
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    public long getEpoch() {
+        return this.epoch;
+    }
+
+    /**
+     * 남은 레코드를 내려쓰고 저널을 닫습니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.segment.sealAndAwait();
+        this.segment.buf.force();
+        this.dirty = false;
+    }
+
+    /**
+     * 공간이 부족한 세그먼트를 봉인하고 다음 세그먼트로 넘어갑니다. 다른 스레드가 이미 넘어갔으면 그 세그먼트를 반환합니다.
+     * @param full 자리를 확보하지 못한 세그먼트
+     * @return 기록할 세그먼트
+     * @throws IllegalStateException 저널이 닫힌 경우.
+     */
+    private synchronized Segment nextSegment(Segment full) throws IOException {
+        if (this.closed) {
+            throw new IllegalStateException("Journal is closed!");
+        }
+
+        if (this.segment == full) {
+            full.sealAndAwait();
+            full.buf.force();
+            this.segment = mapSegment(full.segmentNo + 1);
+        }
+
+        return this.segment;
+    }
+
+    /**
+     * 새 세그먼트 파일을 만들고 매핑합니다.
+     */
+    private Segment mapSegment(int segmentNo) throws IOException {
+        final Path path = this.directory.resolve(String.format("%010d", segmentNo) + SEGMENT_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(SEGMENT_MAGIC);
+            buf.putInt(0);
+            buf.putLong(this.epoch);
+            return new Segment(segmentNo, buf, this.segmentSize - 4); // 끝 표시(길이 0) 공간 유지
+        }
+    }
+
+    /**
+     * 저널 디렉토리의 모든 레코드를 기록된 순서대로 읽습니다.
+     * @param directory 세그먼트 파일이 있는 디렉토리
+     * @param reader 레코드를 전달받을 콜백
+     * @throws IOException 세그먼트 파일을 읽을 수 없거나 형식이 올바르지 않은 경우.
+     */
+    public static void read(Path directory, RecordReader reader) throws IOException {
+        Objects.requireNonNull(directory);
+        Objects.requireNonNull(reader);
+
+        for (Path path : listSegments(directory)) {
+            final MappedByteBuffer buf;
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buf.remaining() < SEGMENT_HEADER_SIZE || buf.getInt() != SEGMENT_MAGIC) {
+                throw new IOException("Invalid journal segment! (path: " + path + ")");
+            }
+
+            buf.getInt();
+            final long epoch = buf.getLong();
+
+            while (buf.remaining() >= HEADER_SIZE) {
+                final int pos = buf.position();
+                final int recordSize = buf.getInt(pos);
+
+                if (recordSize == 0) {
+                    break; // 세그먼트 끝
+                }
+
+                if (recordSize < HEADER_SIZE || recordSize > buf.remaining()) {
+                    throw new IOException("Corrupted journal record! (path: " + path + ", position: " + pos + ")");
+                }
+
+                final ByteBuffer payload = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                payload.position(pos + HEADER_SIZE).limit(pos + recordSize);
+
+                reader.onRecord(epoch, buf.getInt(pos + 4), buf.getInt(pos + 8), payload);
+                buf.position(pos + recordSize);
+            }
+        }
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        final List<Path> segmentPaths = new ArrayList<>();
+
+        if (!Files.isDirectory(directory)) {
+            return segmentPaths;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                segmentPaths.add(path);
+            }
+        }
+
+        Collections.sort(segmentPaths); // 0으로 채운 번호이므로 이름순 = 기록순
+        return segmentPaths;
+    }
+
+    private static int segmentNoOf(Path path) {
+        final String fileName = path.getFileName().toString();
+        return Integer.parseInt(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 기록중인 세그먼트. 쓰기 위치는 CAS로만 옮기며, 봉인되면 더 이상 자리를 내주지 않습니다.
+     */
+    private static final class Segment {
+
+        private final int segmentNo;
+        private final MappedByteBuffer buf;     // 절대 위치로만 기록
+        private final int limit;                // 레코드를 쓸 수 있는 끝 위치
+        private final AtomicInteger writeOffset;
+        private final AtomicInteger inFlight;   // 자리를 확보하려 하거나 복사중인 기록 수
+
+        private Segment(int segmentNo, MappedByteBuffer buf, int limit) {
+            this.segmentNo = segmentNo;
+            this.buf = buf;
+            this.limit = limit;
+            this.writeOffset = new AtomicInteger(buf.position());
+            this.inFlight = new AtomicInteger();
+        }
+
+        /**
+         * 레코드 자리를 확보합니다. 성공하면 복사를 마친 후 <code>inFlight</code>를 줄여야 합니다.
+         * @return 레코드 위치. 공간이 부족하거나 봉인되었으면 <code>-1</code>
+         */
+        private int reserve(int recordSize) {
+            this.inFlight.incrementAndGet(); // 봉인 후 기다리는 쪽이 볼 수 있도록 자리 확보 전에 증가
+
+            for (;;) {
+                final int pos = this.writeOffset.get();
+
+                if (pos > this.limit - recordSize) {
+                    this.inFlight.decrementAndGet();
+                    return -1;
+                }
+
+                if (this.writeOffset.compareAndSet(pos, pos + recordSize)) {
+                    return pos;
+                }
+            }
+        }
+
+        /**
+         * 세그먼트를 봉인하고 복사중인 기록이 끝나기를 기다립니다.
+         */
+        private void sealAndAwait() {
+            this.writeOffset.set(Integer.MAX_VALUE);
+
+            while (this.inFlight.get() != 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * 저널 레코드 콜백.
+     */
+    @FunctionalInterface
+    public interface RecordReader {
+
+        /**
+         * 레코드 하나를 전달받습니다.
+         * @param epoch 레코드를 기록한 기록자 세대
+         * @param sessionNo 세션 번호
+         * @param type 레코드 종류
+         * @param payload 레코드 내용 (리틀 엔디안, 콜백이 끝나면 유효하지 않음)
+         * @throws IOException 레코드를 처리할 수 없는 경우.
+         */
+        public void onRecord(long epoch, int sessionNo, int type, ByteBuffer payload) throws IOException;
+    }
+}
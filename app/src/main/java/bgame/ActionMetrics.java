@@ -0,0 +1,252 @@
+package bgame;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * 액션 처리 지표.<p>
+ * 액션 종류별 수행/거절 횟수, 거절 사유별 횟수, 대기(우편함 + 세션 모니터)와 수행 지연 시간 히스토그램,
+ * 그리고 이름으로 구분하는 게이지/카운터(활성 세션 수 등)를 락 없이 모읍니다.
+ * 조회는 <code>get*()</code> 메서드(풀 API) 또는 JMX(<code>ActionMetricsMXBean</code>)로 합니다.<p>
+ * 횟수는 모든 액션에 대해 세지만, <code>System.nanoTime()</code> 호출 비용을 줄이기 위해 지연 시간은
+ * <code>1/sampleRate</code>의 확률로 표본 추출한 액션만 측정합니다.
+ */
+public final class ActionMetrics implements ActionMetricsMXBean {
+
+    // 상수
+    public static final int DEFAULT_SAMPLE_RATE = 16;
+    public static final int MAX_REJECTION_REASON_CNT = 256;   // 거절 사유 종류 상한 (초과분은 OTHER_REASON)
+    public static final String OTHER_REASON = "(기타)";
+    public static final String ACTIVE_SESSIONS = "activeSessions";
+
+    // 필드
+    private final ClassValue<ActionStats> statsByClass;
+    private final Map<String, ActionStats> statsByName;
+    private final Map<String, LongAdder> rejectionByReason;
+    private final Map<String, LongAdder> gauges;
+    private final LatencyHistogram queueWaitHistogram;
+    private volatile int sampleMask;
+
+    // 생성자
+    public ActionMetrics() {
+        this.statsByName = new ConcurrentHashMap<>();
+        this.rejectionByReason = new ConcurrentHashMap<>();
+        this.gauges = new ConcurrentHashMap<>();
+        this.queueWaitHistogram = new LatencyHistogram();
+        this.sampleMask = DEFAULT_SAMPLE_RATE - 1;
+        this.statsByClass = new ClassValue<ActionStats>() {
+            @Override
+            protected ActionStats computeValue(Class<?> type) {
+                return statsByName.computeIfAbsent(type.getSimpleName(), name -> new ActionStats());
+            }
+        };
+    }
+
+    /**
+     * 모든 세션이 공유하는 기본 지표를 반환합니다.
+     * @return 공유 지표
+     */
+    public static ActionMetrics global() {
+        return GlobalHolder.INSTANCE;
+    }
+
+    /**
+     * 지연 시간 표본 추출 비율을 지정합니다.
+     * @param sampleRate 몇 개의 액션 중 하나를 측정할지 (2의 거듭제곱으로 올림, 1이면 전부 측정)
+     */
+    public void setSampleRate(int sampleRate) {
+        int size = 1;
+        while (size < sampleRate) {
+            size <<= 1;
+        }
+
+        this.sampleMask = size - 1;
+    }
+
+    /**
+     * 이번 액션의 지연 시간을 측정할지 결정합니다.
+     * @return true: 측정
+     */
+    public boolean shouldSample() {
+        final int mask = this.sampleMask;
+        return mask == 0 || (ThreadLocalRandom.current().nextInt() & mask) == 0;
+    }
+
+    /**
+     * 액션 종류별 지표를 반환합니다.
+     * @param actionClass 액션 클래스
+     * @return 지표 (같은 클래스는 항상 같은 객체)
+     */
+    public ActionStats statsOf(Class<?> actionClass) {
+        return this.statsByClass.get(actionClass);
+    }
+
+    /**
+     * 우편함 대기 시간을 기록합니다.
+     * @param nanos 액션을 넣은 후 꺼낼 때까지의 시간 (ns)
+     */
+    public void recordQueueWait(long nanos) {
+        this.queueWaitHistogram.record(nanos);
+    }
+
+    /**
+     * 거절된 액션을 기록합니다.
+     * @param actionClass 액션 클래스
+     * @param reason 거절 사유
+     */
+    public void recordRejection(Class<?> actionClass, String reason) {
+        statsOf(actionClass).rejected.increment();
+
+        LongAdder counter = this.rejectionByReason.get(reason == null ? OTHER_REASON : reason);
+        if (counter == null) {
+            final String key = reason == null || this.rejectionByReason.size() >= MAX_REJECTION_REASON_CNT ? OTHER_REASON : reason;
+            counter = this.rejectionByReason.computeIfAbsent(key, k -> new LongAdder());
+        }
+
+        counter.increment();
+    }
+
+    /**
+     * 이름으로 구분하는 게이지(또는 누적 카운터)를 반환합니다. 자주 쓰는 게이지는 반환값을 보관해서 사용합니다.
+     * @param name 게이지 이름
+     * @return 게이지
+     */
+    public LongAdder gauge(String name) {
+        Objects.requireNonNull(name);
+
+        final LongAdder gauge = this.gauges.get(name);
+        return gauge != null ? gauge : this.gauges.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    public LatencyHistogram getQueueWaitHistogram() {
+        return this.queueWaitHistogram;
+    }
+
+    /**
+     * 액션 종류별 지표를 반환합니다.
+     * @return 액션 클래스 이름을 키로 하는 읽기 전용 맵
+     */
+    public Map<String, ActionStats> getActionStats() {
+        return Collections.unmodifiableMap(this.statsByName);
+    }
+
+    @Override
+    public Map<String, Long> getActionCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        this.statsByName.forEach((name, stats) -> counts.put(name, stats.executed.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getRejectedCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        this.statsByName.forEach((name, stats) -> counts.put(name, stats.rejected.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getRejectionReasonCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        this.rejectionByReason.forEach((reason, counter) -> counts.put(reason, counter.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getExecP99Nanos() {
+        final Map<String, Long> p99 = new TreeMap<>();
+        this.statsByName.forEach((name, stats) -> p99.put(name, stats.execHistogram.getPercentileNanos(0.99)));
+        return p99;
+    }
+
+    @Override
+    public Map<String, Long> getLockWaitP99Nanos() {
+        final Map<String, Long> p99 = new TreeMap<>();
+        this.statsByName.forEach((name, stats) -> p99.put(name, stats.lockWaitHistogram.getPercentileNanos(0.99)));
+        return p99;
+    }
+
+    @Override
+    public long getQueueWaitP99Nanos() {
+        return this.queueWaitHistogram.getPercentileNanos(0.99);
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        final Map<String, Long> values = new TreeMap<>();
+        this.gauges.forEach((name, gauge) -> values.put(name, gauge.sum()));
+        return values;
+    }
+
+    @Override
+    public int getSampleRate() {
+        return this.sampleMask + 1;
+    }
+
+    /**
+     * 플랫폼 MBean 서버에 지표를 등록합니다.
+     * @param objectName 등록할 이름 (예: <code>bgame:type=ActionMetrics</code>)
+     * @throws JMException 등록에 실패한 경우.
+     */
+    public void registerMBean(String objectName) throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, new ObjectName(objectName));
+    }
+
+    /**
+     * 액션 종류별 지표.
+     */
+    public static final class ActionStats {
+
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LatencyHistogram execHistogram = new LatencyHistogram();
+        private final LatencyHistogram lockWaitHistogram = new LatencyHistogram();
+
+        /**
+         * 수행된 액션을 기록합니다.
+         * @param lockWaitNanos 세션 모니터 대기 시간 (측정하지 않았으면 음수)
+         * @param execNanos 수행 시간 (측정하지 않았으면 음수)
+         */
+        public void recordExecuted(long lockWaitNanos, long execNanos) {
+            this.executed.increment();
+
+            if (execNanos >= 0) {
+                this.lockWaitHistogram.record(lockWaitNanos);
+                this.execHistogram.record(execNanos);
+            }
+        }
+
+        public long getExecutedCnt() {
+            return this.executed.sum();
+        }
+
+        public long getRejectedCnt() {
+            return this.rejected.sum();
+        }
+
+        public LatencyHistogram getExecHistogram() {
+            return this.execHistogram;
+        }
+
+        public LatencyHistogram getLockWaitHistogram() {
+            return this.lockWaitHistogram;
+        }
+    }
+
+    /**
+     * 공유 지표 지연 초기화 홀더.
+     */
+    private static final class GlobalHolder {
+        private static final ActionMetrics INSTANCE = new ActionMetrics();
+    }
+}
@@ -0,0 +1,33 @@
+package bgame;
+
+import java.util.Map;
+
+/**
+ * 액션 처리 지표 JMX 인터페이스.
+ */
+public interface ActionMetricsMXBean {
+
+    // 액션 종류별 수행 횟수
+    public Map<String, Long> getActionCounts();
+
+    // 액션 종류별 거절 횟수
+    public Map<String, Long> getRejectedCounts();
+
+    // 거절 사유별 횟수
+    public Map<String, Long> getRejectionReasonCounts();
+
+    // 액션 종류별 수행 시간 p99 (ns)
+    public Map<String, Long> getExecP99Nanos();
+
+    // 액션 종류별 세션 모니터 대기 시간 p99 (ns)
+    public Map<String, Long> getLockWaitP99Nanos();
+
+    // 우편함 대기 시간 p99 (ns)
+    public long getQueueWaitP99Nanos();
+
+    // 게이지 (활성 세션 수, 라운드 수, 론 대기 수 등)
+    public Map<String, Long> getGauges();
+
+    // 지연 시간 표본 추출 비율
+    public int getSampleRate();
+}
@@ -1,5 +1,14 @@
 package bgame;
 
 public interface ActionResult {
-    
+
+    // 규칙에 맞지 않아 거절된 액션의 결과인지 여부
+    public default boolean isRejected() {
+        return false;
+    }
+
+    // 거절 사유 (거절되지 않았으면 null)
+    public default String getRejectMessage() {
+        return null;
+    }
 }
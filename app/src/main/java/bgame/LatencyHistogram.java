@@ -0,0 +1,117 @@
+package bgame;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 락 없는 지연 시간 히스토그램.<p>
+ * 나노초 값을 2의 거듭제곱 구간(log2 버킷)으로 나누어 <code>LongAdder</code>로 셉니다.
+ * <code>i</code>번 버킷은 <code>[2^(i-1), 2^i)</code>ns 구간이며, 0번 버킷은 0ns 이하입니다.
+ * 백분위수는 해당 버킷의 상한으로 근사합니다(최대 2배 오차).
+ */
+public final class LatencyHistogram {
+
+    // 상수
+    public static final int BUCKET_CNT = 64;
+
+    // 필드
+    private final LongAdder[] buckets;
+    private final LongAdder totalNanos;
+
+    // 생성자
+    public LatencyHistogram() {
+        this.buckets = new LongAdder[BUCKET_CNT];
+        this.totalNanos = new LongAdder();
+
+        for (int i = 0; i < BUCKET_CNT; ++i) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 지연 시간을 기록합니다.
+     * @param nanos 지연 시간 (ns)
+     */
+    public void record(long nanos) {
+        this.buckets[bucketOf(nanos)].increment();
+        this.totalNanos.add(Math.max(0L, nanos));
+    }
+
+    /**
+     * 기록된 값의 개수를 반환합니다.
+     * @return 기록 수
+     */
+    public long getCount() {
+        long count = 0L;
+        for (LongAdder bucket : this.buckets) {
+            count += bucket.sum();
+        }
+
+        return count;
+    }
+
+    /**
+     * 평균 지연 시간을 반환합니다.
+     * @return 평균 (ns). 기록이 없으면 <code>0</code>
+     */
+    public long getMeanNanos() {
+        final long count = getCount();
+        return count == 0 ? 0L : this.totalNanos.sum() / count;
+    }
+
+    /**
+     * 백분위수를 반환합니다.
+     * @param quantile 0.0 ~ 1.0 (예: 0.99)
+     * @return 백분위수를 포함하는 버킷의 상한 (ns). 기록이 없으면 <code>0</code>
+     */
+    public long getPercentileNanos(double quantile) {
+        final long[] counts = getBucketCounts();
+        long total = 0L;
+        for (long count : counts) {
+            total += count;
+        }
+
+        if (total == 0) {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L, (long) Math.ceil(total * quantile));
+        long seen = 0L;
+
+        for (int i = 0; i < BUCKET_CNT; ++i) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 버킷별 기록 수를 반환합니다.
+     * @return 길이 <code>BUCKET_CNT</code>의 배열
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[BUCKET_CNT];
+        for (int i = 0; i < BUCKET_CNT; ++i) {
+            counts[i] = this.buckets[i].sum();
+        }
+
+        return counts;
+    }
+
+    /**
+     * 값이 들어갈 버킷 번호를 반환합니다.
+     */
+    static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * 버킷의 상한(포함)을 반환합니다.
+     */
+    static long upperBoundOf(int bucketIdx) {
+        return bucketIdx == 0 ? 0L : (1L << bucketIdx) - 1;
+    }
+}
@@ -0,0 +1,32 @@
+package bgame;
+
+import java.security.SecureRandom;
+
+/**
+ * <code>SecureRandom</code> 기반 난수 생성기. 난수열을 재현할 수 없습니다.
+ */
+public final class SecureSessionRandom implements SessionRandom {
+
+    // 필드
+    private final SecureRandom random;
+
+    // 생성자
+    public SecureSessionRandom() {
+        this.random = new SecureRandom();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return this.random.nextInt(bound);
+    }
+
+    @Override
+    public boolean isReproducible() {
+        return false;
+    }
+
+    @Override
+    public long getSeed() {
+        throw new UnsupportedOperationException("SecureRandom is not reproducible!");
+    }
+}
@@ -1,8 +1,11 @@
 package bgame;
 
-import java.security.SecureRandom;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 @Getter
@@ -19,6 +22,9 @@ public abstract class Session {
     // 세션 생성시점 시간
     protected final long sessionMadeTimeMs;
 
+    // 세션 마지막 활동 시간
+    protected volatile long lastActivityTimeMs;
+
     // 세션 ID
     protected final String sessionId;
 
@@ -26,24 +32,166 @@ public abstract class Session {
     protected SessionState sessionState;
     
     // 세션에서 사용할 렌덤값
-    protected final SecureRandom random;
+    protected final SessionRandom random;
+
+    // 세션 작업 우편함 (비동기 실행 모드)
+    protected final SessionMailbox mailbox;
+
+    // 세션 타이머에 사용할 타이밍 휠 (null이면 타이머 미사용)
+    protected volatile TimingWheel timingWheel;
+
+    // 액션 처리 지표
+    protected final ActionMetrics metrics;
+
+    // 활성 세션 게이지에 포함됨 (세션 저장소에 등록된 후 닫히기 전)
+    @Getter(AccessLevel.NONE)
+    private boolean counted;
 
     /**
-     * 내부 생성자.
+     * 내부 생성자. 무작위 시드의 재현 가능한 난수 생성기(<code>SessionRandom.fast()</code>)를 사용합니다.
      * @param sessionId 세션 고유 아이디
      */
     protected Session(String sessionId) {
+        this(sessionId, SessionRandom.fast());
+    }
+
+    /**
+     * 내부 생성자.
+     * @param sessionId 세션 고유 아이디
+     * @param random 세션에서 사용할 난수 생성기
+     */
+    protected Session(String sessionId, SessionRandom random) {
         Objects.requireNonNull(sessionId);
+        Objects.requireNonNull(random);
         this.sessionMadeTimeMs = System.currentTimeMillis();
+        this.lastActivityTimeMs = this.sessionMadeTimeMs;
         this.sessionId = sessionId;
         this.sessionState = SessionState.INITIALIZING;
-        this.random = new SecureRandom(sessionId.getBytes());
+        this.random = random;
+        this.mailbox = new SessionMailbox(ForkJoinPool.commonPool());
+        this.timingWheel = TimingWheel.shared();
+        this.metrics = ActionMetrics.global();
+    }
+
+    /**
+     * 액션을 즉시 수행합니다.
+     * @param action 수행할 액션
+     * @return 액션의 결과
+     */
+    public abstract ActionResult doAction(Action action);
+
+    /**
+     * 액션을 즉시 수행합니다. 규칙 위반은 예외 대신 거절 결과(<code>ActionResult.isRejected()</code>)로 반환합니다.
+     * 하위 클래스가 재정의하지 않으면 <code>doAction()</code>과 같습니다.
+     * @param action 수행할 액션
+     * @return 액션의 결과
+     */
+    public ActionResult tryAction(Action action) {
+        return doAction(action);
+    }
+
+    /**
+     * 액션을 세션 우편함에 넣고 바로 반환합니다. 액션은 세션 우편함의 실행기에서 넣은 순서대로
+     * 하나씩 <code>tryAction()</code>으로 수행되며, 호출자는 세션을 기다리며 블록되지 않습니다.
+     * @param action 수행할 액션
+     * @return 액션의 결과로 완료되는 future. 규칙 위반은 거절 결과로 완료되며, 그 외에 액션이 예외를 던지면
+     * 해당 예외로 완료됩니다.
+     */
+    public CompletableFuture<ActionResult> submitAction(Action action) {
+        Objects.requireNonNull(action);
+
+        final CompletableFuture<ActionResult> future = new CompletableFuture<>();
+        final long submitNanos = this.metrics.shouldSample() ? System.nanoTime() : -1L;
+
+        this.mailbox.submit(() -> {
+            if (submitNanos >= 0) {
+                this.metrics.recordQueueWait(System.nanoTime() - submitNanos);
+            }
+
+            try {
+                future.complete(tryAction(action));
+            }
+            catch (Throwable th) {
+                future.completeExceptionally(th);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * 작업을 세션 우편함에 넣습니다. 작업은 세션의 다른 비동기 작업들과 순서대로 실행됩니다.
+     * 타이머 콜백 등 세션 상태를 바꾸는 내부 작업에 사용합니다.
+     * @param task 실행할 작업
+     */
+    public void execute(Runnable task) {
+        this.mailbox.submit(task);
+    }
+
+    /**
+     * 세션 우편함의 작업을 실행할 실행기를 지정합니다. 기본값은 <code>ForkJoinPool.commonPool()</code>입니다.
+     * @param executor 실행기 (여러 세션이 공유 가능)
+     */
+    public void setExecutor(Executor executor) {
+        this.mailbox.setExecutor(executor);
+    }
+
+    /**
+     * 세션 타이머를 등록합니다. 만료시 콜백은 세션 우편함에서 실행됩니다.
+     * @param delayMs 지연 시간 (ms)
+     * @param task 만료시 실행할 콜백
+     * @return 취소에 사용할 타이머. 타이밍 휠을 사용하지 않는 세션은 <code>null</code>
+     */
+    public TimingWheel.Timeout schedule(long delayMs, Runnable task) {
+        final TimingWheel wheel = this.timingWheel;
+        return wheel == null ? null : wheel.schedule(this, delayMs, task);
+    }
+
+    /**
+     * 세션 타이머에 사용할 타이밍 휠을 지정합니다. 기본값은 <code>TimingWheel.shared()</code>입니다.
+     * @param timingWheel 타이밍 휠. <code>null</code>이면 타이머를 사용하지 않습니다. (시뮬레이션 등)
+     */
+    public void setTimingWheel(TimingWheel timingWheel) {
+        this.timingWheel = timingWheel;
+    }
+
+    /**
+     * 세션의 마지막 활동 시간을 현재 시간으로 갱신합니다.
+     */
+    public void touch() {
+        this.lastActivityTimeMs = System.currentTimeMillis();
+    }
+
+    /**
+     * 세션이 차지하는 대략적인 메모리 크기를 반환합니다. 하위 클래스는 자신의 필드 크기를 더해야 합니다.
+     * @return 추정 메모리 크기 (byte)
+     */
+    public long estimateMemoryBytes() {
+        return 48L + 40L + 2L * this.sessionId.length(); // 세션 객체 + 세션 ID 문자열
+    }
+
+    /**
+     * 세션을 활성 세션 게이지(<code>ActionMetrics.ACTIVE_SESSIONS</code>)에 포함합니다.
+     * <code>SessionRegistry.register()</code>에서 호출하며, 시뮬레이션이나 복원처럼 저장소에 등록하지 않은 세션은 세지 않습니다.
+     */
+    synchronized void markActive() {
+        if (!this.counted && this.sessionState != SessionState.CLOSING) {
+            this.counted = true;
+            this.metrics.gauge(ActionMetrics.ACTIVE_SESSIONS).increment();
+        }
     }
 
     /**
      * 세션을 정리하고 닫습니다.
      */
     protected void closeSession() {
-        this.sessionState = SessionState.CLOSING;
+        synchronized (this) {
+            if (this.counted) {
+                this.counted = false;
+                this.metrics.gauge(ActionMetrics.ACTIVE_SESSIONS).decrement();
+            }
+
+            this.sessionState = SessionState.CLOSING;
+        }
     }
 }
@@ -0,0 +1,89 @@
+package bgame;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세션 작업 우편함 (actor mailbox).<p>
+ * 여러 스레드가 락 없이 작업을 넣을 수 있고(MPSC), 한 시점에 최대 하나의 실행기 스레드만
+ * 작업을 꺼내 넣은 순서대로 실행합니다. 작업을 넣는 스레드는 실행을 기다리지 않습니다.
+ * 한 번에 <code>DRAIN_BATCH_SIZE</code>개를 실행한 후에도 작업이 남아있으면 실행기에 다시
+ * 제출하여, 바쁜 세션이 실행기 스레드를 독점하지 않도록 합니다.
+ */
+public final class SessionMailbox implements Runnable {
+
+    // 상수
+    public static final int DRAIN_BATCH_SIZE = 64;
+
+    // 필드
+    private final ConcurrentLinkedQueue<Runnable> taskQueue;
+    private final AtomicInteger pendingCnt;   // 넣었지만 아직 실행하지 않은 작업 수 (0 -> 1이 되는 스레드가 실행을 예약)
+    private volatile Executor executor;
+
+    /**
+     * 생성자.
+     * @param executor 작업을 실행할 실행기
+     */
+    public SessionMailbox(Executor executor) {
+        Objects.requireNonNull(this.executor = executor);
+        this.taskQueue = new ConcurrentLinkedQueue<>();
+        this.pendingCnt = new AtomicInteger();
+    }
+
+    /**
+     * 작업을 넣습니다. 작업은 이 우편함에 들어온 다른 작업과 동시에 실행되지 않습니다.
+     * @param task 실행할 작업
+     */
+    public void submit(Runnable task) {
+        Objects.requireNonNull(task);
+
+        this.taskQueue.offer(task);
+
+        if (this.pendingCnt.getAndIncrement() == 0) {
+            this.executor.execute(this);
+        }
+    }
+
+    /**
+     * 쌓인 작업을 순서대로 실행합니다. 실행기에서만 호출됩니다.
+     */
+    @Override
+    public void run() {
+        for (int i = 0; i < DRAIN_BATCH_SIZE; ++i) {
+            final Runnable task = this.taskQueue.poll();
+
+            try {
+                task.run();
+            }
+            catch (Throwable th) {
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, th);
+            }
+
+            if (this.pendingCnt.decrementAndGet() == 0) {
+                return;
+            }
+        }
+
+        this.executor.execute(this); // 남은 작업은 다시 예약
+    }
+
+    /**
+     * 실행하지 않은 작업 수를 반환합니다.
+     * @return 대기중인 작업 수
+     */
+    public int getPendingCnt() {
+        return this.pendingCnt.get();
+    }
+
+    /**
+     * 작업을 실행할 실행기를 변경합니다. 이후 예약되는 실행부터 적용됩니다.
+     * @param executor 작업을 실행할 실행기
+     */
+    public void setExecutor(Executor executor) {
+        Objects.requireNonNull(executor);
+        this.executor = executor;
+    }
+}
@@ -0,0 +1,43 @@
+package bgame;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 세션에서 사용할 난수 생성 전략.
+ */
+public interface SessionRandom {
+
+    // 0 이상 bound 미만의 난수 반환
+    public int nextInt(int bound);
+
+    // 같은 시드로 같은 난수열을 재현할 수 있는지 여부
+    public boolean isReproducible();
+
+    // 재현에 사용할 시드 반환 (재현 불가능한 전략은 UnsupportedOperationException)
+    public long getSeed();
+
+    /**
+     * 시드를 지정한 재현 가능한 난수 생성기를 반환합니다. 리플레이, 시뮬레이션에 사용합니다.
+     * @param seed 시드
+     * @return xoshiro256** 난수 생성기
+     */
+    public static SessionRandom seeded(long seed) {
+        return new XoshiroRandom(seed);
+    }
+
+    /**
+     * 무작위 시드로 초기화된 재현 가능한 난수 생성기를 반환합니다. 시드는 <code>getSeed()</code>로 확인할 수 있습니다.
+     * @return xoshiro256** 난수 생성기
+     */
+    public static SessionRandom fast() {
+        return new XoshiroRandom(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 예측할 수 없는 난수 생성기를 반환합니다. 랭크 게임 등 재현이 필요없고 보안이 중요한 경우 사용합니다.
+     * @return <code>SecureRandom</code> 기반 난수 생성기
+     */
+    public static SessionRandom secure() {
+        return new SecureSessionRandom();
+    }
+}
@@ -0,0 +1,230 @@
+package bgame;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세션 저장소.<p>
+ * 세션 ID의 해시로 나눈 샤드마다 별도의 락을 사용(lock striping)하여 세션을 보관하므로,
+ * 서로 다른 샤드의 조회/등록은 경합하지 않습니다. 유휴 시간 또는 생성 후 최대 수명을
+ * 넘긴 세션은 <code>evictExpired()</code>에서 <code>closeSession()</code> 후 제거됩니다.
+ * @param <S> 보관할 세션 타입
+ */
+public class SessionRegistry<S extends Session> {
+
+    // 상수
+    public static final int DEFAULT_SHARD_CNT = 64;
+
+    // 필드
+    private final Shard<S>[] shards;
+    private final int shardMask;
+    private final long idleTimeoutMs;         // 마지막 활동 이후 유휴 허용 시간
+    private final long maxSessionAgeMs;       // 세션 생성 후 최대 수명
+    private final AtomicInteger sessionCnt;
+
+    /**
+     * 생성자.
+     * @param shardCnt 샤드 수 (2의 거듭제곱으로 올림)
+     * @param idleTimeoutMs 세션 유휴 허용 시간 (ms)
+     * @param maxSessionAgeMs 세션 최대 수명 (ms, <code>Long.MAX_VALUE</code>면 제한 없음)
+     * @throws IllegalArgumentException 샤드 수나 시간이 양수가 아닌 경우.
+     */
+    @SuppressWarnings("unchecked")
+    public SessionRegistry(int shardCnt, long idleTimeoutMs, long maxSessionAgeMs) {
+        if (shardCnt <= 0 || idleTimeoutMs <= 0 || maxSessionAgeMs <= 0) {
+            throw new IllegalArgumentException("Shard count and timeouts must be positive! (shardCnt: " + shardCnt +
+                                               ", idleTimeoutMs: " + idleTimeoutMs + ", maxSessionAgeMs: " + maxSessionAgeMs + ")");
+        }
+
+        int size = 1;
+        while (size < shardCnt) {
+            size <<= 1;
+        }
+
+        this.shards = (Shard<S>[]) new Shard<?>[size];
+        this.shardMask = size - 1;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxSessionAgeMs = maxSessionAgeMs;
+        this.sessionCnt = new AtomicInteger();
+
+        for (int i = 0; i < size; ++i) {
+            this.shards[i] = new Shard<>();
+        }
+    }
+
+    /**
+     * 생성자. <code>DEFAULT_SHARD_CNT</code>개의 샤드를 사용하며 세션 수명 제한이 없습니다.
+     * @param idleTimeoutMs 세션 유휴 허용 시간 (ms)
+     */
+    public SessionRegistry(long idleTimeoutMs) {
+        this(DEFAULT_SHARD_CNT, idleTimeoutMs, Long.MAX_VALUE);
+    }
+
+    /**
+     * 세션을 등록합니다.
+     * @param session 등록할 세션
+     * @return true: 등록됨 / false: 같은 ID의 세션이 이미 등록됨
+     */
+    public boolean register(S session) {
+        Objects.requireNonNull(session);
+
+        final Shard<S> shard = shardOf(session.getSessionId());
+
+        synchronized (shard) {
+            if (shard.sessionMap.putIfAbsent(session.getSessionId(), session) != null) {
+                return false;
+            }
+        }
+
+        this.sessionCnt.incrementAndGet();
+        session.markActive();
+        return true;
+    }
+
+    /**
+     * 해당 ID의 세션을 반환합니다.
+     * @param sessionId 세션 ID
+     * @return 등록된 세션. 없으면 <code>null</code>
+     */
+    public S get(String sessionId) {
+        Objects.requireNonNull(sessionId);
+
+        final Shard<S> shard = shardOf(sessionId);
+
+        synchronized (shard) {
+            return shard.sessionMap.get(sessionId);
+        }
+    }
+
+    /**
+     * 해당 ID의 세션을 닫고 제거합니다.
+     * @param sessionId 세션 ID
+     * @return 제거된 세션. 없으면 <code>null</code>
+     */
+    public S unregister(String sessionId) {
+        Objects.requireNonNull(sessionId);
+
+        final Shard<S> shard = shardOf(sessionId);
+        final S session;
+
+        synchronized (shard) {
+            session = shard.sessionMap.remove(sessionId);
+        }
+
+        if (session != null) {
+            this.sessionCnt.decrementAndGet();
+            session.closeSession();
+        }
+
+        return session;
+    }
+
+    /**
+     * 유휴 시간 또는 최대 수명을 넘긴 세션을 닫고 제거합니다. 한 번에 샤드 하나씩만 잠급니다.
+     * @param nowMs 현재 시간 (ms)
+     * @return 제거된 세션 수
+     */
+    public int evictExpired(long nowMs) {
+        int evictedCnt = 0;
+
+        for (Shard<S> shard : this.shards) {
+            synchronized (shard) {
+                final Iterator<S> it = shard.sessionMap.values().iterator();
+
+                while (it.hasNext()) {
+                    final S session = it.next();
+
+                    if (isExpired(session, nowMs)) {
+                        it.remove();
+                        session.closeSession();
+                        ++evictedCnt;
+                    }
+                }
+            }
+        }
+
+        this.sessionCnt.addAndGet(-evictedCnt);
+        return evictedCnt;
+    }
+
+    /**
+     * 타이밍 휠을 이용해 주기적으로 <code>evictExpired()</code>를 실행합니다.
+     * 정리 작업은 휠 스레드를 막지 않도록 <code>executor</code>에서 실행됩니다.
+     * @param timingWheel 사용할 타이밍 휠
+     * @param intervalMs 실행 주기 (ms)
+     * @param executor 정리 작업을 실행할 실행기
+     * @return 첫번째 실행 타이머
+     */
+    public TimingWheel.Timeout scheduleEviction(TimingWheel timingWheel, long intervalMs, Executor executor) {
+        Objects.requireNonNull(timingWheel);
+        Objects.requireNonNull(executor);
+
+        return timingWheel.schedule(intervalMs, () -> executor.execute(() -> {
+            evictExpired(System.currentTimeMillis());
+            scheduleEviction(timingWheel, intervalMs, executor);
+        }));
+    }
+
+    /**
+     * 유휴 시간 또는 최대 수명을 넘긴 세션인지 확인합니다.
+     * @param session 대상 세션
+     * @param nowMs 현재 시간 (ms)
+     * @return true: 만료됨 / false: 유효함
+     */
+    public boolean isExpired(Session session, long nowMs) {
+        return nowMs - session.getLastActivityTimeMs() >= this.idleTimeoutMs ||
+               nowMs - session.getSessionMadeTimeMs() >= this.maxSessionAgeMs;
+    }
+
+    /**
+     * 등록된 세션 수를 반환합니다.
+     * @return 세션 수
+     */
+    public int getSessionCnt() {
+        return this.sessionCnt.get();
+    }
+
+    /**
+     * 샤드 수를 반환합니다.
+     * @return 샤드 수
+     */
+    public int getShardCnt() {
+        return this.shards.length;
+    }
+
+    /**
+     * 등록된 세션들이 차지하는 대략적인 메모리 크기를 반환합니다. 모든 세션을 순회하므로 모니터링 용도로만 사용해야 합니다.
+     * @return 추정 메모리 크기 (byte)
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 16L + 4L * this.shards.length;
+
+        for (Shard<S> shard : this.shards) {
+            synchronized (shard) {
+                bytes += 64L + 48L * shard.sessionMap.size(); // HashMap 테이블 + 엔트리
+
+                for (S session : shard.sessionMap.values()) {
+                    bytes += session.estimateMemoryBytes();
+                }
+            }
+        }
+
+        return bytes;
+    }
+
+    private Shard<S> shardOf(String sessionId) {
+        final int h = sessionId.hashCode();
+        return this.shards[(h ^ (h >>> 16)) & this.shardMask];
+    }
+
+    /**
+     * 샤드. 인스턴스 자체를 락으로 사용합니다.
+     */
+    private static final class Shard<S> {
+        private final Map<String, S> sessionMap = new HashMap<>();
+    }
+}
@@ -0,0 +1,321 @@
+package bgame;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 해시 타이밍 휠 (hashed timing wheel).<p>
+ * 모든 세션이 공유하는 스레드 하나로 론 대기, 턴 시간 초과, 유휴 세션 정리 등의 타이머를 처리합니다.
+ * 타이머는 <code>tickMs</code> 단위로 <code>wheelSize</code>개의 버킷 중 하나에 연결 리스트로 걸리며,
+ * 등록과 취소는 모두 O(1)입니다. 다른 스레드에서의 등록/취소는 락 없는 큐를 거쳐 휠 스레드가
+ * 다음 틱에 반영하므로, 버킷은 휠 스레드만 변경합니다.
+ * 타이머 콜백은 휠 스레드에서 실행되므로 짧아야 하며, 세션 상태를 바꾸는 콜백은
+ * <code>schedule(Session, long, Runnable)</code>로 등록하여 세션 우편함에서 실행해야 합니다.
+ */
+public final class TimingWheel {
+
+    // 상수
+    public static final long DEFAULT_TICK_MS = 10L;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    // 필드
+    private final long tickNanos;
+    private final int wheelMask;
+    private final Timeout[] bucketHeads;
+    private final ConcurrentLinkedQueue<Timeout> scheduledQueue;   // 등록 대기 타이머
+    private final ConcurrentLinkedQueue<Timeout> cancelledQueue;   // 버킷에서 제거할 취소된 타이머
+    private final AtomicInteger pendingCnt;                        // 만료/취소되지 않은 타이머 수
+    private final Thread workerThread;
+    private final long startNanos;
+    private volatile boolean running;
+    private long tick;                                             // 휠 스레드 전용
+
+    /**
+     * 생성자. 데몬 스레드로 동작하는 휠 스레드를 시작합니다.
+     * @param tickMs 틱 간격 (ms)
+     * @param wheelSize 버킷 수 (2의 거듭제곱으로 올림)
+     * @param threadName 휠 스레드 이름
+     * @throws IllegalArgumentException 틱 간격이나 버킷 수가 양수가 아닌 경우.
+     */
+    public TimingWheel(long tickMs, int wheelSize, String threadName) {
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive! (tickMs: " + tickMs + ", wheelSize: " + wheelSize + ")");
+        }
+
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.wheelMask = size - 1;
+        this.bucketHeads = new Timeout[size];
+        this.scheduledQueue = new ConcurrentLinkedQueue<>();
+        this.cancelledQueue = new ConcurrentLinkedQueue<>();
+        this.pendingCnt = new AtomicInteger();
+        this.startNanos = System.nanoTime();
+        this.running = true;
+        this.tick = 0L;
+        this.workerThread = new Thread(this::runWorker, Objects.requireNonNull(threadName));
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    /**
+     * 모든 세션이 공유하는 기본 타이밍 휠을 반환합니다. 처음 호출될 때 생성됩니다.
+     * @return 공유 타이밍 휠
+     */
+    public static TimingWheel shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * 타이머를 등록합니다. 콜백은 휠 스레드에서 실행됩니다.
+     * @param delayMs 지연 시간 (ms)
+     * @param task 만료시 실행할 콜백
+     * @return 취소에 사용할 타이머
+     * @throws IllegalStateException 정지된 타이밍 휠인 경우.
+     */
+    public Timeout schedule(long delayMs, Runnable task) {
+        Objects.requireNonNull(task);
+
+        if (!this.running) {
+            throw new IllegalStateException("TimingWheel is stopped!");
+        }
+
+        final long deadlineNanos = System.nanoTime() - this.startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, delayMs));
+        final Timeout timeout = new Timeout(this, task, deadlineNanos);
+
+        this.pendingCnt.incrementAndGet();
+        this.scheduledQueue.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * 세션 타이머를 등록합니다. 만료시 콜백은 세션 우편함에 들어가 세션의 다른 작업과 순서대로 실행됩니다.
+     * @param session 콜백을 실행할 세션
+     * @param delayMs 지연 시간 (ms)
+     * @param task 만료시 실행할 콜백
+     * @return 취소에 사용할 타이머
+     */
+    public Timeout schedule(Session session, long delayMs, Runnable task) {
+        Objects.requireNonNull(session);
+        Objects.requireNonNull(task);
+
+        return schedule(delayMs, () -> session.execute(task));
+    }
+
+    /**
+     * 만료되거나 취소되지 않은 타이머 수를 반환합니다.
+     * @return 대기중인 타이머 수
+     */
+    public int getPendingCnt() {
+        return this.pendingCnt.get();
+    }
+
+    /**
+     * 휠 스레드를 정지합니다. 대기중인 타이머는 실행되지 않습니다.
+     */
+    public void stop() {
+        this.running = false;
+        this.workerThread.interrupt();
+    }
+
+    /**
+     * 휠 스레드 루프.
+     */
+    private void runWorker() {
+        while (this.running) {
+            if (!waitForNextTick()) {
+                break;
+            }
+
+            removeCancelledTimeouts();
+            transferScheduledTimeouts();
+            expireTimeouts(this.tick & this.wheelMask);
+            ++this.tick;
+        }
+    }
+
+    /**
+     * 다음 틱 시간까지 대기합니다.
+     * @return true: 다음 틱 도달 / false: 정지됨
+     */
+    private boolean waitForNextTick() {
+        final long deadlineNanos = this.tickNanos * (this.tick + 1);
+
+        while (true) {
+            final long sleepNanos = deadlineNanos - (System.nanoTime() - this.startNanos);
+
+            if (sleepNanos <= 0) {
+                return true;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            }
+            catch (InterruptedException e) {
+                if (!this.running) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = this.cancelledQueue.poll()) != null) {
+            if (timeout.bucketIdx >= 0) {
+                unlink(timeout);
+            }
+        }
+    }
+
+    private void transferScheduledTimeouts() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; ++i) {
+            final Timeout timeout = this.scheduledQueue.poll();
+
+            if (timeout == null) {
+                return;
+            }
+
+            if (timeout.state != Timeout.ST_INIT) {
+                continue; // 버킷에 걸리기 전에 취소됨
+            }
+
+            final long deadlineTick = Math.max(timeout.deadlineNanos / this.tickNanos, this.tick);
+            timeout.remainingRounds = (deadlineTick - this.tick) / (this.wheelMask + 1);
+            link(timeout, (int) (deadlineTick & this.wheelMask));
+        }
+    }
+
+    private void expireTimeouts(long bucketIdx) {
+        Timeout timeout = this.bucketHeads[(int) bucketIdx];
+
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+
+            if (timeout.state != Timeout.ST_INIT) {
+                unlink(timeout);
+            }
+            else if (timeout.remainingRounds <= 0) {
+                unlink(timeout);
+                timeout.expire();
+            }
+            else {
+                --timeout.remainingRounds;
+            }
+
+            timeout = next;
+        }
+    }
+
+    private void link(Timeout timeout, int bucketIdx) {
+        final Timeout head = this.bucketHeads[bucketIdx];
+
+        timeout.bucketIdx = bucketIdx;
+        timeout.prev = null;
+        timeout.next = head;
+
+        if (head != null) {
+            head.prev = timeout;
+        }
+
+        this.bucketHeads[bucketIdx] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        }
+        else {
+            this.bucketHeads[timeout.bucketIdx] = timeout.next;
+        }
+
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+
+        timeout.bucketIdx = -1;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * 등록된 타이머. <code>cancel()</code>로 취소할 수 있습니다.
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadlineNanos;
+        private volatile int state;
+        private long remainingRounds;   // 이하 휠 스레드 전용
+        private int bucketIdx;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadlineNanos) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+            this.state = ST_INIT;
+            this.bucketIdx = -1;
+        }
+
+        /**
+         * 타이머를 취소합니다.
+         * @return true: 취소됨 / false: 이미 만료되었거나 취소됨
+         */
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+
+            this.wheel.pendingCnt.decrementAndGet();
+            this.wheel.cancelledQueue.offer(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return this.state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return this.state == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+
+            this.wheel.pendingCnt.decrementAndGet();
+
+            try {
+                this.task.run();
+            }
+            catch (Throwable th) {
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, th);
+            }
+        }
+    }
+
+    /**
+     * 공유 타이밍 휠 지연 초기화 홀더.
+     */
+    private static final class SharedHolder {
+        private static final TimingWheel INSTANCE = new TimingWheel(DEFAULT_TICK_MS, DEFAULT_WHEEL_SIZE, "bgame-timing-wheel");
+    }
+}
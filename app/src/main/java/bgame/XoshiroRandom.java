@@ -0,0 +1,113 @@
+package bgame;
+
+/**
+ * xoshiro256** 난수 생성기.<p>
+ * 시드로부터 splitmix64로 256비트 상태를 초기화하며, 같은 시드는 항상 같은 난수열을 만듭니다.
+ * 스레드 안전하지 않으므로 세션 하나에서만 사용해야 합니다.
+ */
+public final class XoshiroRandom implements SessionRandom {
+
+    // 상수
+    public static final int STATE_SIZE = 4;
+
+    // 필드
+    private final long seed;
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * 생성자.
+     * @param seed 시드
+     */
+    public XoshiroRandom(long seed) {
+        this.seed = seed;
+
+        long x = seed;
+        this.s0 = splitMix64(x += 0x9E3779B97F4A7C15L);
+        this.s1 = splitMix64(x += 0x9E3779B97F4A7C15L);
+        this.s2 = splitMix64(x += 0x9E3779B97F4A7C15L);
+        this.s3 = splitMix64(x += 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * 64비트 난수를 반환합니다.
+     * @return 64비트 난수
+     */
+    public long nextLong() {
+        final long result = Long.rotateLeft(this.s1 * 5, 7) * 9;
+        final long t = this.s1 << 17;
+
+        this.s2 ^= this.s0;
+        this.s3 ^= this.s1;
+        this.s1 ^= this.s2;
+        this.s0 ^= this.s3;
+        this.s2 ^= t;
+        this.s3 = Long.rotateLeft(this.s3, 45);
+
+        return result;
+    }
+
+    /**
+     * 0 이상 <code>bound</code> 미만의 균등 분포 난수를 반환합니다.
+     * @param bound 상한 (양수)
+     * @return 난수
+     * @throws IllegalArgumentException <code>bound</code>가 양수가 아닌 경우.
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive! (bound: " + bound + ")");
+        }
+
+        int r = (int) (nextLong() >>> 33);
+        final int m = bound - 1;
+
+        if ((bound & m) == 0) { // 2의 거듭제곱
+            return (int) ((bound * (long) r) >> 31);
+        }
+
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33));
+
+        return r;
+    }
+
+    @Override
+    public boolean isReproducible() {
+        return true;
+    }
+
+    @Override
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * 현재 상태를 복사합니다. 스냅샷에 사용합니다.
+     * @param state 상태를 담을 배열 (크기 <code>STATE_SIZE</code> 이상)
+     */
+    public void getState(long[] state) {
+        state[0] = this.s0;
+        state[1] = this.s1;
+        state[2] = this.s2;
+        state[3] = this.s3;
+    }
+
+    /**
+     * 상태를 복원합니다.
+     * @param state <code>getState()</code>로 복사한 상태
+     */
+    public void setState(long[] state) {
+        this.s0 = state[0];
+        this.s1 = state[1];
+        this.s2 = state[2];
+        this.s3 = state[3];
+    }
+
+    private static long splitMix64(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}
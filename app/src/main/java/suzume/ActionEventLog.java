@@ -0,0 +1,381 @@
+package suzume;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+
+/**
+ * 액션 이벤트 로그.<p>
+ * 액션 스레드는 미리 만들어둔 이벤트 슬롯에 값(문자열은 참조만)을 채워 링 버퍼에 넣기만 하며,
+ * 문자열 조립과 출력은 별도의 기록 스레드가 한 줄에 하나의 JSON 객체로 만들어 <code>Sink</code>에 씁니다.
+ * 링 버퍼가 가득 차면 게임 스레드를 막지 않도록 이벤트를 버리고 <code>getDroppedCnt()</code>를 올립니다.<p>
+ * 기록 스레드는 처음으로 이벤트가 기록될 때 시작하므로 출력이 꺼져 있으면(<code>Sink.isEnabled()</code>) 스레드를 만들지 않으며,
+ * 링 버퍼가 비면 생산자가 깨울 때까지 잠듭니다. 생산자는 기록 스레드가 잠든 경우에만 <code>LockSupport.unpark()</code>를 호출합니다.<p>
+ * 출력 형식: <code>{"ts":..,"action":"..","session":"..","actPlayer":"..","targetPlayer":"..","tile":..,"score":..}</code>
+ * (값이 없는 항목은 생략)
+ */
+public final class ActionEventLog implements AutoCloseable {
+
+    // 상수
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int NONE = Integer.MIN_VALUE;   // 값이 없는 정수 항목
+    private static final int WRITER_NEW = 0;            // 기록 스레드 시작 전
+    private static final int WRITER_STARTED = 1;
+    private static final int WRITER_CLOSED = 2;         // 시작하지 않은 채 닫힘
+
+    // 필드
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimSeq;      // 다음에 기록할 위치 (생산자)
+    private final AtomicLong consumedSeq;   // 다음에 읽을 위치 (기록 스레드)
+    private final AtomicLong droppedCnt;
+    private final Sink sink;
+    private final Thread writerThread;
+    private final AtomicInteger writerState;
+    private volatile boolean writerParked;  // 기록 스레드가 잠들었거나 잠들려 함
+    private volatile boolean running;
+
+    /**
+     * 생성자. 데몬 스레드로 동작하는 기록 스레드는 처음으로 이벤트가 기록될 때 시작합니다.
+     * @param capacity 링 버퍼 크기 (2의 거듭제곱으로 올림)
+     * @param sink 이벤트를 출력할 대상
+     * @throws IllegalArgumentException 크기가 양수가 아닌 경우.
+     */
+    public ActionEventLog(int capacity, Sink sink) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive! (capacity: " + capacity + ")");
+        }
+
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        this.claimSeq = new AtomicLong();
+        this.consumedSeq = new AtomicLong();
+        this.droppedCnt = new AtomicLong();
+        Objects.requireNonNull(this.sink = sink);
+
+        for (int i = 0; i < size; ++i) {
+            this.slots[i] = new Slot();
+        }
+
+        this.running = true;
+        this.writerState = new AtomicInteger(WRITER_NEW);
+        this.writerThread = new Thread(this::runWriter, "suzume-action-event-log");
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * 이벤트를 기록합니다. 문자열이나 객체를 새로 만들지 않습니다.
+     * @param action 액션 이름 (상수 문자열)
+     * @param sessionId 세션 ID
+     * @param actPlayerId 액션을 수행한 플레이어 아이디
+     * @param targetPlayerId 대상 플레이어 아이디 (없으면 <code>null</code>)
+     * @param tileId 패 'id' (없으면 <code>NONE</code>)
+     * @param score 점수 (없으면 <code>NONE</code>)
+     * @return true: 기록됨 / false: 링 버퍼가 가득 차서 버려짐
+     */
+    public boolean emit(String action, String sessionId, String actPlayerId, String targetPlayerId, int tileId, int score) {
+        if (!this.sink.isEnabled()) {
+            return false;
+        }
+
+        if (this.writerState.get() == WRITER_NEW && this.writerState.compareAndSet(WRITER_NEW, WRITER_STARTED)) {
+            this.writerThread.start();
+        }
+
+        long seq;
+        do {
+            seq = this.claimSeq.get();
+
+            if (seq - this.consumedSeq.get() >= this.slots.length) {
+                this.droppedCnt.incrementAndGet();
+                return false;
+            }
+        } while (!this.claimSeq.compareAndSet(seq, seq + 1));
+
+        final Slot slot = this.slots[(int) seq & this.mask];
+        slot.timeMs = System.currentTimeMillis();
+        slot.action = action;
+        slot.sessionId = sessionId;
+        slot.actPlayerId = actPlayerId;
+        slot.targetPlayerId = targetPlayerId;
+        slot.tileId = tileId;
+        slot.score = score;
+        slot.publishedSeq = seq; // 발행 (volatile 쓰기)
+
+        // 발행 후 확인하므로, 잠들기 전 링 버퍼를 다시 확인하는 기록 스레드와 둘 중 하나는 반드시 상대를 봄
+        if (this.writerParked) {
+            LockSupport.unpark(this.writerThread);
+        }
+
+        return true;
+    }
+
+    /**
+     * 기록 스레드가 시작되었는지 확인합니다.
+     * @return true: 시작됨 / false: 아직 기록된 이벤트가 없음
+     */
+    boolean isWriterStarted() {
+        return this.writerState.get() == WRITER_STARTED;
+    }
+
+    /**
+     * 링 버퍼가 가득 차서 버려진 이벤트 수를 반환합니다.
+     * @return 버려진 이벤트 수
+     */
+    public long getDroppedCnt() {
+        return this.droppedCnt.get();
+    }
+
+    /**
+     * 남은 이벤트를 모두 출력하고 기록 스레드를 종료합니다.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+
+        if (this.writerState.compareAndSet(WRITER_NEW, WRITER_CLOSED)) {
+            this.sink.close();
+            return;
+        }
+
+        LockSupport.unpark(this.writerThread);
+
+        try {
+            this.writerThread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 기록 스레드 루프.
+     */
+    private void runWriter() {
+        final StringBuilder sb = new StringBuilder(256);
+
+        while (true) {
+            final boolean stopping = !this.running;
+            int writtenCnt = 0;
+
+            while (drainOne(sb)) {
+                ++writtenCnt;
+            }
+
+            if (writtenCnt > 0) {
+                this.sink.flush();
+            }
+
+            if (stopping) {
+                break;
+            }
+
+            if (writtenCnt == 0) {
+                park();
+            }
+        }
+
+        this.sink.close();
+    }
+
+    /**
+     * 생산자가 깨울 때까지 잠듭니다. 잠들기 전 표시를 남긴 후 링 버퍼와 종료 여부를 다시 확인합니다.
+     */
+    private void park() {
+        this.writerParked = true;
+
+        final long seq = this.consumedSeq.get();
+        if (this.running && this.slots[(int) seq & this.mask].publishedSeq != seq) {
+            LockSupport.park(this);
+        }
+
+        this.writerParked = false;
+    }
+
+    /**
+     * 발행된 이벤트 하나를 출력합니다.
+     * @return true: 출력함 / false: 발행된 이벤트 없음
+     */
+    private boolean drainOne(StringBuilder sb) {
+        final long seq = this.consumedSeq.get();
+        final Slot slot = this.slots[(int) seq & this.mask];
+
+        if (slot.publishedSeq != seq) {
+            return false;
+        }
+
+        sb.setLength(0);
+        sb.append("{\"ts\":").append(slot.timeMs);
+        appendString(sb, "action", slot.action);
+        appendString(sb, "session", slot.sessionId);
+        appendString(sb, "actPlayer", slot.actPlayerId);
+        appendString(sb, "targetPlayer", slot.targetPlayerId);
+        appendInt(sb, "tile", slot.tileId);
+        appendInt(sb, "score", slot.score);
+        sb.append('}');
+
+        // 참조 해제 후 슬롯 반환
+        slot.action = null;
+        slot.sessionId = null;
+        slot.actPlayerId = null;
+        slot.targetPlayerId = null;
+        this.consumedSeq.lazySet(seq + 1);
+
+        try {
+            this.sink.write(sb);
+        }
+        catch (RuntimeException e) {
+            this.droppedCnt.incrementAndGet();
+        }
+
+        return true;
+    }
+
+    private static void appendInt(StringBuilder sb, String key, int value) {
+        if (value != NONE) {
+            sb.append(",\"").append(key).append("\":").append(value);
+        }
+    }
+
+    private static void appendString(StringBuilder sb, String key, String value) {
+        if (value == null) {
+            return;
+        }
+
+        sb.append(",\"").append(key).append("\":\"");
+
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+
+            switch (c) {
+                case '"':  sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        sb.append(c);
+                    }
+            }
+        }
+
+        sb.append('"');
+    }
+
+    /**
+     * SLF4J 로거에 INFO 레벨로 출력하는 대상을 반환합니다. INFO가 꺼져 있으면 이벤트를 기록하지 않습니다.
+     * @param logger 대상 로거
+     * @return 출력 대상
+     */
+    public static Sink slf4jSink(Logger logger) {
+        Objects.requireNonNull(logger);
+
+        return new Sink() {
+            @Override
+            public boolean isEnabled() {
+                return logger.isInfoEnabled();
+            }
+
+            @Override
+            public void write(CharSequence line) {
+                logger.info(line.toString());
+            }
+        };
+    }
+
+    /**
+     * 파일 끝에 한 줄씩 이어서 출력하는 대상을 반환합니다.
+     * @param path 대상 파일
+     * @return 출력 대상
+     * @throws IOException 파일을 열 수 없는 경우.
+     */
+    public static Sink fileSink(Path path) throws IOException {
+        final BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        return new Sink() {
+            @Override
+            public void write(CharSequence line) {
+                try {
+                    writer.append(line).append('\n');
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public void flush() {
+                try {
+                    writer.flush();
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public void close() {
+                try {
+                    writer.close();
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * 이벤트 출력 대상. 기록 스레드에서만 호출됩니다.
+     */
+    public interface Sink {
+
+        // 한 줄(JSON 객체 하나) 출력. line은 호출이 끝나면 재사용됨
+        public void write(CharSequence line);
+
+        // 이벤트 기록 여부 (false면 액션 스레드에서 바로 버림)
+        public default boolean isEnabled() {
+            return true;
+        }
+
+        // 링 버퍼를 비운 후 호출
+        public default void flush() {}
+
+        // 기록 스레드 종료시 호출
+        public default void close() {}
+    }
+
+    /**
+     * 미리 할당된 이벤트 슬롯.
+     */
+    private static final class Slot {
+        private volatile long publishedSeq = -1L;
+        private long timeMs;
+        private String action;
+        private String sessionId;
+        private String actPlayerId;
+        private String targetPlayerId;
+        private int tileId;
+        private int score;
+    }
+}
@@ -3,13 +3,31 @@
  */
 package suzume;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ForkJoinPool;
+
+import bgame.SessionRegistry;
+import bgame.TimingWheel;
+import suzume.server.SuzumeServer;
 
 public class App {
-    
-    public static void main(String[] args) {
-        // ...
+
+    // 상수
+    public static final long SESSION_IDLE_TIMEOUT_MS = 10 * 60 * 1000L;
+    public static final long SESSION_EVICTION_INTERVAL_MS = 60 * 1000L;
+
+    /**
+     * 참새작 서버를 시작합니다.
+     * @param args [포트] (생략시 <code>SuzumeServer.DEFAULT_PORT</code>)
+     * @throws IOException 포트를 바인드할 수 없는 경우.
+     */
+    public static void main(String[] args) throws IOException {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : SuzumeServer.DEFAULT_PORT;
+        final SessionRegistry<SuzumeSession> registry = new SessionRegistry<>(SESSION_IDLE_TIMEOUT_MS);
+        registry.scheduleEviction(TimingWheel.shared(), SESSION_EVICTION_INTERVAL_MS, ForkJoinPool.commonPool());
+
+        final SuzumeServer server = SuzumeServer.start(registry, new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "suzume-server-shutdown"));
     }
 }
@@ -0,0 +1,448 @@
+package suzume;
+
+import java.util.List;
+
+/**
+ * 화료 점수 테이블.<p>
+ * 참새작의 패는 숫자값(1~9, 발, 중)과 적색패 여부로만 점수가 결정되므로, 손패는
+ * 숫자값별 4비트(일반패 개수 3비트 + 적색패 여부 1비트)를 이어붙인 <code>handKey</code>로
+ * 정규화할 수 있습니다. 클래스 초기화시 모든 6개 손패 조합의 점수를 미리 계산해두고,
+ * 점수 계산은 <code>handKey</code>의 순위(rank)를 인덱스로 한 테이블 조회 한 번으로 수행합니다.
+ */
+public final class HuaryoScoreTable {
+
+    // 상수
+    public static final int HAND_SIZE = 6;                  // 화료 손패 개수
+    public static final int VALUE_CNT = Tile.VAL_JUNG;      // 패 숫자값 종류 수 (1~9, 발, 중)
+    private static final int BITS_PER_VALUE = 4;            // 숫자값 하나가 차지하는 비트 수
+    private static final int NIBBLE_MASK = 0xF;             // 숫자값 니블 마스크
+    private static final int COUNT_MASK = 0x7;              // 니블 내 일반패 개수 마스크
+    private static final int RED_FLAG = 0x8;                // 니블 내 적색패 플래그
+    private static final int SCORE_MASK = 0x7F;             // 테이블 값 내 점수 마스크
+    private static final int DORA_APPLIES = 0x80;           // 테이블 값 내 도라 보너스 적용 플래그
+    private static final int ENTRY_MASK = 0xFF;             // 평가 결과 내 테이블 값 마스크
+    private static final int YAKU_SHIFT = 8;                // 평가 결과 내 역 비트마스크 위치
+
+    // 필드
+    private static final int[][] handCnt;                   // [숫자값 인덱스][남은 패 수] 이후 숫자값들로 만들 수 있는 조합 수
+    private static final int[][][] rankOffset;              // [숫자값 인덱스][남은 패 수][니블] 순위 오프셋
+    private static final byte[] scoreTable;                 // [순위] 도라를 제외한 점수 + 도라 적용 플래그
+    private static final byte[] yakuTable;                  // [순위] 적색패/도라를 제외한 역 비트마스크
+
+    // 정적 초기화
+    static {
+        handCnt = new int[VALUE_CNT + 1][HAND_SIZE + 1];
+        handCnt[VALUE_CNT][0] = 1;
+
+        for (int v = VALUE_CNT - 1; v >= 0; --v) {
+            for (int remain = 0; remain <= HAND_SIZE; ++remain) {
+                for (int nibble = 0; nibble <= NIBBLE_MASK; ++nibble) {
+                    final int weight = weightOf(nibble);
+                    if (isValidNibble(v, nibble) && weight <= remain) {
+                        handCnt[v][remain] += handCnt[v + 1][remain - weight];
+                    }
+                }
+            }
+        }
+
+        rankOffset = new int[VALUE_CNT][HAND_SIZE + 1][NIBBLE_MASK + 1];
+
+        for (int v = 0; v < VALUE_CNT; ++v) {
+            for (int remain = 0; remain <= HAND_SIZE; ++remain) {
+                int offset = 0;
+                for (int nibble = 0; nibble <= NIBBLE_MASK; ++nibble) {
+                    final int weight = weightOf(nibble);
+                    if (isValidNibble(v, nibble) && weight <= remain) {
+                        rankOffset[v][remain][nibble] = offset;
+                        offset += handCnt[v + 1][remain - weight];
+                    }
+                }
+            }
+        }
+
+        scoreTable = new byte[handCnt[0][HAND_SIZE]];
+        yakuTable = new byte[scoreTable.length];
+        fillScoreTable(0, HAND_SIZE, 0L, new int[VALUE_CNT + 3]);
+    }
+
+    // 생성자
+    private HuaryoScoreTable() {}
+
+    /**
+     * 패 하나의 <code>handKey</code> 증분을 반환합니다. 손패의 <code>handKey</code>는
+     * 손패를 구성하는 패들의 증분을 모두 더한 값입니다.
+     * @param tile 대상 패
+     * @return <code>tile</code>의 <code>handKey</code> 증분
+     */
+    public static long keyOf(Tile tile) {
+        final int shift = (tile.getValue() - 1) * BITS_PER_VALUE;
+
+        if (tile.getColor() == Tile.Color.RED && tile.getValue() < Tile.VAL_BAL) {
+            return (long) RED_FLAG << shift; // 1~9의 적색패
+        }
+
+        return 1L << shift;
+    }
+
+    /**
+     * 해당 숫자값 패 하나의 <code>handKey</code> 증분을 반환합니다.
+     * @param value 패 숫자값
+     * @param red true: 1~9의 적색패 / false: 일반패
+     * @return 패의 <code>handKey</code> 증분
+     */
+    public static long keyOf(int value, boolean red) {
+        return (red ? (long) RED_FLAG : 1L) << ((value - 1) * BITS_PER_VALUE);
+    }
+
+    /**
+     * 손패의 <code>handKey</code>를 계산합니다.
+     * @param tileList 대상 손패
+     * @return 계산된 <code>handKey</code>
+     */
+    public static long keyOf(List<Tile> tileList) {
+        long handKey = 0L;
+
+        for (Tile tile : tileList) {
+            handKey += keyOf(tile);
+        }
+
+        return handKey;
+    }
+
+    /**
+     * <code>handKey</code>에 포함된 해당 숫자값 패의 개수를 반환합니다.
+     * @param handKey 대상 손패의 <code>handKey</code>
+     * @param value 패 숫자값
+     * @return 해당 숫자값 패의 개수
+     */
+    public static int countOf(long handKey, int value) {
+        final int nibble = (int) (handKey >>> ((value - 1) * BITS_PER_VALUE)) & NIBBLE_MASK;
+        return weightOf(nibble);
+    }
+
+    /**
+     * <code>handKey</code>에 포함된 해당 숫자값 적색패의 유무를 반환합니다.
+     * @param handKey 대상 손패의 <code>handKey</code>
+     * @param value 패 숫자값
+     * @return true: 적색패 포함 / false: 적색패 미포함
+     */
+    public static boolean hasRedOf(long handKey, int value) {
+        return ((handKey >>> ((value - 1) * BITS_PER_VALUE)) & RED_FLAG) != 0;
+    }
+
+    /**
+     * <code>handKey</code>에 포함된 패의 총 개수를 반환합니다.
+     * @param handKey 대상 손패의 <code>handKey</code>
+     * @return 패의 총 개수
+     */
+    public static int tileCntOf(long handKey) {
+        int tileCnt = 0;
+
+        for (int v = 0; v < VALUE_CNT; ++v) {
+            tileCnt += weightOf((int) (handKey >>> (v * BITS_PER_VALUE)) & NIBBLE_MASK);
+        }
+
+        return tileCnt;
+    }
+
+    /**
+     * 6개 손패의 점수를 테이블에서 조회합니다.
+     * @param doraValue 도라 패의 숫자값
+     * @param handKey 패 6개로 구성된 손패의 <code>handKey</code>
+     * @return 계산된 점수
+     * @apiNote <code>handKey</code>가 패 6개로 구성되었는지는 호출자가 보장해야 합니다.
+     */
+    public static int getScore(int doraValue, long handKey) {
+        return scoreOf(getEntry(handKey), doraValue, handKey);
+    }
+
+    /**
+     * 6개 손패의 테이블 값(도라를 제외한 점수와 도라 적용 플래그)을 조회합니다.
+     * @param handKey 패 6개로 구성된 손패의 <code>handKey</code>
+     * @return 테이블 값. 몸통이 완성되지 않은 경우 <code>0</code>
+     */
+    static int getEntry(long handKey) {
+        return scoreTable[rankOf(handKey)] & 0xFF;
+    }
+
+    /**
+     * 6개 손패가 화료시 구성하는 역의 비트마스크를 반환합니다.
+     * @param doraValue 도라 패의 숫자값
+     * @param handKey 패 6개로 구성된 손패의 <code>handKey</code>
+     * @return <code>Yaku</code> 순서값을 비트 위치로 하는 비트마스크. 몸통이 완성되지 않은 경우 <code>0</code>
+     * @apiNote 점수 계산(<code>getScore()</code>)이 사용하는 몸통 구성과 같은 기준으로 판정합니다.
+     */
+    public static int getYakuBits(int doraValue, long handKey) {
+        final int rank = rankOf(handKey);
+        final int entry = scoreTable[rank] & 0xFF;
+        int yakuBits = yakuTable[rank] & 0xFF;
+
+        if ((entry & DORA_APPLIES) == 0) {
+            return yakuBits; // 미완성 또는 역만
+        }
+
+        if (countOf(handKey, Tile.VAL_JUNG) > 0) {
+            yakuBits |= Yaku.RED.bit();
+        }
+        else {
+            for (int value = 1; value < Tile.VAL_BAL; ++value) {
+                if (hasRedOf(handKey, value)) {
+                    yakuBits |= Yaku.RED.bit();
+                    break;
+                }
+            }
+        }
+
+        if (countOf(handKey, doraValue) > 0) {
+            yakuBits |= Yaku.DORA.bit();
+        }
+
+        return yakuBits;
+    }
+
+    /**
+     * 테이블 값에 도라 보너스를 적용하여 점수를 계산합니다.
+     * @param entry <code>getEntry()</code>로 조회한 테이블 값
+     * @param doraValue 도라 패의 숫자값
+     * @param handKey 테이블 값을 조회한 손패의 <code>handKey</code>
+     * @return 계산된 점수
+     */
+    static int scoreOf(int entry, int doraValue, long handKey) {
+        int score = entry & SCORE_MASK;
+
+        if ((entry & DORA_APPLIES) != 0) {
+            score += countOf(handKey, doraValue);
+        }
+
+        return score;
+    }
+
+    /**
+     * 6개 손패의 <code>handKey</code>를 테이블 인덱스로 변환합니다.
+     * @param handKey 패 6개로 구성된 손패의 <code>handKey</code>
+     * @return <code>0</code> 이상 테이블 크기 미만의 순위
+     */
+    static int rankOf(long handKey) {
+        int rank = 0;
+        int remain = HAND_SIZE;
+
+        for (int v = 0; v < VALUE_CNT; ++v) {
+            final int nibble = (int) (handKey >>> (v * BITS_PER_VALUE)) & NIBBLE_MASK;
+            rank += rankOffset[v][remain][nibble];
+            remain -= weightOf(nibble);
+        }
+
+        return rank;
+    }
+
+    /**
+     * 테이블에 저장된 정규화 손패의 수를 반환합니다.
+     * @return 테이블 크기
+     */
+    static int size() {
+        return scoreTable.length;
+    }
+
+    /**
+     * 니블이 나타내는 패의 개수를 반환합니다.
+     */
+    private static int weightOf(int nibble) {
+        return (nibble & COUNT_MASK) + (nibble >>> 3);
+    }
+
+    /**
+     * 숫자값 인덱스에서 표현 가능한 니블인지 확인합니다.
+     * 1~9는 일반패 3개와 적색패 1개, 발/중은 일반패 4개로 구성됩니다.
+     */
+    private static boolean isValidNibble(int valueIdx, int nibble) {
+        if (valueIdx < Tile.VAL_BAL - 1) {
+            return (nibble & COUNT_MASK) <= 3;
+        }
+
+        return nibble <= 4;
+    }
+
+    /**
+     * 모든 정규화 손패를 열거하여 점수 테이블을 채웁니다.
+     */
+    private static void fillScoreTable(int valueIdx, int remain, long handKey, int[] counts) {
+        if (valueIdx == VALUE_CNT) {
+            if (remain == 0) {
+                final int rank = rankOf(handKey);
+                final int result = evalScoreEntry(handKey, counts);
+                scoreTable[rank] = (byte) result;
+                yakuTable[rank] = (byte) (result >>> YAKU_SHIFT);
+            }
+
+            return;
+        }
+
+        for (int nibble = 0; nibble <= NIBBLE_MASK; ++nibble) {
+            final int weight = weightOf(nibble);
+            if (isValidNibble(valueIdx, nibble) && weight <= remain) {
+                fillScoreTable(valueIdx + 1, remain - weight,
+                               handKey + ((long) nibble << (valueIdx * BITS_PER_VALUE)), counts);
+            }
+        }
+    }
+
+    /**
+     * 손패의 점수를 계산합니다.<p>
+     * 패의 'id'나 순서와 무관하게 숫자값별 개수만으로 손패를 두 개의 몸통으로 나누는
+     * 모든 경우를 시도하고, 그 중 가장 높은 점수를 반환합니다. 몸통은 가장 작은
+     * 숫자값의 패를 포함하는 몸통부터 정하므로 시도하는 경우의 수는 최대 2가지입니다.
+     * @param handKey 패 6개로 구성된 손패의 <code>handKey</code>
+     * @param counts 숫자값별 패 개수를 담을 작업용 배열 (크기 <code>VALUE_CNT + 3</code> 이상)
+     * @return 도라를 제외한 점수. 도라 보너스가 적용되는 경우 <code>DORA_APPLIES</code> 플래그 포함.
+     * <code>YAKU_SHIFT</code> 위로는 적색패/도라를 제외한 역 비트마스크
+     */
+    static int evalScoreEntry(long handKey, int[] counts) {
+        boolean isChinYao = true; // 칭야오 스위치 (모든 패가 1/9/발/중으로만 이루어짐)
+        boolean isTangYao = true; // 탕야오 스위치 (모든 패가 2~8사이로만 이루어짐)
+        int redTileCnt = 0;
+        int greenTileCnt = 0;
+        int lowestValue = 0;
+
+        // 숫자값별 개수 및 패 구성 확인 (counts[0]은 사용하지 않음)
+        counts[0] = 0;
+        for (int value = 1; value <= VALUE_CNT; ++value) {
+            final int nibble = (int) (handKey >>> ((value - 1) * BITS_PER_VALUE)) & NIBBLE_MASK;
+            final int cnt = weightOf(nibble);
+            counts[value] = cnt;
+
+            if (cnt == 0) {
+                continue;
+            }
+
+            if (lowestValue == 0) {
+                lowestValue = value;
+            }
+
+            if (isTerminalValue(value)) {
+                isTangYao = false;
+            }
+            else {
+                isChinYao = false;
+            }
+
+            // 적색패: 1~9의 적색패, 중 / 녹색패: 2,3,4,6,7,8의 일반패, 발
+            if (value == Tile.VAL_JUNG) {
+                redTileCnt += cnt;
+            }
+            else if (value == Tile.VAL_BAL) {
+                greenTileCnt += cnt;
+            }
+            else {
+                redTileCnt += nibble >>> 3;
+
+                if (value != 1 && value != 5 && value != 9) {
+                    greenTileCnt += nibble & COUNT_MASK;
+                }
+            }
+        }
+
+        counts[VALUE_CNT + 1] = 0; // 연속패 검사시 범위 초과 방지
+        counts[VALUE_CNT + 2] = 0;
+
+        int bestEntry = 0;
+
+        // 첫 몸통: 동일패(1,1,1)
+        if (counts[lowestValue] >= 3) {
+            counts[lowestValue] -= 3;
+            bestEntry = better(bestEntry, evalSecondBody(2, isTerminalValue(lowestValue), counts,
+                                                         isChinYao, isTangYao, redTileCnt, greenTileCnt));
+            counts[lowestValue] += 3;
+        }
+
+        // 첫 몸통: 연속패(1,2,3)
+        if (lowestValue + 2 < Tile.VAL_BAL && counts[lowestValue + 1] > 0 && counts[lowestValue + 2] > 0) {
+            --counts[lowestValue];
+            --counts[lowestValue + 1];
+            --counts[lowestValue + 2];
+            bestEntry = better(bestEntry, evalSecondBody(1, lowestValue == 1 || lowestValue + 2 == 9, counts,
+                                                         isChinYao, isTangYao, redTileCnt, greenTileCnt));
+            ++counts[lowestValue];
+            ++counts[lowestValue + 1];
+            ++counts[lowestValue + 2];
+        }
+
+        return bestEntry;
+    }
+
+    /**
+     * 테이블 값이 더 큰 평가 결과를 반환합니다. 같으면 먼저 평가한 결과를 유지합니다.
+     */
+    private static int better(int best, int result) {
+        return (result & ENTRY_MASK) > (best & ENTRY_MASK) ? result : best;
+    }
+
+    /**
+     * 첫 몸통을 제외한 나머지 3개 패로 두번째 몸통을 확인하고 점수를 계산합니다.
+     * @return 몸통이 완성되지 않은 경우 <code>0</code>, 완성된 경우 <code>evalScoreEntry</code>와 같은 형식의 점수
+     */
+    private static int evalSecondBody(int firstBodyScore, boolean firstHasTerminal, int[] counts,
+                                      boolean isChinYao, boolean isTangYao, int redTileCnt, int greenTileCnt) {
+        int value = 1;
+        while (counts[value] == 0) {
+            ++value;
+        }
+
+        int bodyScore = firstBodyScore;
+        boolean secondHasTerminal;
+
+        if (counts[value] == 3) { // 동일패(1,1,1) (+2)
+            bodyScore += 2;
+            secondHasTerminal = isTerminalValue(value);
+        }
+        else if (value + 2 < Tile.VAL_BAL && counts[value] == 1 && counts[value + 1] == 1 && counts[value + 2] == 1) { // 연속패(1,2,3) (+1)
+            bodyScore += 1;
+            secondHasTerminal = value == 1 || value + 2 == 9;
+        }
+        else {
+            return 0;
+        }
+
+        // 역만: 올 그린
+        if (greenTileCnt == HAND_SIZE) {
+            return bodyScore + 10 | Yaku.ALL_GREEN.bit() << YAKU_SHIFT;
+        }
+
+        // 역만: 칭야오
+        if (isChinYao) {
+            return bodyScore + 15 | Yaku.CHIN_YAO.bit() << YAKU_SHIFT;
+        }
+
+        // 역만: 슈퍼 레드
+        if (redTileCnt == HAND_SIZE) {
+            return bodyScore + 20 | Yaku.SUPER_RED.bit() << YAKU_SHIFT;
+        }
+
+        int totalScore = bodyScore;
+        int yakuBits = 0;
+
+        // 보너스: 적색 패 점수 계산
+        totalScore += redTileCnt;
+
+        // 보너스: 탕야오
+        if (isTangYao) {
+            totalScore += 1;
+            yakuBits |= Yaku.TANG_YAO.bit();
+        }
+
+        // 보너스: 챤타 (두 개의 몸통 모두 1/9/발/중 포함)
+        if (firstHasTerminal && secondHasTerminal) {
+            totalScore += 2;
+            yakuBits |= Yaku.CHANTA.bit();
+        }
+
+        // 보너스: 도라 패 점수는 조회시 계산
+        return totalScore | DORA_APPLIES | yakuBits << YAKU_SHIFT;
+    }
+
+    /**
+     * 1/9/발/중에 해당하는 숫자값인지 확인합니다.
+     */
+    private static boolean isTerminalValue(int value) {
+        return value == 1 || value >= 9;
+    }
+}
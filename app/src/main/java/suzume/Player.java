@@ -1,30 +1,53 @@
 package suzume;
 
+import java.util.AbstractList;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class Player {
-    
+
+    // 상수
+    public static final int START_SCORE = 20;          // 게임 시작 점수
+
+    // 필드
     private final String id;
     private final String name;
     private int score;
-    private final List<Tile> handTiles;
-    private final List<Tile> discardTiles;
+    @Setter(AccessLevel.PACKAGE) private int seatIdx;   // 세션 안에서의 자리 번호 (세션이 지정, 없으면 -1)
+    private final List<Tile> handTiles;                 // 손패 조회용 뷰 ('id' 오름차순)
+    private final List<Tile> discardTiles;              // 버린 패 조회용 뷰 (버린 순서)
+
+    // 손패: 패 'id' 비트셋(1번 패 = 0번 비트)과 숫자값별 개수(HuaryoScoreTable의 handKey)
+    @Setter(AccessLevel.NONE) private long handTileBits;
+    @Setter(AccessLevel.NONE) private long handKey;
+    private final WaitSet waitSet;                      // 손패 5개일 때의 대기패 정보 (손패가 바뀐 경우에만 재계산)
+
+    // 버린 패: 고정 크기 'id' 배열
+    @Getter(AccessLevel.NONE) private final int[] discardTileIds;
+    @Setter(AccessLevel.NONE) private int discardTileCnt;
+    @Setter(AccessLevel.NONE) private int discardValueBits;     // 버린적이 있는 숫자값 비트마스크 (숫자값 = 비트 위치)
 
     // 생성자
     private Player(String id, String name) {
         this.id = id;
         this.name = name;
-        this.score = 0;
-        this.handTiles = new LinkedList<>();
-        this.discardTiles = new LinkedList<>();
+        this.score = START_SCORE;
+        this.seatIdx = -1;
+        this.handTiles = new HandTileView();
+        this.discardTiles = new DiscardTileView();
+        this.handTileBits = 0L;
+        this.handKey = 0L;
+        this.waitSet = new WaitSet();
+        this.discardTileIds = new int[Tile.getDefinedTileList().size()];
+        this.discardTileCnt = 0;
+        this.discardValueBits = 0;
     }
 
     // 정적 생성자
@@ -33,7 +56,7 @@ public class Player {
     }
 
     /**
-     * 핸드의 가장 마지막에 패을 추가합니다.
+     * 핸드에 패를 추가합니다.
      * @param tile 추가할 패
      */
     public void addTileToHand(Tile tile) {
@@ -41,7 +64,59 @@ public class Player {
             return;
         }
 
-        this.handTiles.add(tile);
+        final long tileBit = 1L << (tile.getId() - 1);
+        if ((this.handTileBits & tileBit) != 0) {
+            return;
+        }
+
+        this.handTileBits |= tileBit;
+        this.handKey += HuaryoScoreTable.keyOf(tile);
+    }
+
+    /**
+     * 핸드에서 패를 제거합니다.
+     * @param tile 제거할 패
+     * @return true: 제거됨 / false: 핸드에 없는 패
+     */
+    public boolean removeTileFromHand(Tile tile) {
+        if (tile == null) {
+            return false;
+        }
+
+        final long tileBit = 1L << (tile.getId() - 1);
+        if ((this.handTileBits & tileBit) == 0) {
+            return false;
+        }
+
+        this.handTileBits &= ~tileBit;
+        this.handKey -= HuaryoScoreTable.keyOf(tile);
+        return true;
+    }
+
+    /**
+     * 핸드에 해당 패가 있는지 확인합니다.
+     * @param tile 확인할 패
+     * @return true: 핸드에 있는 패 / false: 핸드에 없는 패
+     */
+    public boolean hasTileInHand(Tile tile) {
+        return tile != null && (this.handTileBits & (1L << (tile.getId() - 1))) != 0;
+    }
+
+    /**
+     * 핸드의 패 개수를 반환합니다.
+     * @return 핸드의 패 개수
+     */
+    public int getHandTileCnt() {
+        return Long.bitCount(this.handTileBits);
+    }
+
+    /**
+     * 현재 손패의 대기패 정보를 반환합니다. 직전 조회 이후 손패가 바뀐 경우에만 다시 계산합니다.
+     * @return 대기패 정보. 손패가 5개가 아니면 대기패가 없습니다.
+     */
+    public WaitSet getWaitSet() {
+        this.waitSet.update(this.handKey);
+        return this.waitSet;
     }
 
     /**
@@ -53,15 +128,65 @@ public class Player {
             return;
         }
 
-        this.discardTiles.add(tile);
+        this.discardTileIds[this.discardTileCnt++] = tile.getId();
+        this.discardValueBits |= 1 << tile.getValue();
+    }
+
+    /**
+     * 해당 숫자값의 패를 버린적이 있는지 확인합니다.
+     * @param value 패 숫자값
+     * @return true: 버린적이 있는 숫자값 / false: 버린적이 없는 숫자값
+     */
+    public boolean hasDiscardedValue(int value) {
+        return (this.discardValueBits & (1 << value)) != 0;
+    }
+
+    /**
+     * 해당 패로 론을 할 수 없는 상태(후리텐)인지 확인합니다.
+     * 자신이 버린적이 있는 숫자값의 패로는 론을 할 수 없습니다.
+     * @param tile 론 대상 패
+     * @return true: 후리텐 / false: 론 가능
+     */
+    public boolean isFuriten(Tile tile) {
+        Objects.requireNonNull(tile);
+        return hasDiscardedValue(tile.getValue());
+    }
+
+    /**
+     * 가장 마지막에 버린 패를 반환합니다.
+     * @return 마지막으로 버린 패. 버린 패가 없으면 <code>null</code>
+     */
+    public Tile getLastDiscardTile() {
+        if (this.discardTileCnt == 0) {
+            return null;
+        }
+
+        return Tile.getDefinedTile(this.discardTileIds[this.discardTileCnt - 1]);
     }
 
     /**
      * 핸드와 버린 패를 초기화합니다.
      */
     public void clearHandAndDiscard() {
-        this.handTiles.clear();
-        this.discardTiles.clear();
+        this.handTileBits = 0L;
+        this.handKey = 0L;
+        this.discardTileCnt = 0;
+        this.discardValueBits = 0;
+    }
+
+    /**
+     * 플레이어가 차지하는 대략적인 메모리 크기를 반환합니다.
+     * @return 추정 메모리 크기 (byte)
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 64L;                                               // 플레이어 필드
+        bytes += 40L + 2L * (this.id == null ? 0 : this.id.length());       // 아이디 문자열
+        bytes += 40L + 2L * (this.name == null ? 0 : this.name.length());   // 이름 문자열
+        bytes += 2L * 16L;                                              // 손패, 버린 패 뷰
+        bytes += 16L + 4L * this.discardTileIds.length;                 // 버린 패 배열
+        bytes += 32L + 2L * (16L + HuaryoScoreTable.VALUE_CNT + 1);      // 대기패 정보
+
+        return bytes;
     }
 
     /**
@@ -102,4 +227,49 @@ public class Player {
 
         return sb.toString();
     }
+
+    /**
+     * 손패 비트셋의 읽기 전용 리스트 뷰. 패는 'id' 오름차순으로 조회됩니다.
+     */
+    private final class HandTileView extends AbstractList<Tile> {
+
+        @Override
+        public Tile get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            long bits = handTileBits;
+            for (int i = 0; i < index; ++i) {
+                bits &= bits - 1; // 가장 낮은 비트 제거
+            }
+
+            return Tile.getDefinedTile(Long.numberOfTrailingZeros(bits) + 1);
+        }
+
+        @Override
+        public int size() {
+            return Long.bitCount(handTileBits);
+        }
+    }
+
+    /**
+     * 버린 패 배열의 읽기 전용 리스트 뷰. 패는 버린 순서대로 조회됩니다.
+     */
+    private final class DiscardTileView extends AbstractList<Tile> {
+
+        @Override
+        public Tile get(int index) {
+            if (index < 0 || index >= discardTileCnt) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + discardTileCnt);
+            }
+
+            return Tile.getDefinedTile(discardTileIds[index]);
+        }
+
+        @Override
+        public int size() {
+            return discardTileCnt;
+        }
+    }
 }
@@ -0,0 +1,205 @@
+package suzume;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 라운드(국) 정산.<p>
+ * 라운드의 결과(쯔모 화료, 론, 유국)로 자리마다 주고받을 점수를 계산해 두었다가 <code>apply()</code>로 한 번에 적용합니다.
+ * 쯔모 화료는 다른 플레이어가 점수를 나눠(올림) 내고, 론은 패를 버린 플레이어가 모두 냅니다.
+ * 낼 점수가 부족한 플레이어는 남은 점수만 냅니다(<code>Player.giveScore()</code>).<p>
+ * 세션마다 하나를 만들어 라운드마다 재사용하므로 정산 계산과 적용에 객체를 만들지 않으며,
+ * 세션 모니터를 잡은 쪽(액션, <code>SuzumeSession.settleRound()</code>, <code>SuzumeSession.settleRounds()</code>)에서만 사용합니다.
+ */
+public final class RoundSettlement {
+
+    // 열거형
+    public enum Result {
+        NONE,   // 진행중
+        TSUMO,  // 쯔모 화료
+        LOAN,   // 론
+        DRAW,   // 유국 (패 더미 소진)
+    }
+
+    // 필드
+    private final int[] payments;       // [자리 번호] 받을(+)/낼(-) 점수
+    private Result result;
+    private int winnerSeatIdx;          // 이긴 플레이어 자리 (없으면 -1)
+    private int targetSeatIdx;          // 론을 당한 플레이어 자리 (없으면 -1)
+    private int score;                  // 화료/론 점수
+    private boolean pending;            // 계산 후 아직 적용하지 않음
+
+    // 생성자
+    /**
+     * 생성자.
+     * @param playerCnt 플레이어 수
+     */
+    RoundSettlement(int playerCnt) {
+        this.payments = new int[playerCnt];
+        reset();
+    }
+
+    /**
+     * 새 라운드를 위해 결과를 지웁니다.
+     */
+    void reset() {
+        Arrays.fill(this.payments, 0);
+        this.result = Result.NONE;
+        this.winnerSeatIdx = -1;
+        this.targetSeatIdx = -1;
+        this.score = 0;
+        this.pending = false;
+    }
+
+    /**
+     * 쯔모 화료를 기록합니다. 다른 플레이어가 <code>score</code>를 나눈 점수(올림)씩 냅니다.
+     * @param playerList 세션의 플레이어 리스트 (인덱스 = 자리 번호)
+     * @param winner 화료한 플레이어
+     * @param score 화료 점수
+     */
+    void recordTsumo(List<Player> playerList, Player winner, int score) {
+        record(Result.TSUMO, winner.getSeatIdx(), -1, score);
+
+        final int share = (score + playerList.size() - 2) / (playerList.size() - 1);
+        for (int seatIdx = 0; seatIdx < this.payments.length; ++seatIdx) {
+            if (seatIdx != this.winnerSeatIdx) {
+                charge(playerList.get(seatIdx), seatIdx, share);
+            }
+        }
+    }
+
+    /**
+     * 론을 기록합니다. 패를 버린 플레이어가 <code>score</code>를 모두 냅니다.
+     * @param playerList 세션의 플레이어 리스트 (인덱스 = 자리 번호)
+     * @param winner 론을 한 플레이어
+     * @param target 론을 당한 플레이어
+     * @param score 론 점수
+     */
+    void recordLoan(List<Player> playerList, Player winner, Player target, int score) {
+        record(Result.LOAN, winner.getSeatIdx(), target.getSeatIdx(), score);
+        charge(playerList.get(this.targetSeatIdx), this.targetSeatIdx, score);
+    }
+
+    /**
+     * 유국을 기록합니다. 주고받는 점수는 없습니다.
+     */
+    void recordDraw() {
+        record(Result.DRAW, -1, -1, 0);
+    }
+
+    private void record(Result result, int winnerSeatIdx, int targetSeatIdx, int score) {
+        Arrays.fill(this.payments, 0);
+        this.result = result;
+        this.winnerSeatIdx = winnerSeatIdx;
+        this.targetSeatIdx = targetSeatIdx;
+        this.score = score;
+        this.pending = true;
+    }
+
+    /**
+     * 플레이어가 낼 점수를 기록합니다. 남은 점수보다 많이 낼 수 없습니다.
+     */
+    private void charge(Player payer, int payerSeatIdx, int due) {
+        final int paid = Math.min(due, payer.getScore());
+        this.payments[payerSeatIdx] -= paid;
+        this.payments[this.winnerSeatIdx] += paid;
+    }
+
+    /**
+     * 계산한 점수를 모든 플레이어에게 적용합니다.
+     * @param playerList 세션의 플레이어 리스트 (인덱스 = 자리 번호)
+     * @return true: 적용함 / false: 적용할 정산이 없음
+     */
+    boolean apply(List<Player> playerList) {
+        if (!this.pending) {
+            return false;
+        }
+
+        for (int seatIdx = 0; seatIdx < this.payments.length; ++seatIdx) {
+            if (this.payments[seatIdx] < 0) {
+                playerList.get(seatIdx).giveScore(playerList.get(this.winnerSeatIdx), -this.payments[seatIdx]);
+            }
+        }
+
+        this.pending = false;
+        return true;
+    }
+
+    /**
+     * 정산 상태를 스냅샷 버퍼에 기록합니다. <code>SuzumeSession.writeState()</code>에서 호출합니다.
+     * @param buf 리틀 엔디안 버퍼
+     */
+    void write(ByteBuffer buf) {
+        buf.put((byte) this.result.ordinal());
+        buf.put((byte) this.winnerSeatIdx);
+        buf.put((byte) this.targetSeatIdx);
+        buf.putInt(this.score);
+        buf.put((byte) (this.pending ? 1 : 0));
+
+        for (int payment : this.payments) {
+            buf.putInt(payment);
+        }
+    }
+
+    /**
+     * 스냅샷 버퍼에서 정산 상태를 복원합니다. <code>SuzumeSession.readState()</code>에서 호출합니다.
+     * @param buf 리틀 엔디안 버퍼
+     * @throws IllegalArgumentException 정산 결과나 자리 번호가 올바르지 않은 경우.
+     */
+    void read(ByteBuffer buf) {
+        final int resultOrdinal = buf.get();
+        final int winnerSeatIdx = buf.get();
+        final int targetSeatIdx = buf.get();
+
+        if (resultOrdinal < 0 || resultOrdinal >= Result.values().length ||
+            winnerSeatIdx < -1 || winnerSeatIdx >= this.payments.length ||
+            targetSeatIdx < -1 || targetSeatIdx >= this.payments.length) {
+            throw new IllegalArgumentException("Invalid settlement! (result: " + resultOrdinal + ", winnerSeatIdx: " +
+                                               winnerSeatIdx + ", targetSeatIdx: " + targetSeatIdx + ")");
+        }
+
+        this.result = Result.values()[resultOrdinal];
+        this.winnerSeatIdx = winnerSeatIdx;
+        this.targetSeatIdx = targetSeatIdx;
+        this.score = buf.getInt();
+        this.pending = buf.get() != 0;
+
+        for (int seatIdx = 0; seatIdx < this.payments.length; ++seatIdx) {
+            this.payments[seatIdx] = buf.getInt();
+        }
+    }
+
+    public Result getResult() {
+        return this.result;
+    }
+
+    public int getWinnerSeatIdx() {
+        return this.winnerSeatIdx;
+    }
+
+    public int getTargetSeatIdx() {
+        return this.targetSeatIdx;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * 자리의 정산 점수를 반환합니다.
+     * @param seatIdx 자리 번호
+     * @return 받을(+)/낼(-) 점수
+     */
+    public int getPayment(int seatIdx) {
+        return this.payments[seatIdx];
+    }
+
+    /**
+     * 계산한 정산이 아직 적용되지 않았는지 반환합니다.
+     * @return true: 적용 대기중 / false: 적용됨 또는 정산 없음
+     */
+    public boolean isPending() {
+        return this.pending;
+    }
+}
@@ -0,0 +1,46 @@
+package suzume;
+
+/**
+ * 규칙 위반(액션 거절) 코드.<p>
+ * 코드마다 메시지와, 미리 만들어둔 스택 트레이스 없는 <code>RuleException</code>을 가지므로
+ * 거절 경로에서 객체를 새로 만들지 않습니다.
+ */
+public enum RuleCode {
+
+    NOT_NOW("지금 수행할 수 없습니다."),
+    NOT_YOUR_TURN("당신의 턴이 아닙니다."),
+    HAND_NOT_FIVE("손패가 5개가 아닙니다."),
+    HAND_NOT_SIX("손패가 6개가 아닙니다."),
+    ALREADY_DRAWN("이미 패를 가져왔습니다."),
+    TILE_NOT_IN_HAND("손패에 없는 패입니다."),
+    NOT_ROUND_START_PLAYER("선 플레이어가 아닙니다."),
+    DORA_ALREADY_SELECTED("이미 도라 타일이 선정되었습니다."),
+    SCORE_TOO_LOW("점수가 부족합니다!"),
+    LOAN_NOT_NOW("지금은 론을 할 수 없습니다."),
+    NOT_LOAN_TARGET("론 대상 플레이어가 아닙니다."),
+    FURITEN("버린적이 있는 패를 론에 사용 할 수 없습니다."),
+    LOAN_SCORE_TOO_LOW("론을 해도 점수가 부족합니다."),
+    SESSION_CLOSED("종료된 세션입니다.");
+
+    // 필드
+    private final String message;
+    private final RuleException exception;  // 공유하는 스택 트레이스 없는 예외
+
+    // 생성자
+    private RuleCode(String message) {
+        this.message = message;
+        this.exception = RuleException.of(this);
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * 이 코드의 예외를 반환합니다. 모든 스레드가 같은 인스턴스를 공유합니다.
+     * @return 스택 트레이스 없는 규칙 예외
+     */
+    public RuleException exception() {
+        return this.exception;
+    }
+}
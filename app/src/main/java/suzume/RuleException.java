@@ -1,23 +1,42 @@
 package suzume;
 
+/**
+ * 규칙 위반 예외.<p>
+ * 잘못된 액션마다 발생하므로 스택 트레이스를 채우지 않습니다. 규칙 코드가 있는 예외는
+ * <code>RuleCode.exception()</code>의 공유 인스턴스를 사용합니다.
+ */
 public class RuleException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
-    
-    private RuleException(String msg, Throwable th) {
-        super(msg, th);
+
+    private final RuleCode code;
+
+    private RuleException(RuleCode code, String msg, Throwable th) {
+        super(msg, th, false, false);
+        this.code = code;
+    }
+
+    static RuleException of(RuleCode code) {
+        return new RuleException(code, code.getMessage(), null);
     }
 
     public static RuleException of(String msg) {
-        return new RuleException(msg, null);
+        return new RuleException(null, msg, null);
     }
 
     public static RuleException of(Throwable th) {
-        return new RuleException(null, th);
+        return new RuleException(null, null, th);
     }
 
     public static RuleException of(String msg, Throwable th) {
-        return new RuleException(msg, th);
+        return new RuleException(null, msg, th);
     }
-}
 
+    /**
+     * 규칙 코드를 반환합니다.
+     * @return 규칙 코드. 코드 없이 만든 예외는 <code>null</code>
+     */
+    public RuleCode getCode() {
+        return this.code;
+    }
+}
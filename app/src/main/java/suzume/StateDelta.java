@@ -0,0 +1,157 @@
+package suzume;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 세션 상태 변경분(델타).<p>
+ * 세션은 상태를 바꿀 때마다 전체 상태 대신 바뀐 부분만 작은 델타로 발행합니다(<code>SuzumeSession.subscribe()</code>).
+ * 델타 번호는 세션 안에서 1씩 증가하므로 구독자는 번호의 빈틈으로 유실을 알 수 있습니다.
+ * 중간에 구독한 쪽은 먼저 <code>RESYNC</code>로 시작하는 기준 상태를 받으며, 그 번호 이하의 델타는 이미 반영된 것입니다.
+ * 다른 플레이어의 손패처럼 보는 사람에 따라 가려야 하는 값은 <code>forViewer()</code>로 가려서 전달하며,
+ * 패 더미 순서는 어떤 델타에도 담기지 않습니다.<p>
+ * 바이너리 형식 (버퍼의 바이트 순서, <code>ENCODED_SIZE</code>바이트):
+ * <code>[long 번호][u8 종류][i8 자리][i8 대상 자리][u8 패 'id'][long 값]</code>
+ */
+public final class StateDelta {
+
+    // 열거형
+    public enum Type {
+        ROUND_STARTED,      // 자리: 선 플레이어, 값: 라운드
+        HAND_DEALT,         // 자리: 패를 받은 플레이어, 값: 손패 비트셋 (본인 외에는 0)
+        DORA_SET,           // 자리: 도라를 연 플레이어, 패: 도라
+        TILE_DRAWN,         // 자리: 쯔모한 플레이어, 패: 쯔모한 패 (본인 외에는 0), 값: 남은 패 더미 수
+        TILE_DISCARDED,     // 자리: 버린 플레이어, 패: 버린 패
+        TURN_PASSED,        // 자리: 새 턴 소유자
+        STATE_CHANGED,      // 값: SuzumeState 순서값
+        HUARYO,             // 자리: 화료한 플레이어, 값: 점수
+        LOAN,               // 자리: 론을 한 플레이어, 대상 자리: 버린 플레이어, 패: 론 패, 값: 점수
+        SCORE_CHANGED,      // 자리: 정산으로 점수가 바뀐 플레이어, 값: 정산 후 점수
+        RESYNC,             // 값: 이어지는 기준 상태 델타 수 (SuzumeSession.resync())
+    }
+
+    // 상수
+    public static final int ENCODED_SIZE = 20;
+    public static final int NO_SEAT = -1;
+    public static final int ALL_SEATS = -2;     // 서버 내부 구독자용: 가리지 않은 델타를 받음
+    private static final Type[] TYPES = Type.values();
+
+    // 필드
+    private final long seq;
+    private final Type type;
+    private final int seatIdx;
+    private final int targetSeatIdx;
+    private final int tileId;
+    private final long value;
+
+    // 생성자
+    StateDelta(long seq, Type type, int seatIdx, int targetSeatIdx, int tileId, long value) {
+        this.seq = seq;
+        this.type = type;
+        this.seatIdx = seatIdx;
+        this.targetSeatIdx = targetSeatIdx;
+        this.tileId = tileId;
+        this.value = value;
+    }
+
+    public long getSeq() {
+        return this.seq;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public int getSeatIdx() {
+        return this.seatIdx;
+    }
+
+    public int getTargetSeatIdx() {
+        return this.targetSeatIdx;
+    }
+
+    public int getTileId() {
+        return this.tileId;
+    }
+
+    public long getValue() {
+        return this.value;
+    }
+
+    /**
+     * 보는 사람에 따라 가려야 하는 값이 있는 델타인지 확인합니다.
+     * @return true: <code>getSeatIdx()</code> 플레이어만 볼 수 있는 값이 있음
+     */
+    public boolean isPrivate() {
+        return this.type == Type.HAND_DEALT || this.type == Type.TILE_DRAWN;
+    }
+
+    /**
+     * 해당 자리의 플레이어(또는 관전자)가 볼 수 있는 델타를 반환합니다.
+     * @param viewerSeatIdx 보는 사람의 자리 번호 (관전자는 <code>NO_SEAT</code>, 서버 내부 구독자는 <code>ALL_SEATS</code>)
+     * @return 그대로 볼 수 있으면 이 델타, 아니면 값을 가린 델타
+     */
+    public StateDelta forViewer(int viewerSeatIdx) {
+        return !isPrivate() || viewerSeatIdx == this.seatIdx || viewerSeatIdx == ALL_SEATS ? this : masked();
+    }
+
+    /**
+     * 본인 외에는 볼 수 없는 값을 가린 델타를 반환합니다.
+     */
+    StateDelta masked() {
+        return new StateDelta(this.seq, this.type, this.seatIdx, this.targetSeatIdx,
+                              this.type == Type.TILE_DRAWN ? 0 : this.tileId,
+                              this.type == Type.HAND_DEALT ? 0L : this.value);
+    }
+
+    /**
+     * 델타를 버퍼의 현재 위치에 기록합니다.
+     * @param buf 기록할 버퍼
+     */
+    public void write(ByteBuffer buf) {
+        buf.putLong(this.seq);
+        buf.put((byte) this.type.ordinal());
+        buf.put((byte) this.seatIdx);
+        buf.put((byte) this.targetSeatIdx);
+        buf.put((byte) this.tileId);
+        buf.putLong(this.value);
+    }
+
+    /**
+     * 버퍼의 현재 위치에서 델타를 읽습니다.
+     * @param buf 델타가 기록된 버퍼
+     * @return 델타
+     * @throws IllegalArgumentException 알 수 없는 종류인 경우.
+     */
+    public static StateDelta read(ByteBuffer buf) {
+        final long seq = buf.getLong();
+        final int typeOrdinal = buf.get() & 0xFF;
+
+        if (typeOrdinal >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown delta type! (type: " + typeOrdinal + ")");
+        }
+
+        final int seatIdx = buf.get();
+        final int targetSeatIdx = buf.get();
+        final int tileId = buf.get() & 0xFF;
+        return new StateDelta(seq, TYPES[typeOrdinal], seatIdx, targetSeatIdx, tileId, buf.getLong());
+    }
+
+    @Override
+    public String toString() {
+        return "{seq:" + this.seq + ",type:" + this.type + ",seatIdx:" + this.seatIdx + ",targetSeatIdx:" + this.targetSeatIdx +
+               ",tileId:" + this.tileId + ",value:" + this.value + "}";
+    }
+
+    /**
+     * 델타 구독자.
+     */
+    public interface Listener {
+
+        // 델타 수신. 세션 모니터를 잡은 채 호출되므로 짧아야 하며 예외를 던지면 구독이 해지됨
+        public void onDelta(StateDelta delta);
+
+        // 세션 종료. 세션 모니터를 잡은 채 한 번 호출되며, 이후 구독은 해지된 상태임
+        public default void onSessionClosed() {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package suzume;
+
+import bgame.ActionResult;
+
+/**
+ * 참새작 액션 결과. 수락 결과와 규칙 코드별 거절 결과는 모두 미리 만들어둔 공유 인스턴스입니다.
+ */
+public final class SuzumeActionResult implements ActionResult {
+
+    // 상수
+    public static final SuzumeActionResult ACCEPTED = new SuzumeActionResult(null);
+    private static final SuzumeActionResult[] REJECTED = new SuzumeActionResult[RuleCode.values().length];
+
+    static {
+        for (RuleCode code : RuleCode.values()) {
+            REJECTED[code.ordinal()] = new SuzumeActionResult(code);
+        }
+    }
+
+    // 필드
+    private final RuleCode ruleCode;    // 거절 코드 (수락된 경우 null)
+
+    // 생성자
+    private SuzumeActionResult(RuleCode ruleCode) {
+        this.ruleCode = ruleCode;
+    }
+
+    // 정적 생성자
+    public static SuzumeActionResult rejected(RuleCode ruleCode) {
+        return REJECTED[ruleCode.ordinal()];
+    }
+
+    public RuleCode getRuleCode() {
+        return this.ruleCode;
+    }
+
+    @Override
+    public boolean isRejected() {
+        return this.ruleCode != null;
+    }
+
+    @Override
+    public String getRejectMessage() {
+        return this.ruleCode == null ? null : this.ruleCode.getMessage();
+    }
+
+    @Override
+    public String toString() {
+        return this.ruleCode == null ? "{accepted:true}" : "{accepted:false,ruleCode:" + this.ruleCode + "}";
+    }
+}
@@ -0,0 +1,346 @@
+package suzume;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import bgame.ActionJournal;
+import bgame.SessionRandom;
+import bgame.TimingWheel;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.HuaryoAction;
+import suzume.actions.LoanAction;
+import suzume.actions.TsumoAction;
+
+/**
+ * 참새작 세션 저널.<p>
+ * <code>ActionJournal</code>에 세션 시작(플레이어, 난수 시드), 라운드 시작(패 더미 순서)과
+ * 수행된 액션(뽑은 패 등 결과 포함)을 기록하고, 기록된 저널로 세션을 그대로 다시 만듭니다.
+ * 액션 레코드는 모두 고정 길이(<code>ActionJournal.FIXED_RECORD_SIZE</code>)이며 값은 다음과 같습니다.
+ * <ul>
+ * <li>도라: 플레이어 인덱스, 도라 패 'id'</li>
+ * <li>쯔모: 플레이어 인덱스, 뽑은 패 'id' (더미가 비었으면 0)</li>
+ * <li>버리기: 플레이어 인덱스, 버린 패 'id'</li>
+ * <li>화료: 플레이어 인덱스, 점수</li>
+ * <li>론: 플레이어 인덱스, (론 당한 플레이어 인덱스 &lt;&lt; 32 | 점수)</li>
+ * <li>론 대기 종료: 없음</li>
+ * </ul>
+ */
+public final class SuzumeJournal implements Closeable {
+
+    // 레코드 종류
+    public static final int REC_SESSION_OPEN = 1;
+    public static final int REC_ROUND_INIT = 2;
+    public static final int REC_DORA = 3;
+    public static final int REC_TSUMO = 4;
+    public static final int REC_DISCARD = 5;
+    public static final int REC_HUARYO = 6;
+    public static final int REC_LOAN = 7;
+    public static final int REC_LOAN_CLOSE = 8;
+
+    // 필드
+    private final ActionJournal journal;
+    private final AtomicInteger sessionNoSeq;   // 저널 안에서 세션을 구분하는 번호
+
+    /**
+     * 생성자.
+     * @param journal 레코드를 기록할 액션 저널
+     */
+    public SuzumeJournal(ActionJournal journal) {
+        Objects.requireNonNull(this.journal = journal);
+        this.sessionNoSeq = new AtomicInteger();
+    }
+
+    /**
+     * 세션을 저널에 연결하고 세션 시작 레코드를 기록합니다. 이후 세션의 라운드 시작과 액션이 기록됩니다.
+     * @param session 대상 세션. 세션을 연 직후, 첫 <code>initRound()</code> 전에 연결해야 합니다.
+     * @throws UncheckedIOException 기록에 실패한 경우.
+     */
+    public void attach(SuzumeSession session) {
+        Objects.requireNonNull(session);
+
+        final SessionRandom random = session.getRandom();
+        final List<Player> playerList = session.getPlayerList();
+        final byte[] sessionId = session.getSessionId().getBytes(StandardCharsets.UTF_8);
+        final List<byte[]> playerStrings = new ArrayList<>(playerList.size() * 2);
+        int payloadSize = 2 + sessionId.length + 1 + 8 + 1;
+
+        for (Player player : playerList) {
+            final byte[] id = player.getId().getBytes(StandardCharsets.UTF_8);
+            final byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            playerStrings.add(id);
+            playerStrings.add(name);
+            payloadSize += 2 + id.length + 2 + name.length + 4;
+        }
+
+        final ByteBuffer buf = ByteBuffer.allocate(payloadSize).order(ByteOrder.LITTLE_ENDIAN);
+        putString(buf, sessionId);
+        buf.put((byte) (random.isReproducible() ? 1 : 0));
+        buf.putLong(random.isReproducible() ? random.getSeed() : 0L);
+        buf.put((byte) playerList.size());
+
+        for (int i = 0; i < playerList.size(); ++i) {
+            putString(buf, playerStrings.get(i * 2));
+            putString(buf, playerStrings.get(i * 2 + 1));
+            buf.putInt(playerList.get(i).getScore());
+        }
+
+        final int sessionNo = this.sessionNoSeq.getAndIncrement();
+
+        try {
+            this.journal.append(sessionNo, REC_SESSION_OPEN, buf.array());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        session.attachJournal(this, sessionNo);
+    }
+
+    /**
+     * 라운드 시작 레코드를 기록합니다.
+     * @param sessionNo 세션 번호
+     * @param round 라운드
+     * @param startPlayerIdx 선 플레이어 인덱스
+     * @param tileStockIds 나눠주기 전의 패 더미 순서
+     */
+    void writeRoundInit(int sessionNo, int round, int startPlayerIdx, int[] tileStockIds) {
+        final byte[] payload = new byte[4 + 1 + 1 + tileStockIds.length];
+        final ByteBuffer buf = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+
+        buf.putInt(round);
+        buf.put((byte) startPlayerIdx);
+        buf.put((byte) tileStockIds.length);
+        for (int tileId : tileStockIds) {
+            buf.put((byte) tileId);
+        }
+
+        try {
+            this.journal.append(sessionNo, REC_ROUND_INIT, payload);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 고정 길이 액션 레코드를 기록합니다.
+     */
+    void writeAction(int sessionNo, int type, long arg0, long arg1) {
+        try {
+            this.journal.append(sessionNo, type, arg0, arg1);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 기록된 레코드를 디스크에 내려씁니다(그룹 커밋).
+     */
+    public void flush() {
+        this.journal.flush();
+    }
+
+    /**
+     * 타이밍 휠을 이용해 주기적으로 <code>flush()</code>를 실행합니다.
+     * @param timingWheel 사용할 타이밍 휠
+     * @param intervalMs 그룹 커밋 주기 (ms)
+     * @param executor 동기화를 실행할 실행기
+     * @return 첫번째 실행 타이머
+     */
+    public TimingWheel.Timeout scheduleFlush(TimingWheel timingWheel, long intervalMs, Executor executor) {
+        return this.journal.scheduleFlush(timingWheel, intervalMs, executor);
+    }
+
+    @Override
+    public void close() {
+        this.journal.close();
+    }
+
+    /**
+     * 저널 디렉토리의 기록으로 세션들을 다시 만듭니다.<p>
+     * 액션은 원래 세션과 같은 <code>doAction()</code> 경로로 다시 수행되며, 뽑은 패 등 기록된 결과와
+     * 다르면 실패합니다. 재현 가능한 난수 생성기를 쓰던 세션은 같은 시드로 패 더미를 다시 섞어
+     * 난수 생성기 상태까지 같아지며, 그렇지 않은 세션은 기록된 패 더미 순서를 사용합니다.
+     * 같은 ID로 다시 열려 대체된 세션과, 복원에 실패한 경우 그때까지 만든 세션은 모두 닫습니다.
+     * @param directory 저널 디렉토리
+     * @return 세션 ID를 키로 하는 복원된 세션 (저널에 처음 나온 순서)
+     * @throws IOException 저널을 읽을 수 없거나 기록과 다시 수행한 결과가 다른 경우.
+     * @apiNote 복원된 세션은 타이밍 휠을 사용하지 않습니다. 이어서 진행하려면 <code>setTimingWheel()</code>로 지정합니다.
+     */
+    public static Map<String, SuzumeSession> replay(Path directory) throws IOException {
+        final Map<String, SuzumeSession> sessionMap = new LinkedHashMap<>();
+        final List<SuzumeSession> replacedSessions = new ArrayList<>();
+
+        try {
+            readRecords(directory, sessionMap, replacedSessions);
+        }
+        catch (IOException | RuntimeException e) {
+            // 복원에 실패하면 만든 세션을 모두 닫음
+            for (SuzumeSession session : sessionMap.values()) {
+                session.closeSession();
+            }
+
+            throw e;
+        }
+        finally {
+            // 같은 ID로 다시 열려 대체된 세션
+            for (SuzumeSession session : replacedSessions) {
+                session.closeSession();
+            }
+        }
+
+        return sessionMap;
+    }
+
+    private static void readRecords(Path directory, Map<String, SuzumeSession> sessionMap, List<SuzumeSession> replacedSessions) throws IOException {
+        final Map<Integer, SuzumeSession> sessionNoMap = new HashMap<>();
+        final long[] currentEpoch = { Long.MIN_VALUE };
+
+        ActionJournal.read(directory, (epoch, sessionNo, type, payload) -> {
+            if (epoch != currentEpoch[0]) {
+                sessionNoMap.clear(); // 세션 번호는 기록자 세대 안에서만 유효
+                currentEpoch[0] = epoch;
+            }
+
+            if (type == REC_SESSION_OPEN) {
+                final SuzumeSession session = openFromRecord(payload);
+                final SuzumeSession replaced = sessionMap.put(session.getSessionId(), session);
+                sessionNoMap.put(sessionNo, session);
+
+                if (replaced != null) {
+                    replacedSessions.add(replaced);
+                }
+                return;
+            }
+
+            final SuzumeSession session = sessionNoMap.get(sessionNo);
+
+            if (session == null) {
+                throw new IOException("Unknown journal session! (sessionNo: " + sessionNo + ", type: " + type + ")");
+            }
+
+            try {
+                replayRecord(session, type, payload);
+            }
+            catch (RuleException e) {
+                throw new IOException("Journal replay rejected! (session: " + session.getSessionId() + ", type: " + type + ")", e);
+            }
+        });
+    }
+
+    private static SuzumeSession openFromRecord(ByteBuffer payload) {
+        final String sessionId = getString(payload);
+        final boolean reproducible = payload.get() != 0;
+        final long seed = payload.getLong();
+        final int playerCnt = payload.get();
+        final List<Player> playerList = new ArrayList<>(playerCnt);
+
+        for (int i = 0; i < playerCnt; ++i) {
+            final Player player = Player.of(getString(payload), getString(payload));
+            player.setScore(payload.getInt());
+            playerList.add(player);
+        }
+
+        final SuzumeSession session = SuzumeSession.openSession(sessionId, playerList,
+            reproducible ? SessionRandom.seeded(seed) : SessionRandom.secure());
+        session.setTimingWheel(null);
+        session.setTurnTimeoutMs(0L);
+        return session;
+    }
+
+    private static void replayRecord(SuzumeSession session, int type, ByteBuffer payload) throws IOException {
+        switch (type) {
+            case REC_ROUND_INIT: {
+                final int round = payload.getInt();
+                final int startPlayerIdx = payload.get();
+                final int[] tileStockIds = new int[payload.get()];
+
+                for (int i = 0; i < tileStockIds.length; ++i) {
+                    tileStockIds[i] = payload.get();
+                }
+
+                if (session.getRandom().isReproducible()) {
+                    session.initRound();
+                    expect(session, "tileStock", tileStockIds, session.copyTileStockIds());
+                }
+                else {
+                    session.initRound(tileStockIds);
+                }
+
+                expect(session, "round", round, session.getRound());
+                expect(session, "roundStartPlayer", startPlayerIdx, session.getRoundStartPlayer().getSeatIdx());
+                return;
+            }
+            case REC_LOAN_CLOSE:
+                session.closeLoanWindow();
+                return;
+            default:
+                break;
+        }
+
+        final int actSeatIdx = (int) payload.getLong();
+        final long arg = payload.getLong();
+
+        switch (type) {
+            case REC_DORA:
+                session.doAction(new DoraAction(session, actSeatIdx));
+                expect(session, "doraTile", arg, session.getDoraTile().getId());
+                break;
+            case REC_TSUMO:
+                session.doAction(new TsumoAction(session, actSeatIdx));
+                expect(session, "drawnTile", arg, session.getLastDrawnTile() == null ? 0 : session.getLastDrawnTile().getId());
+                break;
+            case REC_DISCARD:
+                session.doAction(new DiscardAndPassTurnAction(session, actSeatIdx, (int) arg));
+                break;
+            case REC_HUARYO:
+                session.doAction(new HuaryoAction(session, actSeatIdx));
+                break;
+            case REC_LOAN:
+                session.doAction(new LoanAction(session, actSeatIdx, (int) (arg >>> 32)));
+                break;
+            default:
+                throw new IOException("Unknown journal record type! (type: " + type + ")");
+        }
+    }
+
+    private static void expect(SuzumeSession session, String name, long expected, long actual) throws IOException {
+        if (expected != actual) {
+            throw new IOException("Journal replay mismatch! (session: " + session.getSessionId() + ", " + name +
+                                  ": " + actual + ", expected: " + expected + ")");
+        }
+    }
+
+    private static void expect(SuzumeSession session, String name, int[] expected, int[] actual) throws IOException {
+        if (!Arrays.equals(expected, actual)) {
+            throw new IOException("Journal replay mismatch! (session: " + session.getSessionId() + ", " + name + ")");
+        }
+    }
+
+    private static void putString(ByteBuffer buf, byte[] str) {
+        buf.putShort((short) str.length);
+        buf.put(str);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        final byte[] str = new byte[buf.getShort() & 0xFFFF];
+        buf.get(str);
+        return new String(str, StandardCharsets.UTF_8);
+    }
+}
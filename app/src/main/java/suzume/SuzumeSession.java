@@ -1,16 +1,27 @@
 package suzume;
 
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import bgame.Action;
+import bgame.ActionMetrics;
 import bgame.ActionResult;
 import bgame.Session;
+import bgame.SessionRandom;
+import bgame.TimingWheel;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.TsumoAction;
 
 /**
  * 참새작 (Suzume Jong)
@@ -25,31 +36,71 @@ public class SuzumeSession extends Session {
         WAITING_THUMO,
         WAITING_DISCARD,
         WAITING_LOAN,
+        ROUND_FINISHED,     // 라운드 종료 (다음 initRound() 대기)
     }
 
     // 상수
     public static final int MAX_PLAYER_CNT = 5;
     public static final long LOAN_WAITING_MS = 5000L;
+    public static final long TURN_TIMEOUT_MS = 30000L;
+    public static final int MIN_HUARYO_SCORE = 5;   // 화료/론에 필요한 최소 점수
+    public static final String ROUNDS_STARTED = "suzume.roundsStarted";       // 지표: 시작된 라운드 수
+    public static final String OPEN_LOAN_WINDOWS = "suzume.openLoanWindows";  // 지표: 진행중인 론 대기 수
+    private static final int LOAN_INDEX_SIZE = (Tile.VAL_JUNG + 1) * 2; // [숫자값 * 2 + 적색패 여부]
 
     // 게임 연관 필드
     private final List<Player> playerList;          // 플레이어 리스트
+    @Getter(AccessLevel.NONE)
+    private final Player[] seats;                   // [자리 번호] 플레이어
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Player> playerById;   // 플레이어 아이디 색인
     private final List<Tile> tileList;              // 패 리스트
-    private final List<Tile> tileStock;             // 패 더미
+    private final List<Tile> tileStock;             // 패 더미 조회용 뷰 (남은 패를 뽑힐 순서대로 조회)
+    @Getter(AccessLevel.NONE)
+    private final int[] tileStockIds;               // 패 더미: 라운드마다 제자리에서 섞는 패 'id' 배열
+    @Setter(AccessLevel.NONE)
+    private int tileStockCursor;                    // 패 더미에서 다음에 뽑을 위치
     private boolean loanable;                       // 론 가능 여부
     private int round;                              // 현재 라운드
     private Tile doraTile;                          // 도라 패
     private Player roundStartPlayer;                // 라운드의 선 플레이어
     private Player turnHolder;                      // 현시점 턴을 가진 플레이어
     private SuzumeState suzumeState;                // 참새작 게임 상태
+    @Getter(AccessLevel.NONE)
+    private final int[] loanablePlayerBits;         // [숫자값 * 2 + 적색패 여부] 해당 패로 론 가능한 플레이어 비트마스크 (플레이어 인덱스 = 비트 위치)
+    @Setter(AccessLevel.NONE)
+    private Player loanTargetPlayer;                // 론 대기중인 패를 버린 플레이어
+    @Setter(AccessLevel.NONE)
+    private Tile loanTile;                          // 론 대기중인 패
+    @Setter(AccessLevel.NONE)
+    private int loanPlayerBits;                     // 론 대기중인 패로 론 가능한 플레이어 비트마스크
+    private Tile lastDrawnTile;                     // 턴 소유자가 마지막으로 쯔모한 패
+    @Setter(AccessLevel.NONE)
+    private final RoundSettlement settlement;       // 라운드 정산 (라운드마다 재사용)
+    private boolean settlementDeferred;             // true: 정산 적용을 다음 initRound() 또는 settleRounds()까지 미룸
+    private long turnTimeoutMs;                     // 턴 제한 시간 (0이면 제한 없음)
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private TimingWheel.Timeout loanTimeout;        // 론 대기 타이머
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private TimingWheel.Timeout turnTimeout;        // 턴 제한 시간 타이머
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private SuzumeJournal journal;                  // 액션 저널 (null이면 기록하지 않음)
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int journalSessionNo;                   // 저널 안에서의 세션 번호
+    @Setter(AccessLevel.NONE)
+    private long deltaSeq;                          // 마지막으로 발행한 델타 번호
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final List<DeltaSubscriber> deltaSubscribers;   // 델타 구독자
 
     /**
      * 내부 생성자.
      * @param sessionId 세션 ID로 사용할 고유한 값
      * @param playerList 플레이어 정보가 담긴 리스트
+     * @param random 세션에서 사용할 난수 생성기
      * @throws IllegalArgumentException 플레이어 수가 2보다 작거나 <code>MAX_PLAYER_CNT</code>보다 큰 경우.
      */
-    private SuzumeSession(String sessionId, List<Player> playerList) {
-        super(sessionId);
+    private SuzumeSession(String sessionId, List<Player> playerList, SessionRandom random) {
+        super(sessionId, random);
         
         Objects.requireNonNull(sessionId);
         Objects.requireNonNull(playerList);
@@ -60,13 +111,40 @@ public class SuzumeSession extends Session {
         }
 
         this.playerList = playerList;
+        this.seats = playerList.toArray(new Player[playerCnt]);
+        this.playerById = new HashMap<>(playerCnt * 2);
+
+        for (int seatIdx = 0; seatIdx < playerCnt; ++seatIdx) {
+            this.seats[seatIdx].setSeatIdx(seatIdx);
+            this.playerById.put(this.seats[seatIdx].getId(), this.seats[seatIdx]);
+        }
         this.tileList = Collections.unmodifiableList(new ArrayList<>(Tile.getDefinedTileList()));
-        this.tileStock = new ArrayList<>();
+        this.tileStock = new TileStockView();
+        this.tileStockIds = new int[Tile.getDefinedTileList().size()];
+        this.tileStockCursor = this.tileStockIds.length;
+
+        for (int i = 0; i < this.tileStockIds.length; ++i) {
+            this.tileStockIds[i] = Tile.getDefinedTileList().get(i).getId();
+        }
         this.loanable = false;
         this.round = 1;
         this.doraTile = null;
         this.roundStartPlayer = this.playerList.get(0);
         this.turnHolder = this.playerList.get(0);
+        this.loanablePlayerBits = new int[LOAN_INDEX_SIZE];
+        this.loanTargetPlayer = null;
+        this.loanTile = null;
+        this.loanPlayerBits = 0;
+        this.lastDrawnTile = null;
+        this.settlement = new RoundSettlement(playerCnt);
+        this.settlementDeferred = false;
+        this.turnTimeoutMs = TURN_TIMEOUT_MS;
+        this.loanTimeout = null;
+        this.turnTimeout = null;
+        this.journal = null;
+        this.journalSessionNo = -1;
+        this.deltaSeq = 0L;
+        this.deltaSubscribers = new CopyOnWriteArrayList<>();
         this.sessionState = SessionState.PLAYING;
     }
 
@@ -78,40 +156,95 @@ public class SuzumeSession extends Session {
      * @return 생성된 게임 세션
      */
     public static SuzumeSession openSession(String sessionId, List<Player> playerList) {
+        return openSession(sessionId, playerList, SessionRandom.fast());
+    }
+
+    /**
+     * 정적 생성자.
+     * @param sessionId 사용할 세션 ID
+     * @param playerList 플레이어 리스트
+     * @param random 세션에서 사용할 난수 생성기 (리플레이/시뮬레이션: <code>SessionRandom.seeded()</code>,
+     * 랭크 게임: <code>SessionRandom.secure()</code>)
+     * @return 생성된 게임 세션
+     */
+    public static SuzumeSession openSession(String sessionId, List<Player> playerList, SessionRandom random) {
         Objects.requireNonNull(sessionId);
         Objects.requireNonNull(playerList);
+        Objects.requireNonNull(random);
 
-        return new SuzumeSession(sessionId, playerList);
+        return new SuzumeSession(sessionId, playerList, random);
     }
 
     /**
-     * 라운드(국) 초기화.
+     * 라운드(국) 초기화. 미뤄둔 정산도 함께 적용하므로 세션 모니터를 잡고 실행합니다.
      */
-    public void initRound() {
+    public synchronized void initRound() {
+        // 패 더미 섞기 (Fisher-Yates, 이전 라운드의 배열을 그대로 재사용)
+        for (int i = this.tileStockIds.length - 1; i > 0; --i) {
+            final int j = this.random.nextInt(i + 1);
+            final int tileId = this.tileStockIds[i];
+            this.tileStockIds[i] = this.tileStockIds[j];
+            this.tileStockIds[j] = tileId;
+        }
+
+        startRound();
+    }
+
+    /**
+     * 지정한 패 더미 순서로 라운드(국)를 초기화합니다. 저널 리플레이 등 패 더미를 재현할 때 사용합니다.
+     * @param tileStockIds 나눠주기 전의 패 더미 순서 (모든 패 'id'의 순열)
+     * @throws IllegalArgumentException 모든 패의 순열이 아닌 경우.
+     */
+    public synchronized void initRound(int[] tileStockIds) {
+        Objects.requireNonNull(tileStockIds);
+
+        long tileBits = 0L;
+        for (int tileId : tileStockIds) {
+            if (tileId < 1 || tileId > this.tileStockIds.length) {
+                break;
+            }
+
+            tileBits |= 1L << (tileId - 1);
+        }
+
+        if (tileStockIds.length != this.tileStockIds.length || Long.bitCount(tileBits) != this.tileStockIds.length) {
+            throw new IllegalArgumentException("Tile stock must be a permutation of all tiles! (tileStockIds: " + Arrays.toString(tileStockIds) + ")");
+        }
+
+        System.arraycopy(tileStockIds, 0, this.tileStockIds, 0, tileStockIds.length);
+        startRound();
+    }
+
+    /**
+     * 섞인 패 더미로 라운드를 시작합니다. 세션 모니터를 잡은 채 호출해야 합니다.
+     */
+    private void startRound() {
+        // 미뤄둔 정산 적용 (라운드, 선 플레이어 진행)
+        applySettlement();
+        this.settlement.reset();
+
         // 도라패 정리
         this.doraTile = null;
 
-        // 선 플레이어 결정
+        // 선 플레이어 결정 (정산에서 진행하며, 첫 라운드는 0번 자리)
         if (this.roundStartPlayer == null) {
-            this.roundStartPlayer = this.playerList.get(0);
+            this.roundStartPlayer = this.seats[0];
         }
-        else {
-            int playerIdx = 0;
-            for (Player player : this.playerList) {
-                if (this.roundStartPlayer == player) {
-                    break;
-                }
 
-                ++playerIdx;
-            }
+        this.turnHolder = this.roundStartPlayer;
 
-            this.roundStartPlayer = this.playerList.get((playerIdx + 1) % this.playerList.size());
-        }
+        // 론 정보 정리
+        Arrays.fill(this.loanablePlayerBits, 0);
+        clearLoan();
+        cancelTimeouts();
+        this.lastDrawnTile = null;
+        this.tileStockCursor = 0;
+
+        this.metrics.gauge(ROUNDS_STARTED).increment();
 
-        // 패 더미 섞기
-        this.tileStock.clear();
-        this.tileStock.addAll(Tile.getDefinedTileList());
-        Collections.shuffle(this.tileStock, this.random);
+        if (this.journal != null) {
+            this.journal.writeRoundInit(this.journalSessionNo, this.round, this.roundStartPlayer.getSeatIdx(), this.tileStockIds);
+        }
 
         // 플레이어 기본패 나눠주기
         for (Player player : this.playerList) {
@@ -121,45 +254,673 @@ public class SuzumeSession extends Session {
                 player.addTileToHand(pickRandomTileFromStock());
             }
         }
+
+        publishDelta(StateDelta.Type.ROUND_STARTED, this.roundStartPlayer.getSeatIdx(), StateDelta.NO_SEAT, 0, this.round);
+        for (Player player : this.playerList) {
+            publishDelta(StateDelta.Type.HAND_DEALT, player.getSeatIdx(), StateDelta.NO_SEAT, 0, player.getHandTileBits());
+        }
         
         // 게임 상태: 도라
-        suzumeState = SuzumeState.WAITING_DORA;
+        setSuzumeState(SuzumeState.WAITING_DORA);
+    }
+
+    /**
+     * 쯔모 화료로 라운드(국)를 종료합니다.
+     * @param winner 화료한 플레이어
+     * @param score 화료 점수
+     */
+    public synchronized void finishRoundByTsumo(Player winner, int score) {
+        this.settlement.recordTsumo(this.playerList, winner, score);
+        finishRound();
     }
 
     /**
-     * 라운드(국) 종료.
+     * 론으로 라운드(국)를 종료합니다.
+     * @param winner 론을 한 플레이어
+     * @param target 론을 당한 플레이어
+     * @param score 론 점수
      */
-    public void finishRound() {
-        // ...        
+    public synchronized void finishRoundByLoan(Player winner, Player target, int score) {
+        this.settlement.recordLoan(this.playerList, winner, target, score);
+        finishRound();
     }
 
     /**
-     * 론을 발동시킵니다. 세션은 <code>LOAN_WAITING_MS</code>ms의 시간 후에
-     * 라운드(국)을 종료시키고, 다음 라운드를 진행시키거나 최종 종료시킵니다.
-     * @apiNote 시간 측정을 위해 별도의 스레드를 생성하고, 콜백으로 세션의
-     * <code>finishRound()</code>메서드를 발동시킵니다.
+     * 라운드(국) 종료. 화료/론이 기록되지 않았으면 유국으로 정산합니다.<p>
+     * 정산을 미루지 않는 경우(<code>settlementDeferred == false</code>) 바로 점수를 주고받고
+     * 라운드와 선 플레이어를 진행하여, 다음 <code>initRound()</code>로 새 라운드를 시작할 수 있는 상태가 됩니다.
      */
-    public void triggerLoan() {
+    public synchronized void finishRound() {
+        // 타이머, 론 대기 정리
+        cancelTimeouts();
+        clearLoan();
+
+        if (!this.settlement.isPending()) {
+            this.settlement.recordDraw();
+        }
+
+        setSuzumeState(SuzumeState.ROUND_FINISHED);
+
+        if (!this.settlementDeferred) {
+            applySettlement();
+        }
+    }
+
+    /**
+     * 미뤄둔 라운드 정산을 적용합니다.
+     * @return true: 적용함 / false: 적용할 정산이 없음
+     */
+    public synchronized boolean settleRound() {
+        return applySettlement();
+    }
+
+    /**
+     * 여러 세션의 미뤄둔 라운드 정산을 한 번에 적용합니다. 세션마다 모니터를 잡고 적용하므로
+     * (경합이 없으면 비용이 작음) 다른 스레드의 액션, 타이머와 섞이지 않습니다.
+     * 정산 자체는 객체를 만들지 않지만, 구독자가 있는 세션은 점수가 바뀐 자리마다 <code>SCORE_CHANGED</code> 델타를 만들어 발행합니다.
+     * @param sessions 대상 세션 (<code>settlementDeferred == true</code>)
+     * @return 정산을 적용한 세션 수
+     */
+    public static int settleRounds(List<SuzumeSession> sessions) {
+        int settledCnt = 0;
+
+        for (int i = 0; i < sessions.size(); ++i) {
+            if (sessions.get(i).settleRound()) {
+                ++settledCnt;
+            }
+        }
+
+        return settledCnt;
+    }
+
+    /**
+     * 기록된 정산의 점수를 모든 플레이어에게 적용하고, 라운드와 선 플레이어를 진행합니다.
+     * 점수가 바뀐 플레이어마다 <code>SCORE_CHANGED</code> 델타를 발행합니다. 세션 모니터를 잡은 채 호출해야 합니다.
+     */
+    private boolean applySettlement() {
+        if (!this.settlement.apply(this.playerList)) {
+            return false;
+        }
+
+        for (int seatIdx = 0; seatIdx < this.seats.length; ++seatIdx) {
+            if (this.settlement.getPayment(seatIdx) != 0) {
+                publishDelta(StateDelta.Type.SCORE_CHANGED, seatIdx, StateDelta.NO_SEAT, 0, this.seats[seatIdx].getScore());
+            }
+        }
+
+        ++this.round;
+        this.roundStartPlayer = this.seats[(this.roundStartPlayer.getSeatIdx() + 1) % this.seats.length];
+        return true;
+    }
+
+    /**
+     * 론을 발동시킵니다. 론 가능한 플레이어는 <code>LOAN_WAITING_MS</code>ms 안에 론을 할 수 있으며,
+     * 아무도 론을 하지 않으면 <code>closeLoanWindow()</code>로 다음 플레이어의 턴이 시작됩니다.
+     * @param targetPlayer 론 대상 패를 버린 플레이어
+     * @param loanTile 론 대상 패
+     * @param loanPlayerBits 론 가능한 플레이어 비트마스크 (플레이어 인덱스 = 비트 위치)
+     * @apiNote 시간 측정은 스레드를 만들지 않고 세션의 타이밍 휠(<code>TimingWheel</code>)에 타이머를
+     * 등록하며, 만료 콜백은 세션 우편함에서 실행됩니다.
+     */
+    public void triggerLoan(Player targetPlayer, Tile loanTile, int loanPlayerBits) {
         synchronized (this) {
             if (this.suzumeState == SuzumeState.WAITING_LOAN) {
                 return;
             }
 
-            this.suzumeState = SuzumeState.WAITING_LOAN;
+            setSuzumeState(SuzumeState.WAITING_LOAN);
+            this.loanTargetPlayer = targetPlayer;
+            this.loanTile = loanTile;
+            this.loanPlayerBits = loanPlayerBits;
+            this.loanTimeout = schedule(LOAN_WAITING_MS, this::closeLoanWindow);
+            this.metrics.gauge(OPEN_LOAN_WINDOWS).increment();
         }
+    }
 
-        
+    /**
+     * 아무도 론을 하지 않은 경우 론 대기를 종료하고 쯔모 대기로 돌아갑니다.
+     */
+    public synchronized void closeLoanWindow() {
+        if (this.suzumeState != SuzumeState.WAITING_LOAN || this.sessionState != SessionState.PLAYING) {
+            return;
+        }
+
+        clearLoan();
+        recordAction(SuzumeJournal.REC_LOAN_CLOSE, 0L, 0L);
+        startTurn();
+    }
+
+    /**
+     * 수행된 액션을 세션 저널에 기록합니다. 저널이 연결되지 않은 세션은 아무 작업도 하지 않습니다.
+     * @param type 레코드 종류 (<code>SuzumeJournal.REC_*</code>)
+     * @param arg0 첫번째 값 (보통 플레이어 인덱스)
+     * @param arg1 두번째 값
+     */
+    public void recordAction(int type, long arg0, long arg1) {
+        if (this.journal != null) {
+            this.journal.writeAction(this.journalSessionNo, type, arg0, arg1);
+        }
+    }
+
+    /**
+     * 게임 상태를 변경합니다. 상태가 바뀐 경우 <code>STATE_CHANGED</code> 델타를 발행하므로 세션 모니터를 잡은 채 호출해야 합니다.
+     * @param suzumeState 새 게임 상태
+     */
+    public void setSuzumeState(SuzumeState suzumeState) {
+        if (this.suzumeState == suzumeState) {
+            return;
+        }
+
+        this.suzumeState = suzumeState;
+
+        if (suzumeState != null) {
+            publishDelta(StateDelta.Type.STATE_CHANGED, StateDelta.NO_SEAT, StateDelta.NO_SEAT, 0, suzumeState.ordinal());
+        }
+    }
+
+    /**
+     * 상태 델타를 구독합니다. 구독자는 이후 발행되는 모든 델타를 자신의 자리에서 볼 수 있는 형태로 받습니다.
+     * @param viewerSeatIdx 구독자의 자리 번호 (관전자는 <code>StateDelta.NO_SEAT</code>,
+     * 가리지 않은 델타를 받을 서버 내부 구독자는 <code>StateDelta.ALL_SEATS</code>)
+     * @param listener 델타를 받을 구독자
+     * @return 구독 당시의 마지막 델타 번호 (이후 델타는 이 번호 + 1부터 시작)
+     */
+    public synchronized long subscribe(int viewerSeatIdx, StateDelta.Listener listener) {
+        Objects.requireNonNull(listener);
+        this.deltaSubscribers.add(new DeltaSubscriber(viewerSeatIdx, listener));
+        return this.deltaSeq;
+    }
+
+    /**
+     * 상태 델타 구독을 해지합니다.
+     * @param listener 해지할 구독자
+     */
+    public void unsubscribe(StateDelta.Listener listener) {
+        this.deltaSubscribers.removeIf(subscriber -> subscriber.listener == listener);
+    }
+
+    /**
+     * 현재 상태를 기준 상태 델타 묶음으로 전달합니다. 라운드 중간에 구독한 플레이어나 관전자가 델타 흐름 전에 받습니다.<p>
+     * <code>RESYNC</code>(값: 이어지는 델타 수) 뒤에 라운드(<code>ROUND_STARTED</code>), 자리별 점수(<code>SCORE_CHANGED</code>),
+     * 손패(<code>HAND_DEALT</code>), 버린 패(<code>TILE_DISCARDED</code>), 도라, 턴 소유자, 게임 상태 델타가 이어지며
+     * 손패는 <code>viewerSeatIdx</code>에 맞게 가립니다. 모든 델타의 번호는 현재의 마지막 델타 번호이므로, 받는 쪽은
+     * 이후 도착하는 이 번호 이하의 델타를 버립니다. 빈틈이 없도록 <code>subscribe()</code> 후에 호출합니다.
+     * @param viewerSeatIdx 받는 쪽의 자리 번호 (관전자는 <code>StateDelta.NO_SEAT</code>)
+     * @param listener 기준 상태를 받을 대상 (세션 모니터를 잡은 채 호출됨)
+     * @return 기준 상태의 델타 번호
+     */
+    public synchronized long resync(int viewerSeatIdx, StateDelta.Listener listener) {
+        final long seq = this.deltaSeq;
+        final List<StateDelta> baseline = new ArrayList<>();
+
+        if (this.roundStartPlayer != null) {
+            baseline.add(new StateDelta(seq, StateDelta.Type.ROUND_STARTED, this.roundStartPlayer.getSeatIdx(), StateDelta.NO_SEAT, 0, this.round));
+        }
+
+        for (Player player : this.seats) {
+            baseline.add(new StateDelta(seq, StateDelta.Type.SCORE_CHANGED, player.getSeatIdx(), StateDelta.NO_SEAT, 0, player.getScore()));
+            baseline.add(new StateDelta(seq, StateDelta.Type.HAND_DEALT, player.getSeatIdx(), StateDelta.NO_SEAT, 0, player.getHandTileBits()));
+
+            for (Tile tile : player.getDiscardTiles()) {
+                baseline.add(new StateDelta(seq, StateDelta.Type.TILE_DISCARDED, player.getSeatIdx(), StateDelta.NO_SEAT, tile.getId(), 0L));
+            }
+        }
+
+        if (this.doraTile != null) {
+            baseline.add(new StateDelta(seq, StateDelta.Type.DORA_SET, this.roundStartPlayer.getSeatIdx(), StateDelta.NO_SEAT, this.doraTile.getId(), 0L));
+        }
+
+        if (this.turnHolder != null) {
+            baseline.add(new StateDelta(seq, StateDelta.Type.TURN_PASSED, this.turnHolder.getSeatIdx(), StateDelta.NO_SEAT, 0, 0L));
+        }
+
+        if (this.suzumeState != null) {
+            baseline.add(new StateDelta(seq, StateDelta.Type.STATE_CHANGED, StateDelta.NO_SEAT, StateDelta.NO_SEAT, 0, this.suzumeState.ordinal()));
+        }
+
+        listener.onDelta(new StateDelta(seq, StateDelta.Type.RESYNC, StateDelta.NO_SEAT, StateDelta.NO_SEAT, 0, baseline.size()));
+        for (StateDelta delta : baseline) {
+            listener.onDelta(delta.forViewer(viewerSeatIdx));
+        }
+
+        return seq;
+    }
+
+    /**
+     * 상태 델타를 발행합니다. 델타 번호는 구독자가 없어도 증가하며, 손패처럼 가려야 하는 값은
+     * 한 번만 가린 후 본인 외의 모든 구독자가 공유합니다.
+     * 리스너는 세션 모니터를 잡은 채 호출된다고 가정하므로, 이 메서드도 세션 모니터를 잡은 채 호출해야 합니다.
+     * 액션의 <code>perform()</code>과 이 세션의 <code>synchronized</code> 메서드는 이미 모니터 안에서 실행됩니다.
+     * @param type 델타 종류
+     * @param seatIdx 자리 번호 (없으면 <code>StateDelta.NO_SEAT</code>)
+     * @param targetSeatIdx 대상 자리 번호 (없으면 <code>StateDelta.NO_SEAT</code>)
+     * @param tileId 패 'id' (없으면 <code>0</code>)
+     * @param value 값
+     */
+    public void publishDelta(StateDelta.Type type, int seatIdx, int targetSeatIdx, int tileId, long value) {
+        final long seq = ++this.deltaSeq;
+
+        if (this.deltaSubscribers.isEmpty()) {
+            return;
+        }
+
+        final StateDelta delta = new StateDelta(seq, type, seatIdx, targetSeatIdx, tileId, value);
+        StateDelta maskedDelta = delta.isPrivate() ? null : delta;
+
+        for (DeltaSubscriber subscriber : this.deltaSubscribers) {
+            final boolean fullView = subscriber.viewerSeatIdx == seatIdx || subscriber.viewerSeatIdx == StateDelta.ALL_SEATS;
+
+            if (maskedDelta == null && !fullView) {
+                maskedDelta = delta.masked();
+            }
+
+            try {
+                subscriber.listener.onDelta(fullView ? delta : maskedDelta);
+            }
+            catch (RuntimeException e) {
+                this.deltaSubscribers.remove(subscriber);
+            }
+        }
+    }
+
+    /**
+     * 세션에 저널을 연결합니다. <code>SuzumeJournal.attach()</code>에서 호출합니다.
+     */
+    void attachJournal(SuzumeJournal journal, int journalSessionNo) {
+        this.journal = journal;
+        this.journalSessionNo = journalSessionNo;
+    }
+
+    /**
+     * 플레이어를 제외한 세션 상태를 스냅샷 버퍼에 기록합니다. <code>SuzumeSnapshot</code>에서 호출합니다.
+     * @param buf 리틀 엔디안 버퍼
+     */
+    synchronized void writeState(ByteBuffer buf) {
+        buf.put((byte) this.tileStockIds.length);
+        for (int tileId : this.tileStockIds) {
+            buf.put((byte) tileId);
+        }
+
+        buf.put((byte) this.tileStockCursor);
+        buf.putInt(this.round);
+        buf.put((byte) (this.doraTile == null ? 0 : this.doraTile.getId()));
+        buf.put((byte) seatOf(this.roundStartPlayer));
+        buf.put((byte) seatOf(this.turnHolder));
+        buf.put((byte) (this.suzumeState == null ? -1 : this.suzumeState.ordinal()));
+        buf.put((byte) seatOf(this.loanTargetPlayer));
+        buf.put((byte) (this.loanTile == null ? 0 : this.loanTile.getId()));
+        buf.put((byte) this.loanPlayerBits);
+        buf.put((byte) (this.lastDrawnTile == null ? 0 : this.lastDrawnTile.getId()));
+        buf.put((byte) (this.loanable ? 1 : 0));
+        buf.putLong(this.turnTimeoutMs);
+        buf.putLong(this.deltaSeq);
+        buf.put((byte) (this.settlementDeferred ? 1 : 0));
+        this.settlement.write(buf);
+    }
+
+    /**
+     * 스냅샷 버퍼에서 세션 상태를 복원합니다. 플레이어의 손패와 버린 패는 이미 복원되어 있어야 합니다.
+     * 론 가능 정보는 손패로부터 다시 계산하며, 진행중이던 론 대기나 턴의 타이머를 새로 등록합니다.
+     * 적용을 기다리던 라운드 정산은 그대로 복원되어 다음 <code>initRound()</code> 또는 <code>settleRounds()</code>에서 적용됩니다.
+     * @param buf 리틀 엔디안 버퍼
+     * @throws IllegalArgumentException 패 더미나 정산이 올바르지 않은 경우.
+     */
+    synchronized void readState(ByteBuffer buf) {
+        final int[] tileStockIds = new int[buf.get()];
+        for (int i = 0; i < tileStockIds.length; ++i) {
+            tileStockIds[i] = buf.get();
+        }
+
+        final int tileStockCursor = buf.get();
+
+        if (tileStockIds.length != this.tileStockIds.length || tileStockCursor < 0 || tileStockCursor > tileStockIds.length) {
+            throw new IllegalArgumentException("Invalid tile stock! (size: " + tileStockIds.length + ", cursor: " + tileStockCursor + ")");
+        }
+
+        System.arraycopy(tileStockIds, 0, this.tileStockIds, 0, tileStockIds.length);
+        this.tileStockCursor = tileStockCursor;
+        this.round = buf.getInt();
+        this.doraTile = tileOrNull(buf.get());
+        this.roundStartPlayer = playerOrNull(buf.get());
+        this.turnHolder = playerOrNull(buf.get());
+
+        final int stateOrdinal = buf.get();
+        this.suzumeState = stateOrdinal < 0 ? null : SuzumeState.values()[stateOrdinal];
+        this.loanTargetPlayer = playerOrNull(buf.get());
+        this.loanTile = tileOrNull(buf.get());
+        this.loanPlayerBits = buf.get() & 0xFF;
+        this.lastDrawnTile = tileOrNull(buf.get());
+        this.loanable = buf.get() != 0;
+        this.turnTimeoutMs = buf.getLong();
+        this.deltaSeq = buf.getLong();
+        this.settlementDeferred = buf.get() != 0;
+        this.settlement.read(buf);
+
+        // 파생 정보 및 타이머 복원
+        cancelTimeouts();
+        Arrays.fill(this.loanablePlayerBits, 0);
+        updateLoanablePlayers();
+
+        if (this.suzumeState == SuzumeState.WAITING_LOAN) {
+            this.loanTimeout = schedule(LOAN_WAITING_MS, this::closeLoanWindow);
+            this.metrics.gauge(OPEN_LOAN_WINDOWS).increment();
+        }
+        else if (this.suzumeState == SuzumeState.WAITING_THUMO || this.suzumeState == SuzumeState.WAITING_DISCARD) {
+            scheduleTurnTimeout();
+        }
+    }
+
+    private Player playerOrNull(int seatIdx) {
+        return seatIdx < 0 ? null : this.seats[seatIdx];
+    }
+
+    private static Tile tileOrNull(int tileId) {
+        return tileId == 0 ? null : Tile.getDefinedTile(tileId);
+    }
+
+    /**
+     * 나눠주기 전의 패 더미 순서를 복사해서 반환합니다.
+     */
+    int[] copyTileStockIds() {
+        return this.tileStockIds.clone();
+    }
+
+    /**
+     * 턴 소유자의 턴을 시작합니다. 쯔모 대기 상태가 되며, 턴 제한 시간 타이머를 등록합니다.
+     * 제한 시간 안에 패를 버리지 않으면 쯔모한 패를 그대로 버립니다(쯔모기리).
+     */
+    public synchronized void startTurn() {
+        // 패 더미가 비었으면 유국
+        if (getTileStockCnt() == 0) {
+            finishRound();
+            return;
+        }
+
+        setSuzumeState(SuzumeState.WAITING_THUMO);
+        scheduleTurnTimeout();
+    }
+
+    /**
+     * 현재 턴 소유자의 턴 제한 시간 타이머를 (다시) 등록합니다.
+     */
+    private void scheduleTurnTimeout() {
+        if (this.turnTimeout != null) {
+            this.turnTimeout.cancel();
+            this.turnTimeout = null;
+        }
+
+        if (this.turnTimeoutMs > 0) {
+            final Player timedPlayer = this.turnHolder;
+            this.turnTimeout = schedule(this.turnTimeoutMs, () -> onTurnTimeout(timedPlayer));
+        }
+    }
+
+    /**
+     * 턴 제한 시간이 지났을 때 호출됩니다. 아직 같은 플레이어의 턴이면 대신 쯔모하고, 쯔모한 패를 버립니다.
+     * @param timedPlayer 타이머를 등록한 시점의 턴 소유자
+     */
+    private synchronized void onTurnTimeout(Player timedPlayer) {
+        if (this.turnHolder != timedPlayer || this.sessionState != SessionState.PLAYING) {
+            return;
+        }
+
+        // 대신 수행하는 액션은 플레이어 활동이 아니므로 활동 시간을 갱신하지 않음 (유휴 세션 정리 대상 유지)
+        if (this.suzumeState == SuzumeState.WAITING_THUMO) {
+            perform(new TsumoAction(this, timedPlayer.getSeatIdx()), false, false);
+        }
+
+        if (this.suzumeState == SuzumeState.WAITING_DISCARD) {
+            Tile discardTile = this.lastDrawnTile;
+
+            if (!timedPlayer.hasTileInHand(discardTile)) {
+                discardTile = timedPlayer.getHandTiles().get(timedPlayer.getHandTileCnt() - 1);
+            }
+
+            perform(new DiscardAndPassTurnAction(this, timedPlayer.getSeatIdx(), discardTile.getId()), false, false);
+        }
+    }
+
+    /**
+     * 세션을 닫습니다. 공유 타이밍 휠에 등록된 론 대기, 턴 제한 시간 타이머를 취소하여
+     * 닫힌 세션이 타이머로 계속 진행되거나 휠에 남아있지 않도록 하며, 이후의 액션은 거절됩니다.
+     * 델타 구독자에게는 <code>onSessionClosed()</code>를 알린 후 모든 구독을 해지합니다.
+     * 저장소에 등록된 세션은 저장소가 닫으며, 시뮬레이터나 저널 복원처럼 세션을 직접 만든 쪽은 다 쓴 후 직접 닫습니다.
+     */
+    @Override
+    public synchronized void closeSession() {
+        cancelTimeouts();
+        clearLoan();
+        super.closeSession();
+
+        for (DeltaSubscriber subscriber : this.deltaSubscribers) {
+            try {
+                subscriber.listener.onSessionClosed();
+            }
+            catch (RuntimeException e) {
+                // 무시
+            }
+        }
+
+        this.deltaSubscribers.clear();
+    }
+
+    /**
+     * 론 대기 및 턴 제한 시간 타이머를 취소합니다.
+     */
+    private void cancelTimeouts() {
+        if (this.loanTimeout != null) {
+            this.loanTimeout.cancel();
+            this.loanTimeout = null;
+        }
+
+        if (this.turnTimeout != null) {
+            this.turnTimeout.cancel();
+            this.turnTimeout = null;
+        }
+    }
+
+    /**
+     * 해당 플레이어가 현재 론 대기중인 패로 론을 할 수 있는지 확인합니다.
+     * @param player 대상 플레이어
+     * @return true: 론 가능 / false: 론 불가
+     */
+    public boolean isLoanablePlayer(Player player) {
+        final int seatIdx = seatOf(player);
+        return seatIdx >= 0 && (this.loanPlayerBits & (1 << seatIdx)) != 0;
+    }
+
+    /**
+     * 플레이어가 패를 버린 후 호출됩니다. 버린 플레이어의 론 가능 정보를 갱신하고,
+     * 버린 패로 론이 가능한 플레이어가 있으면 즉시 론을 발동시킵니다. 턴은 다음 플레이어로 넘어갑니다.
+     * @param discardPlayer 패를 버린 플레이어
+     * @param discardTile 버린 패
+     */
+    public void onTileDiscarded(Player discardPlayer, Tile discardTile) {
+        final int discardPlayerIdx = discardPlayer.getSeatIdx();
+
+        updateLoanablePlayer(discardPlayerIdx);
+        passTurnToNextPlayer();
+
+        final int loanPlayerBits = this.loanablePlayerBits[loanIndexOf(discardTile)] & ~(1 << discardPlayerIdx);
+
+        if (loanPlayerBits != 0) {
+            if (this.turnTimeout != null) {
+                this.turnTimeout.cancel();
+                this.turnTimeout = null;
+            }
+
+            triggerLoan(discardPlayer, discardTile, loanPlayerBits);
+        }
+        else {
+            startTurn();
+        }
+    }
+
+    /**
+     * 모든 플레이어의 론 가능 정보를 갱신합니다. 도라가 바뀐 경우 호출합니다.
+     */
+    public void updateLoanablePlayers() {
+        for (int playerIdx = 0; playerIdx < this.playerList.size(); ++playerIdx) {
+            updateLoanablePlayer(playerIdx);
+        }
+    }
+
+    /**
+     * 플레이어의 론 가능 정보를 갱신합니다.<p>
+     * 손패가 5개이고 도라가 정해진 경우, 대기패 중 후리텐이 아니면서 <code>MIN_HUARYO_SCORE</code>점
+     * 이상이 되는 패에 대해 해당 플레이어의 비트를 설정합니다.
+     * @param playerIdx 플레이어 인덱스
+     */
+    private void updateLoanablePlayer(int playerIdx) {
+        final Player player = this.playerList.get(playerIdx);
+        final int playerBit = 1 << playerIdx;
+
+        for (int i = 0; i < LOAN_INDEX_SIZE; ++i) {
+            this.loanablePlayerBits[i] &= ~playerBit;
+        }
+
+        if (this.doraTile == null) {
+            return;
+        }
+
+        final WaitSet waitSet = player.getWaitSet();
+        final int doraValue = this.doraTile.getValue();
+        final int waitValueBits = waitSet.getWaitValueBits();
+
+        for (int value = 1; value <= Tile.VAL_JUNG; ++value) {
+            if ((waitValueBits & (1 << value)) == 0 || player.hasDiscardedValue(value)) {
+                continue;
+            }
+
+            if (waitSet.getScore(doraValue, value, false) >= MIN_HUARYO_SCORE) {
+                this.loanablePlayerBits[value * 2] |= playerBit;
+            }
+
+            if (waitSet.getScore(doraValue, value, true) >= MIN_HUARYO_SCORE) {
+                this.loanablePlayerBits[value * 2 + 1] |= playerBit;
+            }
+        }
+    }
+
+    /**
+     * 론 인덱스 배열에서 패의 위치를 반환합니다.
+     */
+    private static int loanIndexOf(Tile tile) {
+        final boolean red = tile.getColor() == Tile.Color.RED && tile.getValue() < Tile.VAL_BAL;
+        return tile.getValue() * 2 + (red ? 1 : 0);
+    }
+
+    /**
+     * 론 대기 정보를 정리합니다.
+     */
+    private void clearLoan() {
+        if (this.loanTimeout != null) {
+            this.loanTimeout.cancel();
+            this.loanTimeout = null;
+        }
+
+        if (this.loanTargetPlayer != null) {
+            this.metrics.gauge(OPEN_LOAN_WINDOWS).decrement();
+        }
+
+        this.loanTargetPlayer = null;
+        this.loanTile = null;
+        this.loanPlayerBits = 0;
     }
 
     /**
      * 플레이어 액션을 수행합니다.
      * @param action 플레이어의 액션
      * @return 액션의 결과.
-     * @apiNote 이 메서드는 <code>synchronized</code>로 동작하여 thread-safe를 보장합니다.
+     * @apiNote 이 메서드는 세션 모니터(<code>synchronized</code>)를 잡고 동작하여 thread-safe를 보장합니다.
+     * 호출 스레드를 블록하지 않으려면 <code>submitAction()</code>을 사용합니다.
+     * 수행/거절 횟수와 (표본 추출된) 모니터 대기, 수행 시간은 <code>ActionMetrics</code>에 기록됩니다.
      */
-    public synchronized ActionResult doAction(Action action) {
+    @Override
+    public ActionResult doAction(Action action) {
+        return perform(action, true, true);
+    }
+
+    /**
+     * 플레이어 액션을 수행합니다. 규칙 위반은 예외 대신 거절 결과로 반환하므로, 잘못된 액션의 처리 비용이
+     * 정상 액션과 비슷합니다.
+     * @param action 플레이어의 액션
+     * @return 액션의 결과. 규칙 위반이면 <code>SuzumeActionResult.rejected()</code>
+     */
+    @Override
+    public ActionResult tryAction(Action action) {
+        return perform(action, false, true);
+    }
+
+    /**
+     * 세션 모니터를 잡고 액션을 수행하며 지표를 기록합니다.
+     * @param throwing true: 규칙 위반시 예외 / false: 거절 결과 반환
+     * @param playerAction true: 플레이어의 액션 (활동 시간 갱신) / false: 타이머가 대신 수행하는 액션
+     */
+    private ActionResult perform(Action action, boolean throwing, boolean playerAction) {
         Objects.requireNonNull(action);
-        return action.act();
+
+        final ActionMetrics.ActionStats stats = this.metrics.statsOf(action.getClass());
+        final boolean sampled = this.metrics.shouldSample();
+        final long enterNanos = sampled ? System.nanoTime() : 0L;
+
+        synchronized (this) {
+            final long startNanos = sampled ? System.nanoTime() : 0L;
+
+            // 종료중인 세션은 액션을 받지 않음
+            if (this.sessionState != SessionState.PLAYING) {
+                this.metrics.recordRejection(action.getClass(), RuleCode.SESSION_CLOSED.getMessage());
+
+                if (throwing) {
+                    throw RuleCode.SESSION_CLOSED.exception();
+                }
+
+                return SuzumeActionResult.rejected(RuleCode.SESSION_CLOSED);
+            }
+
+            if (playerAction) {
+                touch();
+            }
+
+            final ActionResult result;
+            try {
+                result = throwing ? action.act() : action.tryAct();
+            }
+            catch (RuleException e) {
+                this.metrics.recordRejection(action.getClass(), e.getMessage());
+                throw e;
+            }
+
+            if (result != null && result.isRejected()) {
+                this.metrics.recordRejection(action.getClass(), result.getRejectMessage());
+            }
+            else {
+                stats.recordExecuted(startNanos - enterNanos, sampled ? System.nanoTime() - startNanos : -1L);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * 세션이 차지하는 대략적인 메모리 크기를 반환합니다.
+     * @return 추정 메모리 크기 (byte)
+     */
+    @Override
+    public long estimateMemoryBytes() {
+        long bytes = super.estimateMemoryBytes() + 64L;                 // 참새작 세션 필드
+        bytes += 16L + 4L * this.tileList.size() + 16L;                  // 패 리스트 (참조 배열)
+        bytes += 16L + 4L * this.tileStockIds.length + 16L;              // 패 더미 + 뷰
+        bytes += 16L + 4L * this.loanablePlayerBits.length;              // 론 인덱스
+        bytes += 16L + 4L * this.playerList.size();                      // 플레이어 리스트
+        bytes += 16L + 4L * this.seats.length;                           // 자리 배열
+        bytes += 48L + 48L * this.seats.length;                          // 아이디 색인
+
+        for (Player player : this.playerList) {
+            bytes += player.estimateMemoryBytes();
+        }
+
+        return bytes;
     }
 
     
@@ -170,14 +931,39 @@ public class SuzumeSession extends Session {
      */
     public Player getPlayerById(String id) {
         Objects.requireNonNull(id);
+        return this.playerById.get(id);
+    }
 
-        for (Player player : this.playerList) {
-            if (player.getId().equals(id)) {
-                return player;
-            }
+    /**
+     * 해당 자리의 플레이어를 반환합니다.
+     * @param seatIdx 자리 번호 (<code>playerList</code>의 인덱스)
+     * @return 해당 자리의 플레이어. 없는 자리면 <code>null</code>
+     */
+    public Player getPlayerBySeat(int seatIdx) {
+        return seatIdx >= 0 && seatIdx < this.seats.length ? this.seats[seatIdx] : null;
+    }
+
+    /**
+     * 플레이어의 자리 번호를 반환합니다.
+     * @param player 대상 플레이어
+     * @return 자리 번호. 이 세션의 플레이어가 아니면 <code>-1</code>
+     */
+    public int seatOf(Player player) {
+        if (player == null) {
+            return -1;
         }
 
-        return null;
+        final int seatIdx = player.getSeatIdx();
+        return seatIdx >= 0 && seatIdx < this.seats.length && this.seats[seatIdx] == player ? seatIdx : -1;
+    }
+
+    /**
+     * 세션 내 해당 id의 플레이어 자리 번호를 반환합니다.
+     * @param id 플레이어 아이디
+     * @return 자리 번호. 없는 플레이어면 <code>-1</code>
+     */
+    public int seatOf(String id) {
+        return seatOf(getPlayerById(id));
     }
 
     /**
@@ -187,32 +973,41 @@ public class SuzumeSession extends Session {
      */
     public Tile getTileById(String id) {
         Objects.requireNonNull(id);
-        
-        final int tileId = Integer.valueOf(id);
-
-        for (Tile tile : this.tileList) {
-            if (tileId == tile.getId()) {
-                return tile;
-            }
-        }
+        return getTileById(Integer.parseInt(id));
+    }
 
-        return null;
+    /**
+     * 세션 내 해당 id의 패를 반환합니다.
+     * @param id 패 아이디
+     * @return 해당 id를 가진 패를 반환. 없는 패면 <code>null</code>
+     */
+    public Tile getTileById(int id) {
+        return id >= 1 && id <= this.tileList.size() ? this.tileList.get(id - 1) : null;
     }
 
     /**
      * 더미로부터 무작위 타일을 획득합니다.
-     * @return <code>tileStock</code>에서 획득한 무작위 타일
+     * @return <code>tileStock</code>에서 획득한 무작위 타일. 더미가 비었으면 <code>null</code>
+     * @apiNote 더미는 <code>initRound()</code>에서 이미 섞였으므로 다음 위치의 패를 반환합니다.
      */
     public Tile pickRandomTileFromStock() {
-        if (this.tileStock.size() == 0) {
+        if (this.tileStockCursor == this.tileStockIds.length) {
             return null;
         }
 
-        return this.tileStock.remove(random.nextInt(this.tileStock.size()));
+        return Tile.getDefinedTile(this.tileStockIds[this.tileStockCursor++]);
     }
 
     /**
-     * 다음 플레이어로 턴을 넘깁니다.
+     * 더미에 남은 패의 개수를 반환합니다.
+     * @return 남은 패의 개수
+     */
+    public int getTileStockCnt() {
+        return this.tileStockIds.length - this.tileStockCursor;
+    }
+
+    /**
+     * 다음 플레이어로 턴을 넘깁니다. <code>TURN_PASSED</code> 델타를 발행하므로 세션 모니터를 잡은 채 호출해야 합니다.
      * @apiNote <code>turnHolder</code>가 <code>null</code>일 경우, <code>firstPlayer</code>가 턴 소유자가 됩니다.
      */
     public void passTurnToNextPlayer() {
@@ -220,17 +1015,10 @@ public class SuzumeSession extends Session {
             this.turnHolder = this.roundStartPlayer;
         }
         else {
-            int playerIdx = 0;
-            for (Player player : this.playerList) {
-                if (this.turnHolder == player) {
-                    break;
-                }
-
-                ++playerIdx;
-            }
-
-            this.turnHolder = this.playerList.get((playerIdx + 1) % this.playerList.size());
+            this.turnHolder = this.seats[(this.turnHolder.getSeatIdx() + 1) % this.seats.length];
         }
+
+        publishDelta(StateDelta.Type.TURN_PASSED, this.turnHolder.getSeatIdx(), StateDelta.NO_SEAT, 0, 0L);
     }
 
     /**
@@ -252,4 +1040,38 @@ public class SuzumeSession extends Session {
 
         return sb.toString();
     }
+
+    /**
+     * 델타 구독 정보.
+     */
+    private static final class DeltaSubscriber {
+
+        private final int viewerSeatIdx;
+        private final StateDelta.Listener listener;
+
+        private DeltaSubscriber(int viewerSeatIdx, StateDelta.Listener listener) {
+            this.viewerSeatIdx = viewerSeatIdx;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * 패 더미의 읽기 전용 리스트 뷰. 남은 패를 뽑힐 순서대로 조회합니다.
+     */
+    private final class TileStockView extends AbstractList<Tile> {
+
+        @Override
+        public Tile get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            return Tile.getDefinedTile(tileStockIds[tileStockCursor + index]);
+        }
+
+        @Override
+        public int size() {
+            return getTileStockCnt();
+        }
+    }
 }
\ No newline at end of file
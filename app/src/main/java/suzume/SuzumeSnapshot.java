@@ -0,0 +1,203 @@
+package suzume;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import bgame.SessionRandom;
+import bgame.TimingWheel;
+import bgame.XoshiroRandom;
+
+/**
+ * 참새작 세션 스냅샷.<p>
+ * 세션을 재시작하거나 다른 노드로 옮길 수 있도록 진행중인 세션 전체(플레이어, 점수, 손패, 버린 패, 패 더미 순서,
+ * 도라, 선 플레이어, 턴 소유자, 라운드, 게임 상태, 론 대기 정보, 적용 대기중인 라운드 정산, 난수 생성기 상태)를 작은 바이너리로 기록하고
+ * 다시 살아있는 세션으로 복원합니다. 손패는 패 'id' 비트셋, 패는 1바이트 'id'로 기록하므로
+ * 3인 세션 기준 200바이트 남짓이며, 기록/복원 모두 호출자의 버퍼를 사용합니다.<p>
+ * 구조 (리틀 엔디안): <code>[int 매직][세션 ID][난수 생성기][플레이어...][세션 상태]</code>.
+ * 저널 연결은 스냅샷에 포함되지 않습니다.
+ */
+public final class SuzumeSnapshot {
+
+    // 상수
+    public static final int MAGIC = 0x535A5332;     // "SZS2" (라운드 정산 포함)
+    private static final byte RANDOM_XOSHIRO = 0;   // 상태를 복원할 수 있는 xoshiro256**
+    private static final byte RANDOM_OTHER = 1;     // 상태를 복원할 수 없는 난수 생성기 (복원시 SessionRandom.secure())
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    // 생성자
+    private SuzumeSnapshot() {}
+
+    /**
+     * 세션 스냅샷을 버퍼의 현재 위치에 기록합니다.
+     * @param session 대상 세션
+     * @param buf 기록할 버퍼 (리틀 엔디안으로 변경됨)
+     * @throws BufferOverflowException 버퍼의 남은 공간이 부족한 경우. 버퍼의 위치는 정의되지 않습니다.
+     */
+    public static void write(SuzumeSession session, ByteBuffer buf) {
+        Objects.requireNonNull(session);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+
+        synchronized (session) {
+            buf.putInt(MAGIC);
+            putString(buf, session.getSessionId());
+
+            // 난수 생성기
+            final SessionRandom random = session.getRandom();
+            if (random instanceof XoshiroRandom) {
+                final long[] state = new long[XoshiroRandom.STATE_SIZE];
+                ((XoshiroRandom) random).getState(state);
+
+                buf.put(RANDOM_XOSHIRO);
+                buf.putLong(random.getSeed());
+                for (long s : state) {
+                    buf.putLong(s);
+                }
+            }
+            else {
+                buf.put(RANDOM_OTHER);
+            }
+
+            // 플레이어
+            final List<Player> playerList = session.getPlayerList();
+            buf.put((byte) playerList.size());
+
+            for (Player player : playerList) {
+                putString(buf, player.getId());
+                putString(buf, player.getName());
+                buf.putInt(player.getScore());
+                buf.putLong(player.getHandTileBits());
+                buf.put((byte) player.getDiscardTileCnt());
+
+                for (Tile tile : player.getDiscardTiles()) {
+                    buf.put((byte) tile.getId());
+                }
+            }
+
+            // 세션 상태
+            session.writeState(buf);
+        }
+    }
+
+    /**
+     * 세션 스냅샷을 바이트 배열로 반환합니다.
+     * @param session 대상 세션
+     * @return 스냅샷
+     */
+    public static byte[] toBytes(SuzumeSession session) {
+        for (int size = INITIAL_BUFFER_SIZE; ; size *= 2) {
+            final ByteBuffer buf = ByteBuffer.allocate(size);
+
+            try {
+                write(session, buf);
+            }
+            catch (BufferOverflowException e) {
+                continue;
+            }
+
+            final byte[] snapshot = new byte[buf.position()];
+            System.arraycopy(buf.array(), 0, snapshot, 0, snapshot.length);
+            return snapshot;
+        }
+    }
+
+    /**
+     * 버퍼의 현재 위치에서 스냅샷을 읽어 세션을 복원합니다. 진행중이던 턴이나 론 대기의 타이머는
+     * 복원 시점부터 새로 시작합니다.
+     * @param buf 스냅샷이 담긴 버퍼 (리틀 엔디안으로 변경됨)
+     * @param timingWheel 복원된 세션이 사용할 타이밍 휠 (<code>null</code>이면 타이머 미사용)
+     * @return 복원된 세션
+     * @throws IllegalArgumentException 스냅샷 형식이 올바르지 않은 경우.
+     */
+    public static SuzumeSession read(ByteBuffer buf, TimingWheel timingWheel) {
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+
+        final int magic = buf.getInt();
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException("Invalid snapshot! (magic: " + Integer.toHexString(magic) + ")");
+        }
+
+        final String sessionId = getString(buf);
+
+        // 난수 생성기
+        final SessionRandom random;
+        final byte randomType = buf.get();
+
+        if (randomType == RANDOM_XOSHIRO) {
+            final XoshiroRandom xoshiro = new XoshiroRandom(buf.getLong());
+            final long[] state = new long[XoshiroRandom.STATE_SIZE];
+
+            for (int i = 0; i < state.length; ++i) {
+                state[i] = buf.getLong();
+            }
+
+            xoshiro.setState(state);
+            random = xoshiro;
+        }
+        else if (randomType == RANDOM_OTHER) {
+            random = SessionRandom.secure();
+        }
+        else {
+            throw new IllegalArgumentException("Invalid snapshot random type! (randomType: " + randomType + ")");
+        }
+
+        // 플레이어
+        final int playerCnt = buf.get();
+        final List<Player> playerList = new ArrayList<>(playerCnt);
+
+        for (int i = 0; i < playerCnt; ++i) {
+            final Player player = Player.of(getString(buf), getString(buf));
+            player.setScore(buf.getInt());
+
+            for (long handTileBits = buf.getLong(); handTileBits != 0; handTileBits &= handTileBits - 1) {
+                player.addTileToHand(Tile.getDefinedTile(Long.numberOfTrailingZeros(handTileBits) + 1));
+            }
+
+            for (int discardTileCnt = buf.get(); discardTileCnt > 0; --discardTileCnt) {
+                player.addTileToDiscard(Tile.getDefinedTile(buf.get()));
+            }
+
+            playerList.add(player);
+        }
+
+        // 세션 상태
+        final SuzumeSession session = SuzumeSession.openSession(sessionId, playerList, random);
+        session.setTimingWheel(timingWheel);
+        session.readState(buf);
+        return session;
+    }
+
+    /**
+     * 버퍼의 현재 위치에서 스냅샷을 읽어 세션을 복원합니다. 공유 타이밍 휠(<code>TimingWheel.shared()</code>)을 사용합니다.
+     * @param buf 스냅샷이 담긴 버퍼
+     * @return 복원된 세션
+     */
+    public static SuzumeSession read(ByteBuffer buf) {
+        return read(buf, TimingWheel.shared());
+    }
+
+    /**
+     * 바이트 배열의 스냅샷으로 세션을 복원합니다.
+     * @param snapshot 스냅샷
+     * @return 복원된 세션
+     */
+    public static SuzumeSession fromBytes(byte[] snapshot) {
+        return read(ByteBuffer.wrap(snapshot));
+    }
+
+    private static void putString(ByteBuffer buf, String str) {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        buf.putShort((short) bytes.length);
+        buf.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        final byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
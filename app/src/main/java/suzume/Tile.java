@@ -84,6 +84,16 @@ public class Tile implements Comparable<Tile> {
         return tileList;
     }
 
+    /**
+     * 해당 id의 정의된 타일을 반환합니다.
+     * @param id 패 아이디 (<code>1</code> ~ <code>getDefinedTileList().size()</code>)
+     * @return 클래스 초기화시 생성된 타일
+     * @throws IndexOutOfBoundsException 정의되지 않은 id인 경우.
+     */
+    public static Tile getDefinedTile(int id) {
+        return tileList.get(id - 1);
+    }
+
     /**
      * 'id'값의 대소를 비교합니다. 비교 대상이 더 작은 경우 음수를,
      * 같은 경우 0을, 큰 경우 양수를 반환합니다.
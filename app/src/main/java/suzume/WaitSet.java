@@ -0,0 +1,190 @@
+package suzume;
+
+/**
+ * 5개 손패의 대기패(텐파이) 정보.<p>
+ * 손패에 패 하나를 더했을 때 몸통 두 개가 완성되는 숫자값과, 그 때의 점수를 담습니다.
+ * 점수는 도라를 제외한 테이블 값으로 저장하므로 도라가 바뀌어도 다시 계산할 필요가 없으며,
+ * 같은 손패에 대해 <code>update()</code>를 반복 호출하면 아무 작업도 하지 않습니다.<p>
+ * 테이블 값은 더한 패 하나가 아니라 6개 손패 전체로 정해지므로 손패가 바뀌면 모든 숫자값이 달라질 수 있습니다.
+ * 대신 더한 패가 손패의 패와 몸통을 이룰 수 있는 숫자값(같은 패 2개 이상, 또는 1~9에서 이웃한 두 패가 있음)만
+ * 테이블을 조회하고, 마지막으로 계산한 5개 손패를 쯔모 직후의 6개 손패 동안에도 남겨두어
+ * 쯔모한 패를 그대로 버린 경우에는 다시 계산하지 않습니다.
+ */
+public final class WaitSet {
+
+    // 상수
+    public static final int HAND_SIZE = HuaryoScoreTable.HAND_SIZE - 1; // 대기 손패 개수
+    private static final long NOT_COMPUTED = -1L;
+    private static final int NUMBER_VALUE_BITS = ((1 << Tile.VAL_BAL) - 1) & ~1; // 연속패가 되는 숫자값(1~9) 비트마스크
+
+    // 필드
+    private long handKey;           // 마지막으로 갱신한 손패의 handKey
+    private int waitValueBits;      // 대기 숫자값 비트마스크 (숫자값 = 비트 위치)
+    private long computedHandKey;   // 대기패를 계산한 5개 손패의 handKey
+    private int computedWaitValueBits; // computedHandKey의 대기 숫자값 비트마스크
+    private final byte[] plainEntries; // [숫자값] 일반패로 완성시 테이블 값
+    private final byte[] redEntries;   // [숫자값] 적색패로 완성시 테이블 값
+
+    // 생성자
+    public WaitSet() {
+        this.handKey = NOT_COMPUTED;
+        this.waitValueBits = 0;
+        this.computedHandKey = NOT_COMPUTED;
+        this.computedWaitValueBits = 0;
+        this.plainEntries = new byte[HuaryoScoreTable.VALUE_CNT + 1];
+        this.redEntries = new byte[HuaryoScoreTable.VALUE_CNT + 1];
+    }
+
+    /**
+     * 손패의 대기패 정보를 갱신합니다. 직전에 계산한 손패와 같으면 아무 작업도 하지 않습니다.
+     * @param handKey 대상 손패의 <code>handKey</code>
+     * @apiNote 손패가 5개가 아니면 대기패가 없는 것으로 취급합니다.
+     */
+    public void update(long handKey) {
+        if (this.handKey == handKey) {
+            return;
+        }
+
+        this.handKey = handKey;
+        this.waitValueBits = 0;
+
+        if (HuaryoScoreTable.tileCntOf(handKey) != HAND_SIZE) {
+            return;
+        }
+
+        if (handKey != this.computedHandKey) {
+            compute(handKey);
+        }
+
+        this.waitValueBits = this.computedWaitValueBits;
+    }
+
+    /**
+     * 5개 손패의 대기패를 계산합니다. 몸통을 이룰 수 없는 숫자값은 테이블을 조회하지 않으며,
+     * 대기패가 아닌 숫자값의 테이블 값은 읽지 않으므로 지우지 않습니다.
+     */
+    private void compute(long handKey) {
+        int presentBits = 0;
+        int pairBits = 0;
+
+        for (int value = 1; value <= HuaryoScoreTable.VALUE_CNT; ++value) {
+            final int cnt = HuaryoScoreTable.countOf(handKey, value);
+
+            if (cnt > 0) {
+                presentBits |= 1 << value;
+            }
+
+            if (cnt >= 2) {
+                pairBits |= 1 << value;
+            }
+        }
+
+        // 동일패: 같은 패 2개 / 연속패: (v+1, v+2), (v-1, v+1), (v-2, v-1) 중 하나
+        final int numberBits = presentBits & NUMBER_VALUE_BITS;
+        final int runBits = (numberBits >>> 1 & numberBits >>> 2) | (numberBits << 1 & numberBits >>> 1) | (numberBits << 1 & numberBits << 2);
+        int candidateBits = pairBits | (runBits & NUMBER_VALUE_BITS);
+
+        this.computedHandKey = handKey;
+        this.computedWaitValueBits = 0;
+
+        for (; candidateBits != 0; candidateBits &= candidateBits - 1) {
+            final int value = Integer.numberOfTrailingZeros(candidateBits);
+            final boolean hasRedVariant = value < Tile.VAL_BAL; // 적색패는 1~9에만 존재
+            final int redCnt = HuaryoScoreTable.hasRedOf(handKey, value) ? 1 : 0;
+            final int plainCnt = HuaryoScoreTable.countOf(handKey, value) - redCnt;
+            final int plainMax = hasRedVariant ? 3 : 4;
+            int plainEntry = 0;
+            int redEntry = 0;
+
+            if (plainCnt < plainMax) {
+                plainEntry = HuaryoScoreTable.getEntry(handKey + HuaryoScoreTable.keyOf(value, false));
+            }
+
+            if (hasRedVariant && redCnt == 0) {
+                redEntry = HuaryoScoreTable.getEntry(handKey + HuaryoScoreTable.keyOf(value, true));
+            }
+
+            this.plainEntries[value] = (byte) plainEntry;
+            this.redEntries[value] = (byte) redEntry;
+
+            if (plainEntry != 0 || redEntry != 0) {
+                this.computedWaitValueBits |= 1 << value;
+            }
+        }
+    }
+
+    /**
+     * 대기 숫자값 비트마스크를 반환합니다.
+     * @return 숫자값을 비트 위치로 하는 비트마스크. 대기패가 없으면 <code>0</code>
+     */
+    public int getWaitValueBits() {
+        return this.waitValueBits;
+    }
+
+    /**
+     * 텐파이(대기패가 하나 이상 있는 상태) 여부를 확인합니다.
+     * @return true: 텐파이 / false: 노텐
+     */
+    public boolean isTenpai() {
+        return this.waitValueBits != 0;
+    }
+
+    /**
+     * 해당 숫자값이 대기패인지 확인합니다.
+     * @param value 패 숫자값
+     * @return true: 대기패 / false: 대기패 아님
+     */
+    public boolean isWaitingOn(int value) {
+        return (this.waitValueBits & (1 << value)) != 0;
+    }
+
+    /**
+     * 해당 패로 화료했을 때의 점수를 반환합니다.
+     * @param doraValue 도라 패의 숫자값
+     * @param value 화료 패의 숫자값
+     * @param red true: 1~9의 적색패 / false: 일반패
+     * @return 화료 점수. 대기패가 아니면 <code>0</code>
+     */
+    public int getScore(int doraValue, int value, boolean red) {
+        if (!isWaitingOn(value)) {
+            return 0;
+        }
+
+        final int entry = (red ? this.redEntries[value] : this.plainEntries[value]) & 0xFF;
+        return HuaryoScoreTable.scoreOf(entry, doraValue, this.handKey + HuaryoScoreTable.keyOf(value, red));
+    }
+
+    /**
+     * 해당 패로 화료했을 때의 점수를 반환합니다.
+     * @param doraTile 도라 패
+     * @param winTile 화료 패
+     * @return 화료 점수. 대기패가 아니면 <code>0</code>
+     */
+    public int getScore(Tile doraTile, Tile winTile) {
+        final boolean red = winTile.getColor() == Tile.Color.RED && winTile.getValue() < Tile.VAL_BAL;
+        return getScore(doraTile.getValue(), winTile.getValue(), red);
+    }
+
+    /**
+     * 대기패 정보를 문자열로 출력합니다.
+     * @return <code>{'waitValues'}</code>를 문자열로 변환
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("{waitValues:[");
+        for (int value = 1; value <= HuaryoScoreTable.VALUE_CNT; ++value) {
+            if (isWaitingOn(value)) {
+                if (sb.charAt(sb.length() - 1) != '[') {
+                    sb.append(",");
+                }
+
+                sb.append(value);
+            }
+        }
+        sb.append("]}");
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package suzume;
+
+/**
+ * 화료 손패를 구성하는 역(보너스). 순서값이 <code>HuaryoScoreTable.getYakuBits()</code> 비트마스크의 비트 위치입니다.
+ */
+public enum Yaku {
+
+    ALL_GREEN("올 그린"),     // 역만: 모든 패가 녹색패
+    CHIN_YAO("칭야오"),       // 역만: 모든 패가 1/9/발/중
+    SUPER_RED("슈퍼 레드"),   // 역만: 모든 패가 적색패
+    TANG_YAO("탕야오"),       // 모든 패가 2~8
+    CHANTA("챤타"),           // 두 몸통 모두 1/9/발/중 포함
+    RED("적색패"),            // 적색패 포함
+    DORA("도라");             // 도라 패 포함
+
+    // 상수
+    private static final Yaku[] VALUES = values();
+
+    // 필드
+    private final String name;
+
+    // 생성자
+    private Yaku(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * 비트마스크에서 이 역의 비트를 반환합니다.
+     * @return <code>1 &lt;&lt; ordinal()</code>
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * 역만 여부를 반환합니다.
+     * @return true: 역만 / false: 보너스
+     */
+    public boolean isYakuman() {
+        return this == ALL_GREEN || this == CHIN_YAO || this == SUPER_RED;
+    }
+
+    /**
+     * 순서값으로 역을 반환합니다.
+     * @param ordinal 순서값 (비트 위치)
+     * @return 해당 역
+     */
+    public static Yaku of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -7,18 +7,37 @@ import org.slf4j.LoggerFactory;
 
 import bgame.Action;
 import bgame.ActionResult;
+import suzume.ActionEventLog;
+import suzume.Player;
+import suzume.RuleCode;
+import suzume.RuleException;
+import suzume.SuzumeActionResult;
 import suzume.SuzumeSession;
+import suzume.Tile;
 
 public abstract class AbstractAction implements Action {
 
     // 로거
     protected static final Logger logger = LoggerFactory.getLogger(AbstractAction.class);
 
+    // 액션 이벤트 로그 (로거로 비동기 출력)
+    protected static final ActionEventLog eventLog = new ActionEventLog(ActionEventLog.DEFAULT_CAPACITY, ActionEventLog.slf4jSink(logger));
+
     // 필드
     protected final SuzumeSession session;
 
     // 추상 메서드
-    public abstract ActionResult act();
+    /**
+     * 현재 세션 상태에서 액션을 수행할 수 있는지 검사합니다. 세션 상태를 바꾸지 않습니다.
+     * @return 규칙 위반 코드. 수행 가능하면 <code>null</code>
+     */
+    public abstract RuleCode validate();
+
+    /**
+     * 검사를 통과한 액션을 세션에 적용합니다.
+     * @return 액션의 결과
+     */
+    protected abstract ActionResult apply();
 
     /**
      * 내부 생성자.
@@ -27,4 +46,53 @@ public abstract class AbstractAction implements Action {
     protected AbstractAction(SuzumeSession session) {
         Objects.requireNonNull(this.session = session);
     }
+
+    /**
+     * 액션을 검사 후 수행합니다.
+     * @return 액션의 결과
+     * @throws RuleException 규칙에 맞지 않는 액션인 경우. (스택 트레이스 없는 공유 인스턴스)
+     */
+    @Override
+    public final ActionResult act() {
+        final RuleCode ruleCode = validate();
+
+        if (ruleCode != null) {
+            throw ruleCode.exception();
+        }
+
+        return apply();
+    }
+
+    /**
+     * 액션을 검사 후 수행합니다. 규칙에 맞지 않으면 예외 대신 거절 결과를 반환합니다.
+     * @return 액션의 결과 또는 <code>SuzumeActionResult.rejected()</code>
+     */
+    @Override
+    public final ActionResult tryAct() {
+        final RuleCode ruleCode = validate();
+        return ruleCode != null ? SuzumeActionResult.rejected(ruleCode) : apply();
+    }
+
+    /**
+     * 수행된 액션을 세션 저널에 기록합니다.
+     * @param type 레코드 종류 (<code>SuzumeJournal.REC_*</code>)
+     * @param actPlayer 액션을 수행한 플레이어
+     * @param arg 액션 결과 값
+     */
+    protected void record(int type, Player actPlayer, long arg) {
+        session.recordAction(type, actPlayer.getSeatIdx(), arg);
+    }
+
+    /**
+     * 수행된 액션의 이벤트를 로그로 남깁니다.
+     * @param action 액션 이름
+     * @param actPlayer 액션을 수행한 플레이어
+     * @param targetPlayer 대상 플레이어 (없으면 <code>null</code>)
+     * @param tile 대상 패 (없으면 <code>null</code>)
+     * @param score 점수 (없으면 <code>ActionEventLog.NONE</code>)
+     */
+    protected void emit(String action, Player actPlayer, Player targetPlayer, Tile tile, int score) {
+        eventLog.emit(action, session.getSessionId(), actPlayer.getId(), targetPlayer == null ? null : targetPlayer.getId(),
+                      tile == null ? ActionEventLog.NONE : tile.getId(), score);
+    }
 }
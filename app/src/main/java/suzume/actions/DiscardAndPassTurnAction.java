@@ -1,13 +1,17 @@
 package suzume.actions;
 
-import java.util.List;
 import java.util.Objects;
 
 import bgame.ActionResult;
+import suzume.ActionEventLog;
 import suzume.Player;
-import suzume.RuleException;
+import suzume.RuleCode;
+import suzume.StateDelta;
+import suzume.SuzumeActionResult;
+import suzume.SuzumeJournal;
 import suzume.SuzumeSession;
 import suzume.Tile;
+import suzume.SuzumeSession.SuzumeState;
 
 public class DiscardAndPassTurnAction extends AbstractAction {
 
@@ -21,31 +25,57 @@ public class DiscardAndPassTurnAction extends AbstractAction {
      * @param discardTileId 버려질 패의 아이디
      */
     public DiscardAndPassTurnAction(SuzumeSession session, String actPlayerId, String discardTileId) {
+        this(session, session.seatOf(actPlayerId), Integer.parseInt(discardTileId));
+    }
+
+    /**
+     * 생성자.
+     * @param session 게임 세션
+     * @param actSeatIdx 액션을 수행하는 플레이어 자리 번호
+     * @param discardTileId 버려질 패의 아이디
+     */
+    public DiscardAndPassTurnAction(SuzumeSession session, int actSeatIdx, int discardTileId) {
         super(session);
-        Objects.requireNonNull(this.actPlayer = session.getPlayerById(actPlayerId));
+        Objects.requireNonNull(this.actPlayer = session.getPlayerBySeat(actSeatIdx));
         Objects.requireNonNull(this.discardTile = session.getTileById(discardTileId));
     }
 
     /**
-     * 선택한 패를 버리고 턴을 넘깁니다.
+     * 패를 버릴 수 있는지 검사합니다.
      */
-    public ActionResult act() {
-        final List<Tile> turnHolderHand = this.actPlayer.getHandTiles();
+    @Override
+    public RuleCode validate() {
+        if (session.getSuzumeState() != SuzumeState.WAITING_DISCARD) {
+            return RuleCode.NOT_NOW;
+        }
 
         if (session.getTurnHolder() != this.actPlayer) {
-            throw RuleException.of("당신의 턴이 아닙니다.");
+            return RuleCode.NOT_YOUR_TURN;
         }
 
-        if (turnHolderHand.size() != 6) {
-            throw RuleException.of("손패가 6개가 아닙니다.");
+        if (actPlayer.getHandTileCnt() != 6) {
+            return RuleCode.HAND_NOT_SIX;
         }
 
-        turnHolderHand.remove(discardTile);
-        actPlayer.addTileToDiscard(discardTile);
-        session.passTurnToNextPlayer();
+        if (!actPlayer.hasTileInHand(discardTile)) {
+            return RuleCode.TILE_NOT_IN_HAND;
+        }
 
-        logger.info("{action:\"DiscardAndPassTurnAction\",session:\"" + session.getSessionId() +
-                    "\",actPlayer:\"" + actPlayer.getId() + "\"discardTile:\"" + discardTile.getId() + "\"}");
         return null;
     }
+
+    /**
+     * 선택한 패를 버리고 턴을 넘깁니다.
+     */
+    @Override
+    protected ActionResult apply() {
+        actPlayer.removeTileFromHand(discardTile);
+        actPlayer.addTileToDiscard(discardTile);
+        record(SuzumeJournal.REC_DISCARD, actPlayer, discardTile.getId());
+        session.publishDelta(StateDelta.Type.TILE_DISCARDED, actPlayer.getSeatIdx(), StateDelta.NO_SEAT, discardTile.getId(), 0L);
+        session.onTileDiscarded(actPlayer, discardTile);
+
+        emit("DiscardAndPassTurnAction", actPlayer, null, discardTile, ActionEventLog.NONE);
+        return SuzumeActionResult.ACCEPTED;
+    }
 }
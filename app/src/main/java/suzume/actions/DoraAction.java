@@ -3,9 +3,14 @@ package suzume.actions;
 import java.util.Objects;
 
 import bgame.ActionResult;
+import suzume.ActionEventLog;
 import suzume.Player;
-import suzume.RuleException;
+import suzume.RuleCode;
+import suzume.StateDelta;
+import suzume.SuzumeActionResult;
+import suzume.SuzumeJournal;
 import suzume.SuzumeSession;
+import suzume.SuzumeSession.SuzumeState;
 
 public class DoraAction extends AbstractAction {
 
@@ -17,25 +22,51 @@ public class DoraAction extends AbstractAction {
      * @param actPlayerId 액션을 수행하는 플레이어 아이디
      */
     public DoraAction(SuzumeSession session, String actPlayerId) {
+        this(session, session.seatOf(actPlayerId));
+    }
+
+    /**
+     * 생성자.
+     * @param session 게임 세션
+     * @param actSeatIdx 액션을 수행하는 플레이어 자리 번호
+     */
+    public DoraAction(SuzumeSession session, int actSeatIdx) {
         super(session);
-        Objects.requireNonNull(this.actPlayer = session.getPlayerById(actPlayerId));
+        Objects.requireNonNull(this.actPlayer = session.getPlayerBySeat(actSeatIdx));
     }
 
     /**
-     * 도라(보너스패 선정)를 수행합니다.
+     * 도라를 선정할 수 있는지 검사합니다.
      */
-    public ActionResult act() {
+    @Override
+    public RuleCode validate() {
+        if (session.getSuzumeState() != SuzumeState.WAITING_DORA) {
+            return RuleCode.NOT_NOW;
+        }
+
         if (actPlayer != session.getRoundStartPlayer()) {
-            throw RuleException.of("선 플레이어가 아닙니다.");
+            return RuleCode.NOT_ROUND_START_PLAYER;
         }
 
         if (session.getDoraTile() != null) {
-            throw RuleException.of("이미 도라 타일이 선정되었습니다.");
+            return RuleCode.DORA_ALREADY_SELECTED;
         }
 
+        return null;
+    }
+
+    /**
+     * 도라(보너스패 선정)를 수행합니다.
+     */
+    @Override
+    protected ActionResult apply() {
         session.setDoraTile(session.pickRandomTileFromStock());
+        session.publishDelta(StateDelta.Type.DORA_SET, actPlayer.getSeatIdx(), StateDelta.NO_SEAT, session.getDoraTile().getId(), 0L);
+        session.updateLoanablePlayers();
+        session.startTurn();
+        record(SuzumeJournal.REC_DORA, actPlayer, session.getDoraTile().getId());
 
-        logger.info("{action:\"DoraAction\",session:\"" + session.getSessionId() + "\",actPlayer:\"" + actPlayer.getId() + "\"}");
-        return null;
+        emit("DoraAction", actPlayer, null, session.getDoraTile(), ActionEventLog.NONE);
+        return SuzumeActionResult.ACCEPTED;
     }
 }
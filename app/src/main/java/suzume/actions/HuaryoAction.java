@@ -1,19 +1,21 @@
 package suzume.actions;
 
-import java.util.List;
 import java.util.Objects;
 
 import bgame.ActionResult;
 import suzume.Player;
-import suzume.RuleException;
+import suzume.RuleCode;
+import suzume.StateDelta;
+import suzume.SuzumeActionResult;
+import suzume.SuzumeJournal;
 import suzume.SuzumeSession;
 import suzume.SuzumeUtil;
-import suzume.Tile;
 import suzume.SuzumeSession.SuzumeState;
 
 public class HuaryoAction extends AbstractAction {
 
     private final Player actPlayer;
+    private int score;  // validate()에서 계산한 화료 점수
 
     /**
      * 생성자.
@@ -21,36 +23,54 @@ public class HuaryoAction extends AbstractAction {
      * @param actPlayerId 액션을 수행하는 플레이어 아이디
      */
     public HuaryoAction(SuzumeSession session, String actPlayerId) {
+        this(session, session.seatOf(actPlayerId));
+    }
+
+    /**
+     * 생성자.
+     * @param session 게임 세션
+     * @param actSeatIdx 액션을 수행하는 플레이어 자리 번호
+     */
+    public HuaryoAction(SuzumeSession session, int actSeatIdx) {
         super(session);
-        Objects.requireNonNull(this.actPlayer = session.getPlayerById(actPlayerId));
+        Objects.requireNonNull(this.actPlayer = session.getPlayerBySeat(actSeatIdx));
     }
 
     /**
-     * 화료(점수 내기)를 수행합니다.
+     * 화료할 수 있는지 검사합니다.
      */
-    public ActionResult act() {
+    @Override
+    public RuleCode validate() {
         if (session.getSuzumeState() != SuzumeState.WAITING_DISCARD) {
-            throw RuleException.of("지금 수행할 수 없습니다.");
+            return RuleCode.NOT_NOW;
         }
 
-        final Player turnHolder = session.getTurnHolder();
-        final List<Tile> turnHolderHand = turnHolder.getHandTiles();
-
-        if (turnHolder != actPlayer) {
-            throw RuleException.of("당신의 턴이 아닙니다.");
+        if (session.getTurnHolder() != actPlayer) {
+            return RuleCode.NOT_YOUR_TURN;
         }
 
-        if (turnHolderHand.size() != 6) {
-            throw RuleException.of("손패가 6개가 아닙니다.");
+        if (actPlayer.getHandTileCnt() != 6) {
+            return RuleCode.HAND_NOT_SIX;
         }
 
-        int score = 0;
-        if ((score = SuzumeUtil.calcHuaryoScore(session.getDoraTile(), turnHolderHand)) < 5) {
-            throw RuleException.of("점수가 부족합니다! (" + score + "점)");
+        if ((score = SuzumeUtil.calcHuaryoScore(session.getDoraTile(), actPlayer.getHandKey())) < SuzumeSession.MIN_HUARYO_SCORE) {
+            return RuleCode.SCORE_TOO_LOW;
         }
 
-        logger.info("{action:\"HuaryoAction\",session:\"" + session.getSessionId() + "\",actPlayer:\"" + actPlayer.getId() + "\"}");
-
         return null;
     }
+
+    /**
+     * 화료(점수 내기)를 수행합니다.
+     */
+    @Override
+    protected ActionResult apply() {
+        record(SuzumeJournal.REC_HUARYO, actPlayer, score);
+        session.publishDelta(StateDelta.Type.HUARYO, actPlayer.getSeatIdx(), StateDelta.NO_SEAT, 0, score);
+        session.finishRoundByTsumo(actPlayer, score);
+
+        emit("HuaryoAction", actPlayer, null, null, score);
+
+        return SuzumeActionResult.ACCEPTED;
+    }
 }
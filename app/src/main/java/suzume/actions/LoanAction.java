@@ -1,14 +1,14 @@
 package suzume.actions;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 import bgame.ActionResult;
 import suzume.Player;
-import suzume.RuleException;
+import suzume.RuleCode;
+import suzume.StateDelta;
+import suzume.SuzumeActionResult;
+import suzume.SuzumeJournal;
 import suzume.SuzumeSession;
-import suzume.SuzumeUtil;
 import suzume.Tile;
 import suzume.SuzumeSession.SuzumeState;
 
@@ -22,46 +22,62 @@ public class LoanAction extends AbstractAction {
      * @param session 게임 세션
      * @param actPlayerId 액션을 수행하는 플레이어 아이디
      * @param targetPlayerId 론을 당하는 플레이어 아이디
-     * @param loanTile 론 대상 패
      */
     public LoanAction(SuzumeSession session, String actPlayerId, String targetPlayerId) {
+        this(session, session.seatOf(actPlayerId), session.seatOf(targetPlayerId));
+    }
+
+    /**
+     * 생성자.
+     * @param session 게임 세션
+     * @param actSeatIdx 액션을 수행하는 플레이어 자리 번호
+     * @param targetSeatIdx 론을 당하는 플레이어 자리 번호
+     */
+    public LoanAction(SuzumeSession session, int actSeatIdx, int targetSeatIdx) {
         super(session);
-        Objects.requireNonNull(this.actPlayer = session.getPlayerById(actPlayerId));
-        Objects.requireNonNull(this.targetPlayer = session.getPlayerById(targetPlayerId));
+        Objects.requireNonNull(this.actPlayer = session.getPlayerBySeat(actSeatIdx));
+        Objects.requireNonNull(this.targetPlayer = session.getPlayerBySeat(targetSeatIdx));
     }
 
     /**
-     * 론을 수행합니다.
+     * 론을 할 수 있는지 검사합니다.
      */
-    public ActionResult act() {
-        // 게임 상태가 쯔모대기 혹은 론 대기중일때만 론 가능
-        if (session.getSuzumeState() != SuzumeState.WAITING_THUMO ||
-            session.getSuzumeState() != SuzumeState.WAITING_LOAN ) {
-            throw RuleException.of("지금은 론을 할 수 없습니다.");
+    @Override
+    public RuleCode validate() {
+        // 론 가능한 플레이어가 있어 론 대기중일때만 론 가능 (패를 버린 시점에 세션이 판단)
+        if (session.getSuzumeState() != SuzumeState.WAITING_LOAN) {
+            return RuleCode.LOAN_NOT_NOW;
         }
 
-        final List<Tile> targetDiscardList = targetPlayer.getDiscardTiles();
-        final Tile loanTile = targetDiscardList.get(targetDiscardList.size() - 1);
-
-        if (SuzumeUtil.isDiscardedTileValue(actPlayer, loanTile)) {
-            throw RuleException.of("버린적이 있는 패를 론에 사용 할 수 없습니다.");
+        if (targetPlayer != session.getLoanTargetPlayer()) {
+            return RuleCode.NOT_LOAN_TARGET;
         }
 
-        final List<Tile> copiedHandTile = new ArrayList<>(actPlayer.getHandTiles());
-        copiedHandTile.add(loanTile); // 핸드 사본에 론 패 추가
+        if (actPlayer.isFuriten(session.getLoanTile())) {
+            return RuleCode.FURITEN;
+        }
 
-        final int score = SuzumeUtil.calcHuaryoScore(session.getDoraTile(), copiedHandTile);
-        if (score < 5) {
-            throw RuleException.of("론을 해도 점수가 부족합니다.");
+        if (!session.isLoanablePlayer(actPlayer)) {
+            return RuleCode.LOAN_SCORE_TOO_LOW;
         }
 
-        session.finishRound();
+        return null;
+    }
+
+    /**
+     * 론을 수행합니다.
+     */
+    @Override
+    protected ActionResult apply() {
+        final Tile loanTile = session.getLoanTile();
+        final int score = actPlayer.getWaitSet().getScore(session.getDoraTile(), loanTile);
+
+        record(SuzumeJournal.REC_LOAN, actPlayer, (long) targetPlayer.getSeatIdx() << 32 | score);
+        session.publishDelta(StateDelta.Type.LOAN, actPlayer.getSeatIdx(), targetPlayer.getSeatIdx(), loanTile.getId(), score);
+        session.finishRoundByLoan(actPlayer, targetPlayer, score);
         
-        logger.info("{action:\"LoanAction\",session:\"" + session.getSessionId() +
-                    "\",actPlayer:\"" + actPlayer.getId() + "\", targetPlayer:\"" +
-                    targetPlayer.getId() + ",loanTileValue:\"" + loanTile.getValue() +
-                    "\", score:" + score + "}");
+        emit("LoanAction", actPlayer, targetPlayer, loanTile, score);
 
-        return null;
+        return SuzumeActionResult.ACCEPTED;
     }
 }
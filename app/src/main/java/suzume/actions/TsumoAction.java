@@ -3,9 +3,15 @@ package suzume.actions;
 import java.util.Objects;
 
 import bgame.ActionResult;
+import suzume.ActionEventLog;
 import suzume.Player;
-import suzume.RuleException;
+import suzume.RuleCode;
+import suzume.StateDelta;
+import suzume.SuzumeActionResult;
+import suzume.SuzumeJournal;
 import suzume.SuzumeSession;
+import suzume.Tile;
+import suzume.SuzumeSession.SuzumeState;
 
 public class TsumoAction extends AbstractAction {
 
@@ -14,29 +20,56 @@ public class TsumoAction extends AbstractAction {
     /**
      * 생성자.
      * @param session 게임 세션
+     * @param actPlayerId 액션을 수행하는 플레이어 아이디
      */
     public TsumoAction(SuzumeSession session, String actPlayerId) {
+        this(session, session.seatOf(actPlayerId));
+    }
+
+    /**
+     * 생성자.
+     * @param session 게임 세션
+     * @param actSeatIdx 액션을 수행하는 플레이어 자리 번호
+     */
+    public TsumoAction(SuzumeSession session, int actSeatIdx) {
         super(session);
-        Objects.requireNonNull(this.actPlayer = session.getPlayerById(actPlayerId));
+        Objects.requireNonNull(this.actPlayer = session.getPlayerBySeat(actSeatIdx));
     }
 
     /**
-     * 쯔모(패 가져오기)를 수행합니다.
+     * 패를 가져올 수 있는지 검사합니다.
      */
-    public ActionResult act() {
-        final Player turnHolder = session.getTurnHolder();
+    @Override
+    public RuleCode validate() {
+        if (session.getSuzumeState() != SuzumeState.WAITING_THUMO) {
+            return RuleCode.NOT_NOW;
+        }
 
-        if (turnHolder != actPlayer) {
-            throw RuleException.of("당신의 턴이 아닙니다.");
+        if (session.getTurnHolder() != actPlayer) {
+            return RuleCode.NOT_YOUR_TURN;
         }
         
-        if (turnHolder.getHandTiles().size() != 5) {
-            throw RuleException.of("이미 패를 가져왔습니다.");
+        if (actPlayer.getHandTileCnt() != 5) {
+            return RuleCode.ALREADY_DRAWN;
         }
 
-        turnHolder.addTileToHand(session.pickRandomTileFromStock());
-
-        logger.info("{action:\"TsumoAction\",session:\"" + session.getSessionId() + "\",actPlayer:\"" + actPlayer.getId() + "\"}");
         return null;
     }
+
+    /**
+     * 쯔모(패 가져오기)를 수행합니다.
+     */
+    @Override
+    protected ActionResult apply() {
+        final Tile drawnTile = session.pickRandomTileFromStock();
+        actPlayer.addTileToHand(drawnTile);
+        session.setLastDrawnTile(drawnTile);
+        session.publishDelta(StateDelta.Type.TILE_DRAWN, actPlayer.getSeatIdx(), StateDelta.NO_SEAT,
+                             drawnTile == null ? 0 : drawnTile.getId(), session.getTileStockCnt());
+        session.setSuzumeState(SuzumeState.WAITING_DISCARD);
+        record(SuzumeJournal.REC_TSUMO, actPlayer, drawnTile == null ? 0 : drawnTile.getId());
+
+        emit("TsumoAction", actPlayer, null, drawnTile, ActionEventLog.NONE);
+        return SuzumeActionResult.ACCEPTED;
+    }
 }
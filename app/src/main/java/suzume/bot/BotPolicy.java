@@ -0,0 +1,96 @@
+package suzume.bot;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import suzume.Player;
+import suzume.SuzumeSession;
+import suzume.Tile;
+import suzume.sim.PlayerPolicy;
+
+/**
+ * 기대최대 탐색(<code>ExpectimaxSearch</code>)으로 선택하는 봇 정책.<p>
+ * 결정마다 <code>budgetNanos</code> 안에 탐색을 끝내며, 탐색 상태는 인스턴스가 유지하여 다음 결정에 재사용합니다.
+ * 화료는 지금의 점수가 계속 진행했을 때의 기댓값 이상이면 하고, 론은 항상 합니다.
+ */
+public final class BotPolicy implements PlayerPolicy {
+
+    // 상수
+    public static final long DEFAULT_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5L);
+
+    // 필드
+    private final ExpectimaxSearch search;
+    private final long budgetNanos;     // 결정 하나의 시간 제한
+    private long searchedHandKey;       // 마지막으로 탐색한 6개 손패 (같은 턴의 화료 판단과 버릴 패 선택이 공유)
+    private long searchedDeltaSeq;      // 마지막으로 탐색한 시점의 세션 델타 번호
+    private int searchedClass;          // 마지막 탐색의 최선수
+
+    // 생성자
+    /**
+     * 생성자.
+     * @param budgetNanos 결정 하나의 시간 제한 (ns)
+     * @throws IllegalArgumentException 시간 제한이 양수가 아닌 경우.
+     */
+    public BotPolicy(long budgetNanos) {
+        if (budgetNanos <= 0L) {
+            throw new IllegalArgumentException("Budget must be positive! (budgetNanos: " + budgetNanos + ")");
+        }
+
+        this.search = new ExpectimaxSearch();
+        this.budgetNanos = budgetNanos;
+        this.searchedHandKey = -1L;
+        this.searchedDeltaSeq = -1L;
+        this.searchedClass = ExpectimaxSearch.NO_CLASS;
+    }
+
+    // 정적 생성자
+    /**
+     * 시뮬레이터(<code>SelfPlaySimulator</code>)에서 사용할 정책 팩토리를 반환합니다.
+     * @param budgetNanos 결정 하나의 시간 제한 (ns)
+     * @return 정책 팩토리
+     */
+    public static PlayerPolicy.Factory factory(long budgetNanos) {
+        return random -> new BotPolicy(budgetNanos);
+    }
+
+    @Override
+    public int chooseDiscard(SuzumeSession session, Player player) {
+        final int tileClass = searchDiscard(session, player);
+        final List<Tile> handTiles = player.getHandTiles();
+
+        for (int i = handTiles.size() - 1; i >= 0; --i) {
+            if (ExpectimaxSearch.classOf(handTiles.get(i)) == tileClass) {
+                return handTiles.get(i).getId();
+            }
+        }
+
+        return handTiles.get(handTiles.size() - 1).getId();
+    }
+
+    @Override
+    public boolean shouldHuaryo(SuzumeSession session, Player player, int score) {
+        final int tileClass = searchDiscard(session, player);
+        return tileClass == ExpectimaxSearch.NO_CLASS || score >= this.search.getValueOfDiscard(tileClass);
+    }
+
+    /**
+     * 턴 소유자의 6개 손패에서 버릴 패 종류를 탐색합니다. 세션 상태가 그대로면 다시 탐색하지 않습니다.
+     */
+    private int searchDiscard(SuzumeSession session, Player player) {
+        final long handKey = player.getHandKey();
+
+        if (handKey != this.searchedHandKey || session.getDeltaSeq() != this.searchedDeltaSeq) {
+            final long deadlineNanos = System.nanoTime() + this.budgetNanos;
+            this.search.observe(session, player);
+            this.searchedClass = this.search.search(handKey, deadlineNanos);
+            this.searchedHandKey = handKey;
+            this.searchedDeltaSeq = session.getDeltaSeq();
+        }
+
+        return this.searchedClass;
+    }
+
+    public ExpectimaxSearch getSearch() {
+        return this.search;
+    }
+}
@@ -0,0 +1,317 @@
+package suzume.bot;
+
+import java.util.Arrays;
+
+import suzume.HuaryoScoreTable;
+import suzume.Player;
+import suzume.SuzumeSession;
+import suzume.Tile;
+
+/**
+ * 버릴 패를 고르는 시간 제한 기대최대(expectimax) 탐색.<p>
+ * 패는 점수에 영향을 주는 (숫자값, 적색패 여부) 종류로만 구분하며, 보이지 않는 패(자신의 손패, 모든 플레이어가
+ * 버린 패, 도라 패를 제외한 패)의 종류별 개수로 다음 쯔모의 확률을 정합니다. 손패 6개 상태는 화료 점수와 각 패를
+ * 버린 상태 중 최댓값, 손패 5개 상태는 다음 쯔모에 대한 기댓값(<code>discount</code>만큼 할인)이며, 탐색 안에서는
+ * 보이지 않는 패의 분포가 바뀌지 않는 것으로 근사합니다(복원 추출). 이 근사 덕분에 상태 값은 손패의
+ * <code>handKey</code>와 남은 깊이만으로 정해져 치환표에 저장할 수 있습니다.<p>
+ * 깊이(앞으로의 쯔모 수)를 1부터 늘리는 반복 심화로 탐색하며, 마감 시간이 지나면 진행중인 깊이를 버리고 마지막으로
+ * 끝난 깊이의 결과를 사용합니다. 깊이 1은 항상 끝까지 탐색하므로(수 마이크로초) 언제든 답을 돌려줍니다.
+ * 치환표와 작업용 배열은 탐색 사이에 재사용하며, 치환표 항목은 보이지 않는 패 분포와 도라로 만든 서명으로
+ * 구분하므로 분포가 그대로인 다음 탐색(화료 여부 판단 후 버릴 패 선택 등)은 이전 결과를 그대로 사용합니다.
+ * 인스턴스는 한 스레드에서만 사용합니다.
+ */
+public final class ExpectimaxSearch {
+
+    // 상수
+    public static final int MAX_DEPTH = 6;                  // 최대 탐색 깊이 (쯔모 수)
+    public static final double DEFAULT_DISCOUNT = 0.8;      // 쯔모 한 번당 할인율 (그 사이 다른 플레이어가 이길 가능성)
+    public static final int NO_CLASS = -1;
+    private static final int CLASS_CNT = (Tile.VAL_JUNG + 1) * 2;   // [숫자값 * 2 + 적색패 여부]
+    private static final int TABLE_BITS = 14;
+    private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+    private static final int DEPTH_BITS = 3;
+    private static final int DEADLINE_CHECK_MASK = 0xFF;    // 노드 256개마다 마감 시간 확인
+    private static final long EMPTY_KEY = -1L;
+    private static final long[] CLASS_KEYS = new long[CLASS_CNT];   // [종류] handKey 증분
+
+    static {
+        for (int value = 1; value <= Tile.VAL_JUNG; ++value) {
+            CLASS_KEYS[value * 2] = HuaryoScoreTable.keyOf(value, false);
+            CLASS_KEYS[value * 2 + 1] = value < Tile.VAL_BAL ? HuaryoScoreTable.keyOf(value, true) : 0L;
+        }
+    }
+
+    // 필드
+    private final double discount;
+    private final int[] unseenCnts;     // [종류] 보이지 않는 패 수
+    private int unseenTotal;
+    private int doraValue;
+    private int maxDepth;               // 남은 패 더미로 가능한 자신의 쯔모 수 (1 ~ MAX_DEPTH)
+    private long signature;             // 보이지 않는 패 분포 + 도라 서명 (치환표 항목 구분)
+    private final long[] tableKeys;     // 치환표: handKey << DEPTH_BITS | 깊이
+    private final long[] tableSigs;
+    private final double[] tableValues;
+    private final double[] rootValues;  // [종류] 마지막으로 끝난 깊이에서 해당 종류를 버린 값
+    private final double[] depthValues; // [종류] 진행중인 깊이에서 해당 종류를 버린 값
+    private long deadlineNanos;
+    private boolean timedOut;
+    private long nodeCnt;               // 마지막 탐색에서 방문한 노드 수
+    private long tableHitCnt;           // 마지막 탐색에서 치환표로 대신한 노드 수
+    private int completedDepth;         // 마지막 탐색에서 끝까지 탐색한 깊이
+
+    // 생성자
+    /**
+     * 생성자.
+     * @param discount 쯔모 한 번당 할인율 (0 초과 1 이하)
+     * @throws IllegalArgumentException 할인율이 범위를 벗어난 경우.
+     */
+    public ExpectimaxSearch(double discount) {
+        if (!(discount > 0.0 && discount <= 1.0)) {
+            throw new IllegalArgumentException("Discount must be in (0, 1]! (discount: " + discount + ")");
+        }
+
+        this.discount = discount;
+        this.unseenCnts = new int[CLASS_CNT];
+        this.tableKeys = new long[1 << TABLE_BITS];
+        this.tableSigs = new long[1 << TABLE_BITS];
+        this.tableValues = new double[1 << TABLE_BITS];
+        this.rootValues = new double[CLASS_CNT];
+        this.depthValues = new double[CLASS_CNT];
+        Arrays.fill(this.tableKeys, EMPTY_KEY);
+    }
+
+    /**
+     * 생성자. <code>DEFAULT_DISCOUNT</code>를 사용합니다.
+     */
+    public ExpectimaxSearch() {
+        this(DEFAULT_DISCOUNT);
+    }
+
+    /**
+     * 플레이어 시점에서 보이지 않는 패와 도라를 세션에서 읽어옵니다. 탐색 전에 호출합니다.
+     * @param session 게임 세션 (도라가 정해진 상태)
+     * @param player 탐색하는 플레이어
+     */
+    public void observe(SuzumeSession session, Player player) {
+        Arrays.fill(this.unseenCnts, 0);
+
+        for (Tile tile : Tile.getDefinedTileList()) {
+            ++this.unseenCnts[classOf(tile)];
+        }
+
+        this.unseenTotal = Tile.getDefinedTileList().size();
+        unsee(session.getDoraTile());
+
+        for (Tile tile : player.getHandTiles()) {
+            unsee(tile);
+        }
+
+        for (Player other : session.getPlayerList()) {
+            for (Tile tile : other.getDiscardTiles()) {
+                unsee(tile);
+            }
+        }
+
+        this.doraValue = session.getDoraTile().getValue();
+        this.maxDepth = Math.max(1, Math.min(MAX_DEPTH, session.getTileStockCnt() / session.getPlayerList().size()));
+
+        long signature = this.doraValue;
+        for (int cnt : this.unseenCnts) {
+            signature = signature * 31L + cnt;
+        }
+        this.signature = signature;
+    }
+
+    private void unsee(Tile tile) {
+        --this.unseenCnts[classOf(tile)];
+        --this.unseenTotal;
+    }
+
+    /**
+     * 6개 손패에서 버릴 패의 종류를 탐색합니다.
+     * @param handKey 6개 손패의 <code>handKey</code>
+     * @param deadlineNanos 마감 시각 (<code>System.nanoTime()</code> 기준)
+     * @return 버릴 패의 종류 (<code>classOf()</code>)
+     */
+    public int search(long handKey, long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+        this.timedOut = false;
+        this.nodeCnt = 0L;
+        this.tableHitCnt = 0L;
+        this.completedDepth = 0;
+
+        final double[] depthValues = this.depthValues;
+        int bestClass = NO_CLASS;
+
+        for (int depth = 1; depth <= this.maxDepth; ++depth) {
+            int depthBestClass = NO_CLASS;
+
+            // 직전 깊이의 최선수를 먼저 탐색
+            if (bestClass != NO_CLASS) {
+                depthValues[bestClass] = valueOfDiscard(handKey, bestClass, depth);
+                depthBestClass = bestClass;
+            }
+
+            for (int c = 0; c < CLASS_CNT && !this.timedOut; ++c) {
+                if (c == bestClass || !canRemove(handKey, c)) {
+                    continue;
+                }
+
+                depthValues[c] = valueOfDiscard(handKey, c, depth);
+
+                if (depthBestClass == NO_CLASS || depthValues[c] > depthValues[depthBestClass]) {
+                    depthBestClass = c;
+                }
+            }
+
+            if (this.timedOut) {
+                break;
+            }
+
+            System.arraycopy(depthValues, 0, this.rootValues, 0, CLASS_CNT);
+            bestClass = depthBestClass;
+            this.completedDepth = depth;
+
+            if (System.nanoTime() - deadlineNanos >= 0L) {
+                break;
+            }
+        }
+
+        return bestClass;
+    }
+
+    /**
+     * 마지막 탐색에서 해당 종류의 패를 버린 상태의 값을 반환합니다.
+     * @param tileClass 패 종류 (손패에 있는 종류)
+     * @return 앞으로 얻을 것으로 기대되는 (할인된) 점수
+     */
+    public double getValueOfDiscard(int tileClass) {
+        return this.rootValues[tileClass];
+    }
+
+    /**
+     * 손패에서 종류 하나를 버린 5개 손패의 값을 계산합니다. 깊이 1은 마감 시간을 확인하지 않습니다.
+     */
+    private double valueOfDiscard(long handKey, int tileClass, int depth) {
+        return expectOfDraw(handKey - CLASS_KEYS[tileClass], depth, depth > 1);
+    }
+
+    /**
+     * 5개 손패의 다음 쯔모에 대한 기댓값.
+     */
+    private double expectOfDraw(long handKey, int depth, boolean checkDeadline) {
+        if ((++this.nodeCnt & DEADLINE_CHECK_MASK) == 0 && checkDeadline && System.nanoTime() - this.deadlineNanos >= 0L) {
+            this.timedOut = true;
+        }
+
+        if (this.timedOut) {
+            return 0.0;
+        }
+
+        final long tableKey = handKey << DEPTH_BITS | depth;
+        final int slot = slotOf(tableKey);
+
+        if (this.tableKeys[slot] == tableKey && this.tableSigs[slot] == this.signature) {
+            ++this.tableHitCnt;
+            return this.tableValues[slot];
+        }
+
+        double sum = 0.0;
+        for (int c = 0; c < CLASS_CNT; ++c) {
+            if (this.unseenCnts[c] == 0 || !canAdd(handKey, c)) {
+                continue;
+            }
+
+            sum += this.unseenCnts[c] * maxOfDiscard(handKey + CLASS_KEYS[c], depth, checkDeadline);
+        }
+
+        final double value = this.discount * sum / this.unseenTotal;
+
+        if (!this.timedOut) {
+            this.tableKeys[slot] = tableKey;
+            this.tableSigs[slot] = this.signature;
+            this.tableValues[slot] = value;
+        }
+
+        return value;
+    }
+
+    /**
+     * 6개 손패의 값: 화료 가능하면 화료 점수, 아니면 버릴 패 중 가장 좋은 것의 값.
+     */
+    private double maxOfDiscard(long handKey, int depth, boolean checkDeadline) {
+        final int score = HuaryoScoreTable.getScore(this.doraValue, handKey);
+
+        if (score >= SuzumeSession.MIN_HUARYO_SCORE) {
+            return score;
+        }
+
+        if (depth == 1) {
+            return 0.0;
+        }
+
+        double best = 0.0;
+        for (int c = 0; c < CLASS_CNT; ++c) {
+            if (canRemove(handKey, c)) {
+                best = Math.max(best, expectOfDraw(handKey - CLASS_KEYS[c], depth - 1, checkDeadline));
+            }
+        }
+
+        return best;
+    }
+
+    private static int slotOf(long tableKey) {
+        final long h = tableKey * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> (64 - TABLE_BITS)) & TABLE_MASK;
+    }
+
+    /**
+     * 손패에 해당 종류의 패가 있는지 확인합니다.
+     */
+    private static boolean canRemove(long handKey, int tileClass) {
+        final int value = tileClass >>> 1;
+
+        if (value == 0 || CLASS_KEYS[tileClass] == 0L) {
+            return false;
+        }
+
+        final boolean hasRed = HuaryoScoreTable.hasRedOf(handKey, value);
+        return (tileClass & 1) != 0 ? hasRed : HuaryoScoreTable.countOf(handKey, value) - (hasRed ? 1 : 0) > 0;
+    }
+
+    /**
+     * 손패에 해당 종류의 패를 더할 수 있는지(정의된 패 수를 넘지 않는지) 확인합니다.
+     */
+    private static boolean canAdd(long handKey, int tileClass) {
+        final int value = tileClass >>> 1;
+        final boolean hasRed = HuaryoScoreTable.hasRedOf(handKey, value);
+
+        if ((tileClass & 1) != 0) {
+            return !hasRed;
+        }
+
+        return HuaryoScoreTable.countOf(handKey, value) - (hasRed ? 1 : 0) < (value < Tile.VAL_BAL ? 3 : 4);
+    }
+
+    /**
+     * 패의 종류를 반환합니다.
+     * @param tile 대상 패
+     * @return <code>숫자값 * 2 + 적색패 여부</code> (중은 적색패 여부 없음)
+     */
+    public static int classOf(Tile tile) {
+        final boolean red = tile.getColor() == Tile.Color.RED && tile.getValue() < Tile.VAL_BAL;
+        return tile.getValue() * 2 + (red ? 1 : 0);
+    }
+
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    public long getNodeCnt() {
+        return this.nodeCnt;
+    }
+
+    public long getTableHitCnt() {
+        return this.tableHitCnt;
+    }
+}
@@ -0,0 +1,164 @@
+package suzume.bot;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import bgame.Action;
+import bgame.ActionResult;
+import suzume.HuaryoScoreTable;
+import suzume.Player;
+import suzume.StateDelta;
+import suzume.SuzumeSession;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.HuaryoAction;
+import suzume.actions.LoanAction;
+import suzume.actions.TsumoAction;
+import suzume.sim.PlayerPolicy;
+
+/**
+ * 빈 자리나 연결이 끊긴 플레이어 대신 액션을 수행하는 봇.<p>
+ * 세션의 상태 델타를 구독하여, 델타를 받으면 세션 우편함에 한 번의 판단을 예약합니다(이미 예약되어 있으면 생략).
+ * 판단은 다른 비동기 액션, 타이머 콜백과 같은 우편함에서 순서대로 실행되므로 세션 상태를 안전하게 읽을 수 있으며,
+ * 자신의 차례면 정책(<code>PlayerPolicy</code>)으로 고른 액션 하나를 <code>tryAction()</code>으로 수행합니다.
+ * 액션이 다시 델타를 발행하므로 쯔모 후 버리기처럼 이어지는 액션도 차례로 수행됩니다.
+ * 라운드가 끝나면(<code>ROUND_FINISHED</code>) 다음 라운드가 시작될 때까지 아무것도 하지 않습니다.
+ */
+public final class SuzumeBot implements StateDelta.Listener {
+
+    // 필드
+    private final SuzumeSession session;
+    private final int seatIdx;
+    private final PlayerPolicy policy;
+    private final AtomicBoolean scheduled;  // 판단이 우편함에 예약됨
+    private volatile boolean attached;
+    private long actionCnt;                 // 수행한 액션 수 (우편함에서만 변경)
+
+    // 생성자
+    private SuzumeBot(SuzumeSession session, int seatIdx, PlayerPolicy policy) {
+        Objects.requireNonNull(this.session = session);
+        Objects.requireNonNull(this.policy = policy);
+        this.seatIdx = seatIdx;
+        this.scheduled = new AtomicBoolean();
+    }
+
+    // 정적 생성자
+    /**
+     * 봇을 세션의 자리에 앉힙니다. 이미 자신의 차례면 바로 판단을 예약합니다.
+     * @param session 게임 세션
+     * @param seatIdx 봇이 맡을 자리 번호
+     * @param policy 봇의 정책
+     * @return 앉은 봇
+     * @throws IllegalArgumentException 없는 자리인 경우.
+     */
+    public static SuzumeBot attach(SuzumeSession session, int seatIdx, PlayerPolicy policy) {
+        if (session.getPlayerBySeat(seatIdx) == null) {
+            throw new IllegalArgumentException("Unknown seat! (seatIdx: " + seatIdx + ")");
+        }
+
+        final SuzumeBot bot = new SuzumeBot(session, seatIdx, policy);
+        bot.attached = true;
+        session.subscribe(seatIdx, bot);
+        bot.schedule();
+        return bot;
+    }
+
+    /**
+     * 기대최대 탐색 정책(<code>BotPolicy</code>)을 사용하는 봇을 세션의 자리에 앉힙니다.
+     * @param session 게임 세션
+     * @param seatIdx 봇이 맡을 자리 번호
+     * @param budgetNanos 결정 하나의 시간 제한 (ns)
+     * @return 앉은 봇
+     */
+    public static SuzumeBot attach(SuzumeSession session, int seatIdx, long budgetNanos) {
+        return attach(session, seatIdx, new BotPolicy(budgetNanos));
+    }
+
+    /**
+     * 봇을 자리에서 내보냅니다. 예약된 판단은 실행되지 않습니다.
+     */
+    public void detach() {
+        this.attached = false;
+        this.session.unsubscribe(this);
+    }
+
+    @Override
+    public void onDelta(StateDelta delta) {
+        schedule();
+    }
+
+    /**
+     * 판단을 세션 우편함에 예약합니다.
+     */
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            this.session.execute(this::step);
+        }
+    }
+
+    /**
+     * 우편함에서 실행되는 판단. 자신의 차례면 액션 하나를 수행합니다.
+     */
+    private void step() {
+        this.scheduled.set(false);
+
+        if (!this.attached) {
+            return;
+        }
+
+        final Action action = nextAction();
+        if (action != null) {
+            final ActionResult result = this.session.tryAction(action);
+
+            if (!result.isRejected()) {
+                ++this.actionCnt;
+            }
+        }
+    }
+
+    /**
+     * 현재 세션 상태에서 봇이 수행할 액션을 고릅니다.
+     * @return 수행할 액션. 봇의 차례가 아니면 <code>null</code>
+     */
+    public Action nextAction() {
+        final Player player = this.session.getPlayerBySeat(this.seatIdx);
+
+        switch (this.session.getSuzumeState()) {
+            case WAITING_DORA:
+                return this.session.getRoundStartPlayer() == player ? new DoraAction(this.session, this.seatIdx) : null;
+            case WAITING_THUMO:
+                return this.session.getTurnHolder() == player && this.session.getTileStockCnt() > 0 ? new TsumoAction(this.session, this.seatIdx) : null;
+            case WAITING_DISCARD: {
+                if (this.session.getTurnHolder() != player || player.getHandTileCnt() != HuaryoScoreTable.HAND_SIZE) {
+                    return null;
+                }
+
+                final int score = HuaryoScoreTable.getScore(this.session.getDoraTile().getValue(), player.getHandKey());
+                if (score >= SuzumeSession.MIN_HUARYO_SCORE && this.policy.shouldHuaryo(this.session, player, score)) {
+                    return new HuaryoAction(this.session, this.seatIdx);
+                }
+
+                return new DiscardAndPassTurnAction(this.session, this.seatIdx, this.policy.chooseDiscard(this.session, player));
+            }
+            case WAITING_LOAN: {
+                if (!this.session.isLoanablePlayer(player)) {
+                    return null;
+                }
+
+                final Player targetPlayer = this.session.getLoanTargetPlayer();
+                final int score = player.getWaitSet().getScore(this.session.getDoraTile(), this.session.getLoanTile());
+                return this.policy.shouldLoan(this.session, player, score) ? new LoanAction(this.session, this.seatIdx, targetPlayer.getSeatIdx()) : null;
+            }
+            default:
+                return null;
+        }
+    }
+
+    public int getSeatIdx() {
+        return this.seatIdx;
+    }
+
+    public long getActionCnt() {
+        return this.actionCnt;
+    }
+}
@@ -0,0 +1,53 @@
+package suzume.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import suzume.SuzumeSession;
+
+/**
+ * 서버의 세션별 방송 목록. 수신자가 처음 생긴 세션에 방송을 붙이고, 마지막 수신자가 떠나면 뗍니다.
+ * 여러 이벤트 루프가 공유하므로 등록/해제는 이 객체를 락으로 사용합니다(델타 전달 경로는 락을 잡지 않음).
+ */
+final class BroadcasterTable {
+
+    // 필드
+    private final Map<SuzumeSession, SessionBroadcaster> broadcasters = new HashMap<>();
+
+    /**
+     * 세션 방송에 수신자를 추가합니다. 방송이 없으면 세션에 새로 붙입니다.
+     * @param session 대상 세션
+     * @param viewerSeatIdx 수신자의 자리 번호
+     * @param sink 프레임을 받을 대상
+     * @return 세션의 방송
+     */
+    synchronized SessionBroadcaster subscribe(SuzumeSession session, int viewerSeatIdx, SessionBroadcaster.FrameSink sink) {
+        SessionBroadcaster broadcaster = this.broadcasters.get(session);
+
+        if (broadcaster == null) {
+            broadcaster = SessionBroadcaster.attach(session);
+            this.broadcasters.put(session, broadcaster);
+        }
+
+        broadcaster.addSubscriber(viewerSeatIdx, sink);
+        return broadcaster;
+    }
+
+    /**
+     * 세션 방송에서 수신자를 제거합니다. 남은 수신자가 없으면 방송을 세션에서 뗍니다.
+     * @param broadcaster 대상 방송
+     * @param sink 제거할 대상
+     */
+    synchronized void unsubscribe(SessionBroadcaster broadcaster, SessionBroadcaster.FrameSink sink) {
+        broadcaster.removeSubscriber(sink);
+
+        if (broadcaster.getSubscriberCnt() == 0) {
+            broadcaster.detach();
+            this.broadcasters.remove(broadcaster.getSession());
+        }
+    }
+
+    synchronized int size() {
+        return this.broadcasters.size();
+    }
+}
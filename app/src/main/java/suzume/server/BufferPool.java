@@ -0,0 +1,75 @@
+package suzume.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * 고정 크기 다이렉트 버퍼 풀.<p>
+ * 이벤트 루프마다 하나씩 두고 그 루프 스레드에서만 사용하므로 동기화하지 않습니다.
+ * 연결은 읽다 만 프레임이나 아직 보내지 못한 응답이 있을 때만 버퍼를 빌리므로,
+ * 유휴 연결은 버퍼를 차지하지 않습니다.
+ */
+public final class BufferPool {
+
+    // 필드
+    private final int bufferSize;
+    private final int maxPooledCnt;
+    private final ArrayDeque<ByteBuffer> pooledBuffers;
+    private long allocatedCnt;
+
+    /**
+     * 생성자.
+     * @param bufferSize 버퍼 크기 (byte)
+     * @param maxPooledCnt 보관할 최대 버퍼 수 (초과분은 GC에 맡김)
+     * @throws IllegalArgumentException 크기나 개수가 양수가 아닌 경우.
+     */
+    public BufferPool(int bufferSize, int maxPooledCnt) {
+        if (bufferSize <= 0 || maxPooledCnt <= 0) {
+            throw new IllegalArgumentException("Buffer size and pool size must be positive! (bufferSize: " + bufferSize +
+                                               ", maxPooledCnt: " + maxPooledCnt + ")");
+        }
+
+        this.bufferSize = bufferSize;
+        this.maxPooledCnt = maxPooledCnt;
+        this.pooledBuffers = new ArrayDeque<>();
+        this.allocatedCnt = 0L;
+    }
+
+    /**
+     * 비어있는 버퍼를 빌립니다.
+     * @return 쓰기 모드의 빈 버퍼
+     */
+    public ByteBuffer acquire() {
+        final ByteBuffer buf = this.pooledBuffers.pollFirst();
+        if (buf != null) {
+            return buf;
+        }
+
+        ++this.allocatedCnt;
+        return ByteBuffer.allocateDirect(this.bufferSize);
+    }
+
+    /**
+     * 빌린 버퍼를 반환합니다.
+     * @param buf 반환할 버퍼 (반환 후 사용하면 안 됨)
+     */
+    public void release(ByteBuffer buf) {
+        buf.clear();
+
+        if (this.pooledBuffers.size() < this.maxPooledCnt) {
+            this.pooledBuffers.addFirst(buf);
+        }
+    }
+
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    public int getPooledCnt() {
+        return this.pooledBuffers.size();
+    }
+
+    public long getAllocatedCnt() {
+        return this.allocatedCnt;
+    }
+}
@@ -0,0 +1,34 @@
+package suzume.server;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+
+import suzume.SuzumeSession;
+
+/**
+ * 클라이언트 연결. 자신을 담당하는 이벤트 루프 스레드에서만 변경합니다.
+ */
+final class Connection {
+
+    // 필드
+    final SocketChannel channel;
+    SelectionKey key;
+    SuzumeSession session;      // OP_BIND로 지정한 세션 (null이면 미지정)
+    int seatIdx;                // OP_BIND로 지정한 플레이어 자리 번호 (관전자는 StateDelta.NO_SEAT)
+    EventLoop.Fanout fanout;    // 델타를 받는 묶음 (없으면 null)
+    int fanoutIdx;              // 묶음 안에서의 위치
+    ByteBuffer readBuf;         // 읽다 만 프레임 (쓰기 모드, 없으면 null)
+    ByteBuffer writeBuf;        // 보내지 못한 응답 (쓰기 모드, 없으면 null)
+    boolean dirty;              // 이번 루프에서 보낼 응답이 생김
+    int pendingReplyCnt;        // 루프로 넘어오길 기다리거나 아직 기록하지 않은 응답 수
+    CompletableFuture<?> lastReply; // 마지막 응답을 루프로 넘기는 단계 (기다리는 응답이 없으면 null)
+    boolean closed;
+
+    // 생성자
+    Connection(SocketChannel channel) {
+        this.channel = channel;
+        this.seatIdx = -1;
+    }
+}
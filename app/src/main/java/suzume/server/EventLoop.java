@@ -0,0 +1,749 @@
+package suzume.server;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import bgame.Action;
+import bgame.ActionResult;
+import bgame.Session.SessionState;
+import bgame.SessionRegistry;
+import suzume.StateDelta;
+import suzume.SuzumeSession;
+
+/**
+ * 셀렉터 하나와 스레드 하나로 여러 연결을 처리하는 이벤트 루프.<p>
+ * 읽기는 루프가 공유하는 다이렉트 버퍼로 받아 완성된 프레임을 바로 처리하고, 남은 조각만 풀에서 빌린 버퍼에 옮깁니다.
+ * 디코딩된 액션은 세션 우편함(<code>Session.submitAction()</code>)에 넘기며, 결과는 락 없는 큐를 거쳐
+ * 루프 스레드에서 응답 프레임으로 기록합니다. 한 번의 루프에서 생긴 응답은 연결마다 한 번의 쓰기로 보냅니다.<p>
+ * 세션 델타는 루프마다 (세션, 자리)별 묶음(<code>Fanout</code>) 하나가 세션 방송의 수신자가 되어,
+ * 공유 프레임 하나를 루프로 넘겨받은 후 묶음 안의 모든 연결 쓰기 버퍼에 복사합니다.
+ * 따라서 세션 스레드의 비용은 관전자 수가 아니라 루프 수에 비례합니다.<p>
+ * 세션이 닫히면(저장소에서 제거 또는 만료) 묶음이 종료 알림을 루프로 넘기고, 루프는 묶음의 모든 연결을 구독 해지하여
+ * 세션 방송이 방송 목록에서 떨어지도록 합니다. 닫힌 세션에 대한 바인드, 관전, 액션 요청은 <code>ERR_UNKNOWN_SESSION</code>으로 응답합니다.
+ */
+final class EventLoop implements Runnable {
+
+    // 로거
+    private static final Logger logger = LoggerFactory.getLogger(EventLoop.class);
+
+    // 상수
+    private static final int SHARED_READ_BUFFER_SIZE = 64 * 1024;
+
+    // 필드
+    private final SessionRegistry<SuzumeSession> registry;
+    private final BroadcasterTable broadcasters;
+    private final Selector selector;
+    private final BufferPool bufferPool;
+    private final ByteBuffer sharedReadBuf;
+    private final Queue<SocketChannel> pendingChannels;    // 등록 대기 연결 (수락 스레드 -> 루프)
+    private final Queue<Reply> pendingReplies;             // 액션 결과 (세션 우편함 -> 루프)
+    private final Queue<PendingFrame> pendingFrames;       // 델타 프레임 (세션 -> 루프)
+    private final Queue<Fanout> closedFanouts;             // 세션이 닫힌 묶음 (세션 -> 루프)
+    private final Map<SuzumeSession, Fanout[]> fanouts;    // [자리 번호 + 1] 델타 묶음 (0: 관전자)
+    private final AtomicBoolean wakeupPending;
+    private final List<Connection> dirtyConnections;
+    private final LongAdder connectionGauge;
+    private final Thread thread;
+    private volatile boolean running;
+    private volatile int connectionCnt;
+
+    /**
+     * 생성자. 루프 스레드는 <code>start()</code>에서 시작합니다.
+     * @param registry 세션 저장소
+     * @param broadcasters 세션별 방송 목록 (루프 공유)
+     * @param bufferPool 이 루프 전용 버퍼 풀
+     * @param connectionGauge 연결 수 게이지
+     * @param threadName 루프 스레드 이름
+     * @throws IOException 셀렉터를 열 수 없는 경우.
+     */
+    EventLoop(SessionRegistry<SuzumeSession> registry, BroadcasterTable broadcasters, BufferPool bufferPool,
+              LongAdder connectionGauge, String threadName) throws IOException {
+        this.registry = registry;
+        this.broadcasters = broadcasters;
+        this.selector = Selector.open();
+        this.bufferPool = bufferPool;
+        this.sharedReadBuf = ByteBuffer.allocateDirect(SHARED_READ_BUFFER_SIZE);
+        this.pendingChannels = new ConcurrentLinkedQueue<>();
+        this.pendingReplies = new ConcurrentLinkedQueue<>();
+        this.pendingFrames = new ConcurrentLinkedQueue<>();
+        this.closedFanouts = new ConcurrentLinkedQueue<>();
+        this.fanouts = new HashMap<>();
+        this.wakeupPending = new AtomicBoolean();
+        this.dirtyConnections = new ArrayList<>();
+        this.connectionGauge = connectionGauge;
+        this.thread = new Thread(this, threadName);
+        this.running = true;
+    }
+
+    void start() {
+        this.thread.start();
+    }
+
+    /**
+     * 수락된 연결을 이 루프에 등록합니다. (다른 스레드에서 호출)
+     * @param channel 수락된 연결
+     */
+    void addChannel(SocketChannel channel) {
+        this.pendingChannels.offer(channel);
+        wakeup();
+    }
+
+    /**
+     * 루프를 멈추고 모든 연결을 닫습니다.
+     */
+    void shutdown() {
+        this.running = false;
+        this.selector.wakeup();
+
+        try {
+            this.thread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int getConnectionCnt() {
+        return this.connectionCnt;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (this.running) {
+                this.selector.select();
+                this.wakeupPending.set(false);
+
+                registerPendingChannels();
+                drainFrames();
+                drainClosedFanouts();
+                drainReplies();
+
+                final Iterator<SelectionKey> it = this.selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    final SelectionKey key = it.next();
+                    it.remove();
+
+                    final Connection conn = (Connection) key.attachment();
+
+                    if (key.isValid() && key.isReadable()) {
+                        onReadable(conn);
+                    }
+
+                    if (key.isValid() && key.isWritable()) {
+                        flush(conn);
+                    }
+                }
+
+                flushDirtyConnections();
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            logger.error("Event loop stopped! (thread: " + this.thread.getName() + ")", e);
+        }
+        finally {
+            for (SelectionKey key : this.selector.keys()) {
+                close((Connection) key.attachment());
+            }
+
+            SocketChannel channel;
+            while ((channel = this.pendingChannels.poll()) != null) {
+                closeQuietly(channel);
+            }
+
+            PendingFrame pendingFrame;
+            while ((pendingFrame = this.pendingFrames.poll()) != null) {
+                pendingFrame.frame.release();
+            }
+
+            try {
+                this.selector.close();
+            }
+            catch (IOException e) {
+                logger.warn("Failed to close selector!", e);
+            }
+        }
+    }
+
+    private void wakeup() {
+        if (this.wakeupPending.compareAndSet(false, true)) {
+            this.selector.wakeup();
+        }
+    }
+
+    private void registerPendingChannels() {
+        SocketChannel channel;
+
+        while ((channel = this.pendingChannels.poll()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, Boolean.TRUE);
+
+                final Connection conn = new Connection(channel);
+                conn.key = channel.register(this.selector, SelectionKey.OP_READ, conn);
+                ++this.connectionCnt;
+                this.connectionGauge.increment();
+            }
+            catch (IOException e) {
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void drainReplies() {
+        Reply reply;
+
+        while ((reply = this.pendingReplies.poll()) != null) {
+            if (--reply.conn.pendingReplyCnt == 0) {
+                reply.conn.lastReply = null;
+            }
+
+            writeResult(reply.conn, reply.seq, reply.status, reply.code);
+        }
+    }
+
+    private void drainFrames() {
+        PendingFrame pendingFrame;
+
+        while ((pendingFrame = this.pendingFrames.poll()) != null) {
+            final List<Connection> connections = pendingFrame.fanout.connections;
+
+            // 쓰기 실패로 닫힌 연결은 뒤쪽 연결과 자리를 바꾸므로 뒤에서부터 순회
+            for (int i = connections.size() - 1; i >= 0; --i) {
+                writeFrame(connections.get(i), pendingFrame.frame);
+            }
+
+            pendingFrame.frame.release();
+        }
+    }
+
+    /**
+     * 세션이 닫힌 묶음의 연결들을 모두 구독 해지합니다. 연결은 닫지 않으며, 이후 요청은 <code>ERR_UNKNOWN_SESSION</code>으로 응답합니다.
+     */
+    private void drainClosedFanouts() {
+        Fanout fanout;
+
+        while ((fanout = this.closedFanouts.poll()) != null) {
+            final List<Connection> connections = fanout.connections;
+
+            // 구독 해지는 뒤쪽 연결과 자리를 바꾸므로 뒤에서부터 순회
+            for (int i = connections.size() - 1; i >= 0; --i) {
+                unsubscribe(connections.get(i));
+            }
+        }
+    }
+
+    /**
+     * 읽을 수 있는 연결의 데이터를 읽고 완성된 프레임을 모두 처리합니다.
+     */
+    private void onReadable(Connection conn) {
+        ByteBuffer buf = conn.readBuf;
+        if (buf == null) {
+            buf = this.sharedReadBuf;
+            buf.clear();
+        }
+
+        try {
+            if (conn.channel.read(buf) < 0) {
+                close(conn);
+                return;
+            }
+        }
+        catch (IOException e) {
+            close(conn);
+            return;
+        }
+
+        buf.flip();
+
+        while (buf.remaining() >= SuzumeProtocol.LENGTH_FIELD_SIZE) {
+            final int bodyLen = buf.getShort(buf.position()) & 0xFFFF;
+
+            if (bodyLen < SuzumeProtocol.REQUEST_HEADER_SIZE || bodyLen > SuzumeProtocol.MAX_FRAME_SIZE) {
+                close(conn);
+                return;
+            }
+
+            if (buf.remaining() < SuzumeProtocol.LENGTH_FIELD_SIZE + bodyLen) {
+                break;
+            }
+
+            final int limit = buf.limit();
+            final int frameEnd = buf.position() + SuzumeProtocol.LENGTH_FIELD_SIZE + bodyLen;
+
+            buf.position(buf.position() + SuzumeProtocol.LENGTH_FIELD_SIZE);
+            buf.limit(frameEnd);
+            onFrame(conn, buf);
+            buf.limit(limit);
+            buf.position(frameEnd);
+
+            if (conn.closed) {
+                return;
+            }
+        }
+
+        if (buf.hasRemaining()) {
+            if (buf == this.sharedReadBuf) {
+                conn.readBuf = this.bufferPool.acquire();
+                conn.readBuf.put(buf);
+            }
+            else {
+                buf.compact();
+            }
+        }
+        else if (conn.readBuf != null) {
+            this.bufferPool.release(conn.readBuf);
+            conn.readBuf = null;
+        }
+    }
+
+    /**
+     * 요청 프레임 하나를 처리합니다.
+     * @param body 본문만 남도록 제한된 버퍼
+     */
+    private void onFrame(Connection conn, ByteBuffer body) {
+        final int seq = body.getInt();
+        final byte op = body.get();
+
+        if (op == SuzumeProtocol.OP_BIND) {
+            bind(conn, seq, body);
+            return;
+        }
+
+        if (op == SuzumeProtocol.OP_WATCH) {
+            watch(conn, seq, body);
+            return;
+        }
+
+        final SuzumeSession session = conn.session;
+        if (session == null || conn.seatIdx < 0) {
+            replyInOrder(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_NOT_BOUND);
+            return;
+        }
+
+        if (isClosed(session)) {
+            unbind(conn);
+            replyInOrder(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_SESSION);
+            return;
+        }
+
+        final Action action = SuzumeProtocol.decodeAction(session, conn.seatIdx, op, body);
+        if (action == null) {
+            replyInOrder(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_BAD_REQUEST);
+            return;
+        }
+
+        // 같은 세션의 액션은 우편함 순서대로 끝나지만, 다시 지정하기 전 세션의 응답이 남아있을 수 있으므로 그 뒤에 넘김
+        final CompletableFuture<ActionResult> future = session.submitAction(action);
+        final CompletableFuture<ActionResult> ordered = conn.lastReply == null ? future
+            : conn.lastReply.handle((ignored, th) -> null).thenCompose(ignored -> future);
+
+        ++conn.pendingReplyCnt;
+        conn.lastReply = ordered.whenComplete((result, th) -> reply(conn, seq, result, th));
+    }
+
+    /**
+     * 액션 요청의 오류 응답을 보냅니다. 앞선 액션의 응답이 남아있으면 요청 순서대로 도착하도록 그 뒤에 루프로 넘깁니다.
+     */
+    private void replyInOrder(Connection conn, int seq, byte status, int code) {
+        if (conn.pendingReplyCnt == 0) {
+            writeResult(conn, seq, status, code);
+            return;
+        }
+
+        ++conn.pendingReplyCnt;
+        conn.lastReply = conn.lastReply.whenComplete((ignored, th) -> {
+            this.pendingReplies.offer(new Reply(conn, seq, status, code));
+            wakeup();
+        });
+    }
+
+    private void bind(Connection conn, int seq, ByteBuffer body) {
+        final String sessionId = SuzumeProtocol.getString(body);
+        final String playerId = SuzumeProtocol.getString(body);
+
+        if (sessionId == null || playerId == null) {
+            writeResult(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_BAD_REQUEST);
+            return;
+        }
+
+        final SuzumeSession session = this.registry.get(sessionId);
+        if (session == null || isClosed(session)) {
+            writeResult(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_SESSION);
+            return;
+        }
+
+        final int seatIdx = session.seatOf(playerId);
+        if (seatIdx < 0) {
+            writeResult(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_PLAYER);
+            return;
+        }
+
+        bindTo(conn, seq, session, seatIdx);
+    }
+
+    private void watch(Connection conn, int seq, ByteBuffer body) {
+        final String sessionId = SuzumeProtocol.getString(body);
+
+        if (sessionId == null) {
+            writeResult(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_BAD_REQUEST);
+            return;
+        }
+
+        final SuzumeSession session = this.registry.get(sessionId);
+        if (session == null || isClosed(session)) {
+            writeResult(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_SESSION);
+            return;
+        }
+
+        bindTo(conn, seq, session, StateDelta.NO_SEAT);
+    }
+
+    /**
+     * 연결을 세션의 자리에 지정하고 델타를 구독합니다. 구독 사이에 세션이 닫혔으면 종료 알림을 받지 못하므로
+     * 구독 후 상태를 다시 확인합니다(세션 구독과 종료는 같은 세션 모니터에서 일어남).<p>
+     * 응답 뒤에는 연결의 자리에 맞게 가린 기준 상태(<code>SuzumeSession.resync()</code>)를 보냅니다. 구독 후에 만들므로
+     * 빠지는 델타는 없으며, 묶음 큐에 남아있던 기준 상태 이전 델타는 클라이언트가 번호로 걸러냅니다.
+     */
+    private void bindTo(Connection conn, int seq, SuzumeSession session, int seatIdx) {
+        conn.session = session;
+        conn.seatIdx = seatIdx;
+        subscribe(conn, session, seatIdx);
+
+        if (isClosed(session)) {
+            unbind(conn);
+            writeResult(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_SESSION);
+            return;
+        }
+
+        writeResult(conn, seq, SuzumeProtocol.STATUS_ACCEPTED, 0);
+
+        // 쓰기 버퍼가 넘쳐 연결을 닫으면 방송 목록 락을 잡으므로, 세션 모니터 밖에서 기록
+        final List<StateDelta> baseline = new ArrayList<>();
+        session.resync(seatIdx, baseline::add);
+
+        for (int i = 0; i < baseline.size(); ++i) {
+            writeDelta(conn, baseline.get(i));
+        }
+    }
+
+    /**
+     * 연결의 세션 지정을 풀고 델타 구독을 해지합니다.
+     */
+    private void unbind(Connection conn) {
+        unsubscribe(conn);
+        conn.session = null;
+        conn.seatIdx = -1;
+    }
+
+    private static boolean isClosed(SuzumeSession session) {
+        return session.getSessionState() == SessionState.CLOSING;
+    }
+
+    /**
+     * 연결을 세션의 (세션, 자리) 묶음에 넣습니다. 묶음이 없으면 만들어 세션 방송에 등록합니다.
+     */
+    private void subscribe(Connection conn, SuzumeSession session, int viewerSeatIdx) {
+        unsubscribe(conn);
+
+        Fanout[] sessionFanouts = this.fanouts.get(session);
+        if (sessionFanouts == null) {
+            sessionFanouts = new Fanout[SuzumeSession.MAX_PLAYER_CNT + 1];
+            this.fanouts.put(session, sessionFanouts);
+        }
+
+        Fanout fanout = sessionFanouts[viewerSeatIdx + 1];
+        if (fanout == null) {
+            fanout = new Fanout(session, viewerSeatIdx);
+            fanout.broadcaster = this.broadcasters.subscribe(session, viewerSeatIdx, fanout);
+            sessionFanouts[viewerSeatIdx + 1] = fanout;
+        }
+
+        conn.fanout = fanout;
+        conn.fanoutIdx = fanout.connections.size();
+        fanout.connections.add(conn);
+    }
+
+    /**
+     * 연결을 델타 묶음에서 뺍니다. 묶음이 비면 세션 방송에서 해제합니다.
+     */
+    private void unsubscribe(Connection conn) {
+        final Fanout fanout = conn.fanout;
+        if (fanout == null) {
+            return;
+        }
+
+        // 마지막 연결과 자리 바꾸기
+        final Connection last = fanout.connections.remove(fanout.connections.size() - 1);
+        if (last != conn) {
+            fanout.connections.set(conn.fanoutIdx, last);
+            last.fanoutIdx = conn.fanoutIdx;
+        }
+
+        conn.fanout = null;
+
+        if (fanout.connections.isEmpty()) {
+            this.broadcasters.unsubscribe(fanout.broadcaster, fanout);
+
+            final Fanout[] sessionFanouts = this.fanouts.get(fanout.session);
+            sessionFanouts[fanout.viewerSeatIdx + 1] = null;
+
+            boolean empty = true;
+            for (Fanout other : sessionFanouts) {
+                empty &= other == null;
+            }
+
+            if (empty) {
+                this.fanouts.remove(fanout.session);
+            }
+        }
+    }
+
+    /**
+     * 액션 결과를 루프로 넘깁니다. (세션 우편함 스레드에서 호출)
+     */
+    private void reply(Connection conn, int seq, ActionResult result, Throwable th) {
+        if (th != null || result == null) {
+            this.pendingReplies.offer(new Reply(conn, seq, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_INTERNAL));
+        }
+        else {
+            this.pendingReplies.offer(new Reply(conn, seq, SuzumeProtocol.statusOf(result), SuzumeProtocol.codeOf(result)));
+        }
+
+        wakeup();
+    }
+
+    /**
+     * 응답 프레임을 연결의 쓰기 버퍼에 기록합니다. 실제 전송은 루프 끝에서 합니다.
+     */
+    private void writeResult(Connection conn, int seq, byte status, int code) {
+        if (conn.closed) {
+            return;
+        }
+
+        if (conn.writeBuf == null) {
+            conn.writeBuf = this.bufferPool.acquire();
+        }
+
+        // 응답을 읽지 않는 클라이언트
+        if (conn.writeBuf.remaining() < SuzumeProtocol.RESULT_FRAME_SIZE) {
+            close(conn);
+            return;
+        }
+
+        SuzumeProtocol.putResult(conn.writeBuf, seq, status, code);
+
+        if (!conn.dirty) {
+            conn.dirty = true;
+            this.dirtyConnections.add(conn);
+        }
+    }
+
+    /**
+     * 연결 하나에게만 보내는 델타 프레임(기준 상태)을 연결의 쓰기 버퍼에 기록합니다.
+     */
+    private void writeDelta(Connection conn, StateDelta delta) {
+        if (conn.closed) {
+            return;
+        }
+
+        if (conn.writeBuf == null) {
+            conn.writeBuf = this.bufferPool.acquire();
+        }
+
+        if (conn.writeBuf.remaining() < SuzumeProtocol.DELTA_FRAME_SIZE) {
+            close(conn);
+            return;
+        }
+
+        SuzumeProtocol.putDelta(conn.writeBuf, delta);
+
+        if (!conn.dirty) {
+            conn.dirty = true;
+            this.dirtyConnections.add(conn);
+        }
+    }
+
+    /**
+     * 공유 프레임을 연결의 쓰기 버퍼에 복사합니다.
+     */
+    private void writeFrame(Connection conn, SharedFrame frame) {
+        if (conn.closed) {
+            return;
+        }
+
+        if (conn.writeBuf == null) {
+            conn.writeBuf = this.bufferPool.acquire();
+        }
+
+        // 델타를 읽지 않는 클라이언트
+        if (conn.writeBuf.remaining() < frame.getLength()) {
+            close(conn);
+            return;
+        }
+
+        frame.copyTo(conn.writeBuf);
+
+        if (!conn.dirty) {
+            conn.dirty = true;
+            this.dirtyConnections.add(conn);
+        }
+    }
+
+    private void flushDirtyConnections() {
+        for (int i = 0; i < this.dirtyConnections.size(); ++i) {
+            final Connection conn = this.dirtyConnections.get(i);
+            conn.dirty = false;
+            flush(conn);
+        }
+
+        this.dirtyConnections.clear();
+    }
+
+    /**
+     * 쓰기 버퍼의 응답을 보냅니다. 다 보내지 못하면 쓰기 가능 이벤트를 기다립니다.
+     */
+    private void flush(Connection conn) {
+        final ByteBuffer buf = conn.writeBuf;
+        if (conn.closed || buf == null) {
+            return;
+        }
+
+        buf.flip();
+
+        try {
+            conn.channel.write(buf);
+        }
+        catch (IOException e) {
+            close(conn);
+            return;
+        }
+
+        if (buf.hasRemaining()) {
+            buf.compact();
+            setInterestOps(conn, SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+        else {
+            this.bufferPool.release(buf);
+            conn.writeBuf = null;
+            setInterestOps(conn, SelectionKey.OP_READ);
+        }
+    }
+
+    private static void setInterestOps(Connection conn, int ops) {
+        if (conn.key.interestOps() != ops) {
+            conn.key.interestOps(ops);
+        }
+    }
+
+    private void close(Connection conn) {
+        if (conn.closed) {
+            return;
+        }
+
+        conn.closed = true;
+        unsubscribe(conn);
+        conn.key.cancel();
+        closeQuietly(conn.channel);
+
+        if (conn.readBuf != null) {
+            this.bufferPool.release(conn.readBuf);
+            conn.readBuf = null;
+        }
+
+        if (conn.writeBuf != null) {
+            this.bufferPool.release(conn.writeBuf);
+            conn.writeBuf = null;
+        }
+
+        --this.connectionCnt;
+        this.connectionGauge.decrement();
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            // 무시
+        }
+    }
+
+    /**
+     * (세션, 자리)별 델타 묶음. 세션 방송의 수신자 하나로 등록되며, 연결 목록은 루프 스레드만 변경합니다.
+     */
+    final class Fanout implements SessionBroadcaster.FrameSink {
+
+        private final SuzumeSession session;
+        private final int viewerSeatIdx;
+        private final List<Connection> connections;
+        private SessionBroadcaster broadcaster;
+
+        private Fanout(SuzumeSession session, int viewerSeatIdx) {
+            this.session = session;
+            this.viewerSeatIdx = viewerSeatIdx;
+            this.connections = new ArrayList<>();
+        }
+
+        @Override
+        public void send(SharedFrame frame) {
+            pendingFrames.offer(new PendingFrame(this, frame));
+            wakeup();
+        }
+
+        @Override
+        public void sessionClosed() {
+            closedFanouts.offer(this);
+            wakeup();
+        }
+    }
+
+    /**
+     * 루프로 넘길 델타 프레임.
+     */
+    private static final class PendingFrame {
+
+        private final Fanout fanout;
+        private final SharedFrame frame;
+
+        private PendingFrame(Fanout fanout, SharedFrame frame) {
+            this.fanout = fanout;
+            this.frame = frame;
+        }
+    }
+
+    /**
+     * 루프로 넘길 액션 결과.
+     */
+    private static final class Reply {
+
+        private final Connection conn;
+        private final int seq;
+        private final byte status;
+        private final int code;
+
+        private Reply(Connection conn, int seq, byte status, int code) {
+            this.conn = conn;
+            this.seq = seq;
+            this.status = status;
+            this.code = code;
+        }
+    }
+}
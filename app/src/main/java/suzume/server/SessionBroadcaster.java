@@ -0,0 +1,158 @@
+package suzume.server;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import suzume.StateDelta;
+import suzume.SuzumeSession;
+
+/**
+ * 세션 델타 방송.<p>
+ * 세션 하나에 하나씩 붙어 가리지 않은 델타(<code>StateDelta.ALL_SEATS</code>)를 받고, 델타마다 공개 프레임을
+ * 한 번만 인코딩해 모든 수신자에게 같은 <code>SharedFrame</code>을 넘깁니다. 손패처럼 본인만 볼 수 있는 델타는
+ * 본인 자리의 수신자를 위한 비공개 프레임을 하나 더 인코딩합니다. 따라서 인코딩 비용은 관전자 수와 상관없이
+ * 델타당 최대 두 번이며, 수신자마다 드는 비용은 참조 횟수 증가와 <code>FrameSink.send()</code> 호출뿐입니다.
+ */
+public final class SessionBroadcaster implements StateDelta.Listener {
+
+    // 필드
+    private final SuzumeSession session;
+    private final List<Subscriber> subscribers;
+    private volatile long encodedFrameCnt;   // 세션 모니터 안에서만 증가
+
+    // 생성자
+    private SessionBroadcaster(SuzumeSession session) {
+        Objects.requireNonNull(this.session = session);
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.encodedFrameCnt = 0L;
+    }
+
+    // 정적 생성자
+    /**
+     * 세션에 방송을 붙입니다.
+     * @param session 대상 세션
+     * @return 세션의 델타를 받기 시작한 방송
+     */
+    public static SessionBroadcaster attach(SuzumeSession session) {
+        final SessionBroadcaster broadcaster = new SessionBroadcaster(session);
+        session.subscribe(StateDelta.ALL_SEATS, broadcaster);
+        return broadcaster;
+    }
+
+    /**
+     * 세션에서 방송을 뗍니다. 이후 델타는 전달되지 않습니다.
+     */
+    public void detach() {
+        this.session.unsubscribe(this);
+    }
+
+    /**
+     * 수신자를 추가합니다.
+     * @param viewerSeatIdx 수신자의 자리 번호 (관전자는 <code>StateDelta.NO_SEAT</code>)
+     * @param sink 프레임을 받을 대상
+     */
+    public void addSubscriber(int viewerSeatIdx, FrameSink sink) {
+        Objects.requireNonNull(sink);
+        this.subscribers.add(new Subscriber(viewerSeatIdx, sink));
+    }
+
+    /**
+     * 수신자를 제거합니다.
+     * @param sink 제거할 대상
+     */
+    public void removeSubscriber(FrameSink sink) {
+        this.subscribers.removeIf(subscriber -> subscriber.sink == sink);
+    }
+
+    public int getSubscriberCnt() {
+        return this.subscribers.size();
+    }
+
+    public SuzumeSession getSession() {
+        return this.session;
+    }
+
+    /**
+     * 지금까지 인코딩한 프레임 수를 반환합니다.
+     * @return 인코딩 횟수
+     */
+    public long getEncodedFrameCnt() {
+        return this.encodedFrameCnt;
+    }
+
+    @Override
+    public void onDelta(StateDelta delta) {
+        if (this.subscribers.isEmpty()) {
+            return;
+        }
+
+        final SharedFrame publicFrame = encode(delta.forViewer(StateDelta.NO_SEAT));
+        SharedFrame privateFrame = null;
+
+        try {
+            for (Subscriber subscriber : this.subscribers) {
+                SharedFrame frame = publicFrame;
+
+                if (delta.isPrivate() && subscriber.viewerSeatIdx == delta.getSeatIdx()) {
+                    if (privateFrame == null) {
+                        privateFrame = encode(delta);
+                    }
+
+                    frame = privateFrame;
+                }
+
+                subscriber.sink.send(frame.retain());
+            }
+        }
+        finally {
+            publicFrame.release();
+
+            if (privateFrame != null) {
+                privateFrame.release();
+            }
+        }
+    }
+
+    @Override
+    public void onSessionClosed() {
+        for (Subscriber subscriber : this.subscribers) {
+            subscriber.sink.sessionClosed();
+        }
+    }
+
+    private SharedFrame encode(StateDelta delta) {
+        final SharedFrame frame = SharedFrame.allocate();
+        SuzumeProtocol.putDelta(frame.writeBuffer(), delta);
+        frame.seal();
+        ++this.encodedFrameCnt;
+        return frame;
+    }
+
+    /**
+     * 프레임을 받을 대상.
+     */
+    public interface FrameSink {
+
+        // 프레임 전달 (세션 모니터를 잡은 채 호출됨). 받은 쪽은 다 쓴 후 frame.release() 해야 함
+        public void send(SharedFrame frame);
+
+        // 세션 종료 알림 (세션 모니터를 잡은 채 호출됨). 받은 쪽은 방송 구독을 해지해야 함
+        public default void sessionClosed() {
+        }
+    }
+
+    /**
+     * 수신자 정보.
+     */
+    private static final class Subscriber {
+
+        private final int viewerSeatIdx;
+        private final FrameSink sink;
+
+        private Subscriber(int viewerSeatIdx, FrameSink sink) {
+            this.viewerSeatIdx = viewerSeatIdx;
+            this.sink = sink;
+        }
+    }
+}
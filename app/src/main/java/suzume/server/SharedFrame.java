@@ -0,0 +1,114 @@
+package suzume.server;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 참조 횟수를 세는 공유 프레임.<p>
+ * 한 번 인코딩한 프레임을 여러 수신자가 함께 읽기 위해 사용합니다. 프레임을 넘겨받는 쪽마다
+ * <code>retain()</code>한 후 넘기고, 받은 쪽은 다 쓴 후 <code>release()</code>합니다.
+ * 마지막 참조가 해제되면 프레임은 풀로 돌아가 재사용되므로 해제 후에는 읽으면 안 됩니다.
+ */
+public final class SharedFrame {
+
+    // 상수
+    public static final int CAPACITY = 64;
+    private static final int MAX_POOLED_CNT = 4096;
+    private static final Queue<SharedFrame> pool = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pooledCnt = new AtomicInteger();
+
+    // 필드
+    private final byte[] bytes;
+    private final ByteBuffer writeBuf;  // 인코딩용 (bytes를 감싼 버퍼)
+    private final AtomicInteger refCnt;
+    private int length;
+
+    // 생성자
+    private SharedFrame() {
+        this.bytes = new byte[CAPACITY];
+        this.writeBuf = ByteBuffer.wrap(this.bytes);
+        this.refCnt = new AtomicInteger();
+        this.length = 0;
+    }
+
+    // 정적 생성자
+    /**
+     * 풀에서 비어있는 프레임을 꺼냅니다. 참조 횟수는 1입니다.
+     * @return 인코딩할 프레임
+     */
+    static SharedFrame allocate() {
+        SharedFrame frame = pool.poll();
+
+        if (frame != null) {
+            pooledCnt.decrementAndGet();
+        }
+        else {
+            frame = new SharedFrame();
+        }
+
+        frame.refCnt.set(1);
+        frame.writeBuf.clear();
+        return frame;
+    }
+
+    /**
+     * 인코딩용 버퍼를 반환합니다. 인코딩 후 <code>seal()</code>을 호출해야 합니다.
+     */
+    ByteBuffer writeBuffer() {
+        return this.writeBuf;
+    }
+
+    /**
+     * 인코딩을 마치고 프레임 길이를 확정합니다.
+     */
+    void seal() {
+        this.length = this.writeBuf.position();
+    }
+
+    /**
+     * 참조를 하나 더합니다.
+     * @return 이 프레임
+     */
+    public SharedFrame retain() {
+        this.refCnt.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * 참조를 하나 해제합니다. 마지막 참조였으면 프레임을 풀로 돌려보냅니다.
+     * @throws IllegalStateException 이미 해제된 프레임인 경우.
+     */
+    public void release() {
+        final int refCnt = this.refCnt.decrementAndGet();
+
+        if (refCnt == 0) {
+            if (pooledCnt.incrementAndGet() <= MAX_POOLED_CNT) {
+                pool.offer(this);
+            }
+            else {
+                pooledCnt.decrementAndGet();
+            }
+        }
+        else if (refCnt < 0) {
+            throw new IllegalStateException("Frame already released!");
+        }
+    }
+
+    /**
+     * 프레임을 버퍼에 복사합니다.
+     * @param dst 복사할 버퍼
+     */
+    public void copyTo(ByteBuffer dst) {
+        dst.put(this.bytes, 0, this.length);
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+
+    public int getRefCnt() {
+        return this.refCnt.get();
+    }
+}
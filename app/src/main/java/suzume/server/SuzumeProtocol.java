@@ -0,0 +1,253 @@
+package suzume.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import bgame.Action;
+import bgame.ActionResult;
+import suzume.RuleCode;
+import suzume.StateDelta;
+import suzume.SuzumeActionResult;
+import suzume.SuzumeSession;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.HuaryoAction;
+import suzume.actions.LoanAction;
+import suzume.actions.TsumoAction;
+
+/**
+ * 참새작 서버 바이너리 프로토콜.<p>
+ * 모든 프레임은 <code>[u16 본문 길이][본문]</code>이며 빅 엔디안입니다.
+ * <ul>
+ * <li>요청 본문: <code>[int 요청 번호][u8 명령][인자...]</code></li>
+ * <li>응답 본문: <code>[int 요청 번호][u8 상태][u8 코드]</code></li>
+ * <li>델타 본문: <code>[int PUSH_SEQ][u8 STATUS_DELTA][u8 0][StateDelta]</code></li>
+ * </ul>
+ * 연결은 먼저 <code>OP_BIND</code>로 세션과 플레이어를 지정한 후 액션 명령을 보냅니다.
+ * 응답의 요청 번호는 요청의 것을 그대로 돌려주며, 한 연결의 액션 응답은 (오류 응답도) 보낸 순서대로 도착합니다.
+ * <code>OP_BIND</code>(플레이어) 또는 <code>OP_WATCH</code>(관전자)를 한 연결에는 응답 바로 뒤에
+ * <code>RESYNC</code>로 시작하는 기준 상태가, 이후 세션의 상태 델타가 응답 사이사이에 델타 프레임으로 전달됩니다.
+ * 기준 상태의 번호 이하인 델타는 이미 반영된 것이므로 버립니다.
+ */
+public final class SuzumeProtocol {
+
+    // 상수
+    public static final int LENGTH_FIELD_SIZE = 2;
+    public static final int REQUEST_HEADER_SIZE = 5;    // 요청 번호 + 명령
+    public static final int MAX_FRAME_SIZE = 512;       // 본문 최대 길이
+    public static final int RESULT_BODY_SIZE = 6;
+    public static final int RESULT_FRAME_SIZE = LENGTH_FIELD_SIZE + RESULT_BODY_SIZE;
+    public static final int DELTA_FRAME_SIZE = RESULT_FRAME_SIZE + StateDelta.ENCODED_SIZE;
+    public static final int PUSH_SEQ = -1;              // 델타 프레임의 요청 번호
+
+    // 명령
+    public static final byte OP_BIND = 1;       // [u8 길이][세션 ID][u8 길이][플레이어 아이디] (UTF-8)
+    public static final byte OP_DORA = 2;
+    public static final byte OP_TSUMO = 3;
+    public static final byte OP_DISCARD = 4;    // [u8 버릴 패 'id']
+    public static final byte OP_HUARYO = 5;
+    public static final byte OP_LOAN = 6;       // [u8 론 대상 플레이어 자리 번호]
+    public static final byte OP_WATCH = 7;      // [u8 길이][세션 ID] (관전, 액션 불가)
+
+    // 응답 상태
+    public static final byte STATUS_ACCEPTED = 0;
+    public static final byte STATUS_REJECTED = 1;   // 코드: RuleCode 순서값 (알 수 없으면 UNKNOWN_RULE_CODE)
+    public static final byte STATUS_ERROR = 2;      // 코드: ERR_*
+    public static final byte STATUS_DELTA = 3;      // 본문 뒤에 StateDelta가 이어짐
+
+    // 오류 코드
+    public static final byte ERR_BAD_REQUEST = 1;       // 알 수 없는 명령 또는 잘못된 인자
+    public static final byte ERR_NOT_BOUND = 2;         // OP_BIND 전 또는 관전중에 액션을 보냄
+    public static final byte ERR_UNKNOWN_SESSION = 3;
+    public static final byte ERR_UNKNOWN_PLAYER = 4;
+    public static final byte ERR_INTERNAL = 5;          // 액션 수행 중 예외 발생
+    public static final int UNKNOWN_RULE_CODE = 0xFF;
+
+    private static final RuleCode[] RULE_CODES = RuleCode.values();
+
+    // 생성자
+    private SuzumeProtocol() {}
+
+    /**
+     * 요청 본문의 액션 명령을 해당 플레이어의 액션으로 변환합니다.
+     * @param session 대상 세션
+     * @param seatIdx 액션을 수행하는 플레이어 자리 번호
+     * @param op 명령 (<code>OP_BIND</code> 제외)
+     * @param body 명령 뒤의 인자가 남은 본문
+     * @return 액션. 알 수 없는 명령이거나 인자가 잘못된 경우 <code>null</code>
+     */
+    public static Action decodeAction(SuzumeSession session, int seatIdx, byte op, ByteBuffer body) {
+        switch (op) {
+            case OP_DORA:
+                return new DoraAction(session, seatIdx);
+            case OP_TSUMO:
+                return new TsumoAction(session, seatIdx);
+            case OP_DISCARD: {
+                if (!body.hasRemaining()) {
+                    return null;
+                }
+
+                final int tileId = body.get() & 0xFF;
+                return session.getTileById(tileId) == null ? null : new DiscardAndPassTurnAction(session, seatIdx, tileId);
+            }
+            case OP_HUARYO:
+                return new HuaryoAction(session, seatIdx);
+            case OP_LOAN: {
+                if (!body.hasRemaining()) {
+                    return null;
+                }
+
+                final int targetSeatIdx = body.get() & 0xFF;
+                return session.getPlayerBySeat(targetSeatIdx) == null ? null : new LoanAction(session, seatIdx, targetSeatIdx);
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 액션 결과를 응답 상태로 변환합니다.
+     * @param result 액션 결과
+     * @return <code>STATUS_ACCEPTED</code> 또는 <code>STATUS_REJECTED</code>
+     */
+    public static byte statusOf(ActionResult result) {
+        return result.isRejected() ? STATUS_REJECTED : STATUS_ACCEPTED;
+    }
+
+    /**
+     * 액션 결과를 응답 코드로 변환합니다.
+     * @param result 액션 결과
+     * @return 거절된 경우 <code>RuleCode</code> 순서값, 수락된 경우 <code>0</code>
+     */
+    public static int codeOf(ActionResult result) {
+        if (!result.isRejected()) {
+            return 0;
+        }
+
+        return result instanceof SuzumeActionResult ? ((SuzumeActionResult) result).getRuleCode().ordinal() : UNKNOWN_RULE_CODE;
+    }
+
+    /**
+     * 응답 코드를 규칙 코드로 변환합니다.
+     * @param code <code>STATUS_REJECTED</code> 응답의 코드
+     * @return 규칙 코드. 알 수 없는 코드면 <code>null</code>
+     */
+    public static RuleCode ruleCodeOf(int code) {
+        return code >= 0 && code < RULE_CODES.length ? RULE_CODES[code] : null;
+    }
+
+    /**
+     * 응답 프레임을 기록합니다.
+     * @param buf 기록할 버퍼
+     * @param seq 요청 번호
+     * @param status 응답 상태
+     * @param code 응답 코드
+     */
+    public static void putResult(ByteBuffer buf, int seq, byte status, int code) {
+        buf.putShort((short) RESULT_BODY_SIZE);
+        buf.putInt(seq);
+        buf.put(status);
+        buf.put((byte) code);
+    }
+
+    /**
+     * 델타 프레임을 기록합니다.
+     * @param buf 기록할 버퍼
+     * @param delta 보낼 델타 (보는 사람에 맞춰 가린 것)
+     */
+    public static void putDelta(ByteBuffer buf, StateDelta delta) {
+        buf.putShort((short) (RESULT_BODY_SIZE + StateDelta.ENCODED_SIZE));
+        buf.putInt(PUSH_SEQ);
+        buf.put(STATUS_DELTA);
+        buf.put((byte) 0);
+        delta.write(buf);
+    }
+
+    /**
+     * <code>OP_WATCH</code> 요청 프레임을 기록합니다.
+     * @param buf 기록할 버퍼
+     * @param seq 요청 번호
+     * @param sessionId 세션 ID
+     * @throws IllegalArgumentException 세션 ID가 255바이트보다 긴 경우.
+     */
+    public static void putWatch(ByteBuffer buf, int seq, String sessionId) {
+        final byte[] sessionIdBytes = sessionId.getBytes(StandardCharsets.UTF_8);
+
+        if (sessionIdBytes.length > 0xFF) {
+            throw new IllegalArgumentException("Id is too long! (sessionId: " + sessionId + ")");
+        }
+
+        buf.putShort((short) (REQUEST_HEADER_SIZE + 1 + sessionIdBytes.length));
+        buf.putInt(seq);
+        buf.put(OP_WATCH);
+        buf.put((byte) sessionIdBytes.length).put(sessionIdBytes);
+    }
+
+    /**
+     * <code>OP_BIND</code> 요청 프레임을 기록합니다.
+     * @param buf 기록할 버퍼
+     * @param seq 요청 번호
+     * @param sessionId 세션 ID
+     * @param playerId 플레이어 아이디
+     * @throws IllegalArgumentException 아이디가 255바이트보다 긴 경우.
+     */
+    public static void putBind(ByteBuffer buf, int seq, String sessionId, String playerId) {
+        final byte[] sessionIdBytes = sessionId.getBytes(StandardCharsets.UTF_8);
+        final byte[] playerIdBytes = playerId.getBytes(StandardCharsets.UTF_8);
+
+        if (sessionIdBytes.length > 0xFF || playerIdBytes.length > 0xFF) {
+            throw new IllegalArgumentException("Id is too long! (sessionId: " + sessionId + ", playerId: " + playerId + ")");
+        }
+
+        buf.putShort((short) (REQUEST_HEADER_SIZE + 2 + sessionIdBytes.length + playerIdBytes.length));
+        buf.putInt(seq);
+        buf.put(OP_BIND);
+        buf.put((byte) sessionIdBytes.length).put(sessionIdBytes);
+        buf.put((byte) playerIdBytes.length).put(playerIdBytes);
+    }
+
+    /**
+     * 인자가 없는 액션 요청 프레임을 기록합니다.
+     * @param buf 기록할 버퍼
+     * @param seq 요청 번호
+     * @param op 명령
+     */
+    public static void putAction(ByteBuffer buf, int seq, byte op) {
+        buf.putShort((short) REQUEST_HEADER_SIZE);
+        buf.putInt(seq);
+        buf.put(op);
+    }
+
+    /**
+     * 인자가 하나인 액션 요청 프레임을 기록합니다.
+     * @param buf 기록할 버퍼
+     * @param seq 요청 번호
+     * @param op 명령
+     * @param arg 인자 (패 'id' 또는 자리 번호)
+     */
+    public static void putAction(ByteBuffer buf, int seq, byte op, int arg) {
+        buf.putShort((short) (REQUEST_HEADER_SIZE + 1));
+        buf.putInt(seq);
+        buf.put(op);
+        buf.put((byte) arg);
+    }
+
+    /**
+     * <code>[u8 길이][UTF-8]</code> 문자열을 읽습니다.
+     * @return 문자열. 본문이 부족하면 <code>null</code>
+     */
+    static String getString(ByteBuffer body) {
+        if (!body.hasRemaining()) {
+            return null;
+        }
+
+        final int len = body.get() & 0xFF;
+        if (body.remaining() < len) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[len];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
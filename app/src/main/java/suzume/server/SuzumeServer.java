@@ -0,0 +1,186 @@
+package suzume.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import bgame.ActionMetrics;
+import bgame.SessionRegistry;
+import suzume.SuzumeSession;
+
+/**
+ * 참새작 논블로킹 게임 서버.<p>
+ * 수락 스레드 하나가 연결을 받아 이벤트 루프(셀렉터와 스레드 하나씩, 기본값은 코어 수만큼)에 번갈아 나눠주며,
+ * 이후 연결의 모든 입출력은 담당 루프 하나에서만 처리합니다. 요청은 <code>SuzumeProtocol</code>로 디코딩되어
+ * 세션 저장소에 등록된 <code>SuzumeSession</code>의 우편함으로 넘어가고, 결과는 응답 프레임으로 돌아옵니다.
+ * 유휴 연결은 객체 두 개(연결, 셀렉션 키) 외에 버퍼를 차지하지 않으므로 수만 개의 동시 연결을 처리할 수 있습니다.
+ * 세션에 묶인 연결(플레이어, 관전자)에는 <code>SessionBroadcaster</code>로 한 번만 인코딩한 상태 델타가 전달됩니다.
+ * (프로세스의 파일 디스크립터 제한은 따로 늘려야 합니다.)
+ */
+public final class SuzumeServer implements AutoCloseable {
+
+    // 로거
+    private static final Logger logger = LoggerFactory.getLogger(SuzumeServer.class);
+
+    // 상수
+    public static final int DEFAULT_PORT = 7700;
+    public static final int BUFFER_SIZE = 4096;             // 연결별 읽기/쓰기 버퍼 크기
+    public static final int MAX_POOLED_BUFFER_CNT = 1024;   // 루프별 보관할 최대 버퍼 수
+    public static final int ACCEPT_BACKLOG = 4096;
+    public static final String CONNECTIONS = "suzume.server.connections";  // 지표: 열린 연결 수
+    private static final long ACCEPT_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+
+    // 필드
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop[] eventLoops;
+    private final BroadcasterTable broadcasters;
+    private final Thread acceptThread;
+    private volatile boolean running;
+
+    // 생성자
+    private SuzumeServer(SessionRegistry<SuzumeSession> registry, InetSocketAddress bindAddress, int eventLoopCnt) throws IOException {
+        final LongAdder connectionGauge = ActionMetrics.global().gauge(CONNECTIONS);
+        this.broadcasters = new BroadcasterTable();
+
+        this.eventLoops = new EventLoop[eventLoopCnt];
+        for (int i = 0; i < eventLoopCnt; ++i) {
+            this.eventLoops[i] = new EventLoop(registry, this.broadcasters, new BufferPool(BUFFER_SIZE, MAX_POOLED_BUFFER_CNT),
+                                               connectionGauge, "suzume-server-loop-" + i);
+        }
+
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(bindAddress, ACCEPT_BACKLOG);
+        this.acceptThread = new Thread(this::runAccept, "suzume-server-accept");
+        this.running = true;
+    }
+
+    // 정적 생성자
+    /**
+     * 서버를 열고 연결을 받기 시작합니다.
+     * @param registry 요청이 참조할 세션 저장소
+     * @param bindAddress 바인드할 주소 (포트가 0이면 임의의 포트)
+     * @param eventLoopCnt 이벤트 루프 수
+     * @return 시작된 서버
+     * @throws IOException 주소를 바인드할 수 없는 경우.
+     * @throws IllegalArgumentException 이벤트 루프 수가 양수가 아닌 경우.
+     */
+    public static SuzumeServer start(SessionRegistry<SuzumeSession> registry, InetSocketAddress bindAddress, int eventLoopCnt) throws IOException {
+        Objects.requireNonNull(registry);
+        Objects.requireNonNull(bindAddress);
+
+        if (eventLoopCnt <= 0) {
+            throw new IllegalArgumentException("Event loop count must be positive! (eventLoopCnt: " + eventLoopCnt + ")");
+        }
+
+        final SuzumeServer server = new SuzumeServer(registry, bindAddress, eventLoopCnt);
+
+        for (EventLoop eventLoop : server.eventLoops) {
+            eventLoop.start();
+        }
+
+        server.acceptThread.start();
+        return server;
+    }
+
+    /**
+     * 서버를 열고 연결을 받기 시작합니다. 코어 수만큼의 이벤트 루프를 사용합니다.
+     * @param registry 요청이 참조할 세션 저장소
+     * @param bindAddress 바인드할 주소
+     * @return 시작된 서버
+     * @throws IOException 주소를 바인드할 수 없는 경우.
+     */
+    public static SuzumeServer start(SessionRegistry<SuzumeSession> registry, InetSocketAddress bindAddress) throws IOException {
+        return start(registry, bindAddress, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 서버가 바인드된 포트를 반환합니다.
+     * @return 포트 번호
+     */
+    public int getPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * 열려있는 연결 수를 반환합니다.
+     * @return 연결 수
+     */
+    public int getConnectionCnt() {
+        int connectionCnt = 0;
+        for (EventLoop eventLoop : this.eventLoops) {
+            connectionCnt += eventLoop.getConnectionCnt();
+        }
+
+        return connectionCnt;
+    }
+
+    /**
+     * 델타를 방송중인 세션 수를 반환합니다.
+     * @return 방송중인 세션 수
+     */
+    public int getBroadcastSessionCnt() {
+        return this.broadcasters.size();
+    }
+
+    /**
+     * 연결 수락을 멈추고 모든 연결과 이벤트 루프를 닫습니다.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+
+        try {
+            this.serverChannel.close();
+        }
+        catch (IOException e) {
+            logger.warn("Failed to close server channel!", e);
+        }
+
+        try {
+            this.acceptThread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (EventLoop eventLoop : this.eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+
+    /**
+     * 수락 스레드 루프.
+     */
+    private void runAccept() {
+        int nextLoopIdx = 0;
+
+        while (this.running) {
+            final SocketChannel channel;
+
+            try {
+                channel = this.serverChannel.accept();
+            }
+            catch (ClosedChannelException e) {
+                break;
+            }
+            catch (IOException e) {
+                // 파일 디스크립터 부족 등 일시적인 오류
+                logger.warn("Failed to accept connection!", e);
+                LockSupport.parkNanos(ACCEPT_RETRY_NANOS);
+                continue;
+            }
+
+            this.eventLoops[nextLoopIdx].addChannel(channel);
+            nextLoopIdx = (nextLoopIdx + 1) % this.eventLoops.length;
+        }
+    }
+}
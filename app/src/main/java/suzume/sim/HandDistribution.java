@@ -0,0 +1,148 @@
+package suzume.sim;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import suzume.SuzumeSession;
+import suzume.Tile;
+
+/**
+ * 6개 손패의 정확한 점수 분포.<p>
+ * 도라 패 하나를 연 후 남은 패에서 6개를 뽑는 모든 경우((도라 패, 손패) 쌍)를 센 결과이며,
+ * 도라 숫자값마다 <code>(해당 숫자값 패 수) * C(남은 패 수, 6)</code>개의 경우를 포함합니다.
+ * 경우의 수는 모두 정수로 세므로 합치는 순서와 무관하게 같은 결과가 나옵니다.
+ */
+public final class HandDistribution {
+
+    // 상수
+    public static final int SCORE_CAPACITY = 256;   // 점수 분포 크기 (테이블 값은 한 바이트)
+    public static final String CSV_HEADER = "doraValue,score,handCnt,probability";
+
+    // 필드
+    private final long[][] handCnt;     // [도라 숫자값][점수] 경우의 수 (도라 숫자값 0은 전체 합계)
+    private final long[] totalCnt;      // [도라 숫자값] 전체 경우의 수
+
+    // 생성자
+    HandDistribution() {
+        this.handCnt = new long[Tile.VAL_JUNG + 1][SCORE_CAPACITY];
+        this.totalCnt = new long[Tile.VAL_JUNG + 1];
+    }
+
+    /**
+     * 경우의 수를 기록합니다.
+     */
+    void record(int doraValue, int score, long cnt) {
+        this.handCnt[doraValue][score] += cnt;
+        this.handCnt[0][score] += cnt;
+        this.totalCnt[doraValue] += cnt;
+        this.totalCnt[0] += cnt;
+    }
+
+    /**
+     * 다른 분포를 이 분포에 더합니다.
+     * @param other 더할 분포
+     * @return 이 분포
+     */
+    HandDistribution merge(HandDistribution other) {
+        for (int doraValue = 0; doraValue <= Tile.VAL_JUNG; ++doraValue) {
+            for (int score = 0; score < SCORE_CAPACITY; ++score) {
+                this.handCnt[doraValue][score] += other.handCnt[doraValue][score];
+            }
+
+            this.totalCnt[doraValue] += other.totalCnt[doraValue];
+        }
+
+        return this;
+    }
+
+    /**
+     * 해당 도라와 점수의 경우의 수를 반환합니다.
+     * @param doraValue 도라 숫자값 (<code>0</code>: 모든 도라의 합계)
+     * @param score 점수 (미완성 손패는 <code>0</code>)
+     * @return 경우의 수
+     */
+    public long getHandCnt(int doraValue, int score) {
+        return this.handCnt[doraValue][score];
+    }
+
+    /**
+     * 해당 도라의 전체 경우의 수를 반환합니다.
+     * @param doraValue 도라 숫자값 (<code>0</code>: 모든 도라의 합계)
+     * @return 전체 경우의 수
+     */
+    public long getTotalCnt(int doraValue) {
+        return this.totalCnt[doraValue];
+    }
+
+    /**
+     * 해당 도라에서 6개 손패가 화료 가능한(<code>MIN_HUARYO_SCORE</code> 이상) 확률을 반환합니다.
+     * @param doraValue 도라 숫자값 (<code>0</code>: 모든 도라의 합계)
+     * @return 화료 확률
+     */
+    public double getWinProbability(int doraValue) {
+        long winCnt = 0L;
+        for (int score = SuzumeSession.MIN_HUARYO_SCORE; score < SCORE_CAPACITY; ++score) {
+            winCnt += this.handCnt[doraValue][score];
+        }
+
+        return (double) winCnt / this.totalCnt[doraValue];
+    }
+
+    /**
+     * 해당 도라에서 화료 가능한 손패의 평균 점수를 반환합니다.
+     * @param doraValue 도라 숫자값 (<code>0</code>: 모든 도라의 합계)
+     * @return 평균 점수. 화료 가능한 손패가 없으면 <code>0</code>
+     */
+    public double getMeanWinScore(int doraValue) {
+        long winCnt = 0L;
+        double scoreSum = 0.0;
+
+        for (int score = SuzumeSession.MIN_HUARYO_SCORE; score < SCORE_CAPACITY; ++score) {
+            winCnt += this.handCnt[doraValue][score];
+            scoreSum += (double) score * this.handCnt[doraValue][score];
+        }
+
+        return winCnt == 0L ? 0.0 : scoreSum / winCnt;
+    }
+
+    /**
+     * 분포를 CSV(<code>CSV_HEADER</code>)로 씁니다. 경우의 수가 0인 점수는 생략하며,
+     * 도라 숫자값 <code>0</code>의 행은 모든 도라의 합계입니다.
+     * @param writer 출력 대상
+     * @throws IOException 출력에 실패한 경우.
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        for (int doraValue = 0; doraValue <= Tile.VAL_JUNG; ++doraValue) {
+            for (int score = 0; score < SCORE_CAPACITY; ++score) {
+                final long cnt = this.handCnt[doraValue][score];
+
+                if (cnt != 0L) {
+                    writer.write(doraValue + "," + score + "," + cnt + "," + (double) cnt / this.totalCnt[doraValue] + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * 분포를 문자열로 출력합니다.
+     * @return 도라 숫자값별 화료 확률과 평균 점수
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{totalCnt:").append(this.totalCnt[0]).append(",winProbabilities:[");
+
+        for (int doraValue = 1; doraValue <= Tile.VAL_JUNG; ++doraValue) {
+            sb.append(doraValue == 1 ? "" : ",").append(String.format("%.6f", getWinProbability(doraValue)));
+        }
+
+        sb.append("],meanWinScores:[");
+        for (int doraValue = 1; doraValue <= Tile.VAL_JUNG; ++doraValue) {
+            sb.append(doraValue == 1 ? "" : ",").append(String.format("%.3f", getMeanWinScore(doraValue)));
+        }
+
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,209 @@
+package suzume.sim;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import suzume.HuaryoScoreTable;
+import suzume.SuzumeUtil;
+import suzume.Tile;
+
+/**
+ * 모든 6개 손패의 점수를 세는 열거기.<p>
+ * 점수는 손패의 <code>handKey</code>(숫자값마다 개수와 적색패 유무)로만 정해지므로, 패 하나하나 대신
+ * 같은 증분을 가진 패 종류(1~9의 일반패/적색패, 발, 중)별 개수의 조합을 열거하고
+ * 조합마다 <code>Π C(종류의 패 수, 뽑은 수)</code>개의 손패를 한 번에 셉니다.
+ * 도라 패는 손패와 겹칠 수 없으므로, 숫자값 <code>v</code>의 도라와 짝지어지는 경우의 수는
+ * <code>(조합의 손패 수) * (v 패 수 - 손패의 v 개수)</code>입니다.<p>
+ * 앞쪽 종류의 개수로 작업을 나눠 포크-조인 풀에서 수행하며, 경우의 수를 정수로 세므로 결과는 풀과 무관합니다.
+ */
+public final class HandEnumerator {
+
+    // 상수
+    private static final int SPLIT_DEPTH = 3;   // 작업을 나눌 앞쪽 종류 수
+
+    // 필드
+    private final long[] classKeys;             // [종류] 패 하나의 handKey 증분
+    private final int[] classSizes;             // [종류] 종류의 패 수
+    private final int[] valueSizes;             // [숫자값] 숫자값의 패 수
+    private final Tile[] doraTiles;             // [숫자값] 점수 계산에 사용할 도라 패
+    private final ForkJoinPool pool;
+
+    // 생성자
+    /**
+     * 생성자.
+     * @param pool 열거를 수행할 풀
+     */
+    public HandEnumerator(ForkJoinPool pool) {
+        Objects.requireNonNull(this.pool = pool);
+
+        final Map<Long, Integer> classSizeMap = new LinkedHashMap<>();
+        this.valueSizes = new int[Tile.VAL_JUNG + 1];
+        this.doraTiles = new Tile[Tile.VAL_JUNG + 1];
+
+        for (Tile tile : Tile.getDefinedTileList()) {
+            classSizeMap.merge(HuaryoScoreTable.keyOf(tile), 1, Integer::sum);
+            ++this.valueSizes[tile.getValue()];
+
+            if (this.doraTiles[tile.getValue()] == null) {
+                this.doraTiles[tile.getValue()] = tile;
+            }
+        }
+
+        final List<Map.Entry<Long, Integer>> classEntries = new ArrayList<>(classSizeMap.entrySet());
+        this.classKeys = new long[classEntries.size()];
+        this.classSizes = new int[classEntries.size()];
+
+        for (int i = 0; i < classEntries.size(); ++i) {
+            this.classKeys[i] = classEntries.get(i).getKey();
+            this.classSizes[i] = classEntries.get(i).getValue();
+        }
+    }
+
+    /**
+     * 생성자. 공용 포크-조인 풀을 사용합니다.
+     */
+    public HandEnumerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 모든 (도라 패, 6개 손패) 쌍의 점수를 셉니다.
+     * @return 점수 분포
+     */
+    public HandDistribution enumerate() {
+        return this.pool.invoke(new EnumerateTask(0, HuaryoScoreTable.HAND_SIZE, 0L, 1L));
+    }
+
+    /**
+     * 해당 종류부터의 조합을 한 스레드에서 열거합니다.
+     * @param classIdx 개수를 정할 종류
+     * @param remaining 더 뽑을 패 수
+     * @param handKey 지금까지 뽑은 손패의 <code>handKey</code>
+     * @param handCnt 지금까지의 조합에 해당하는 손패 수
+     * @param dist 결과를 기록할 분포
+     */
+    private void enumerate(int classIdx, int remaining, long handKey, long handCnt, HandDistribution dist) {
+        if (remaining == 0) {
+            record(handKey, handCnt, dist);
+            return;
+        }
+
+        if (classIdx == this.classKeys.length) {
+            return;
+        }
+
+        final int size = this.classSizes[classIdx];
+        for (int cnt = 0; cnt <= size && cnt <= remaining; ++cnt) {
+            enumerate(classIdx + 1, remaining - cnt, handKey + this.classKeys[classIdx] * cnt, handCnt * choose(size, cnt), dist);
+        }
+    }
+
+    /**
+     * 완성된 6개 손패 조합을 도라 숫자값마다 기록합니다.
+     */
+    private void record(long handKey, long handCnt, HandDistribution dist) {
+        for (int doraValue = 1; doraValue <= Tile.VAL_JUNG; ++doraValue) {
+            final int doraCnt = this.valueSizes[doraValue] - HuaryoScoreTable.countOf(handKey, doraValue);
+
+            if (doraCnt > 0) {
+                dist.record(doraValue, SuzumeUtil.calcHuaryoScore(this.doraTiles[doraValue], handKey), handCnt * doraCnt);
+            }
+        }
+    }
+
+    /**
+     * 이항 계수 <code>C(n, k)</code>를 반환합니다. (<code>n</code>은 종류의 패 수로 작음)
+     */
+    private static long choose(int n, int k) {
+        long result = 1L;
+        for (int i = 0; i < k; ++i) {
+            result = result * (n - i) / (i + 1);
+        }
+
+        return result;
+    }
+
+    /**
+     * 앞쪽 종류의 개수마다 작업을 나눠 수행하는 포크-조인 작업.
+     */
+    private final class EnumerateTask extends RecursiveTask<HandDistribution> {
+
+        private static final long serialVersionUID = 1L;
+
+        // 필드
+        private final int classIdx;
+        private final int remaining;
+        private final long handKey;
+        private final long handCnt;
+
+        // 생성자
+        EnumerateTask(int classIdx, int remaining, long handKey, long handCnt) {
+            this.classIdx = classIdx;
+            this.remaining = remaining;
+            this.handKey = handKey;
+            this.handCnt = handCnt;
+        }
+
+        @Override
+        protected HandDistribution compute() {
+            if (this.classIdx >= SPLIT_DEPTH || this.remaining == 0) {
+                final HandDistribution dist = new HandDistribution();
+                enumerate(this.classIdx, this.remaining, this.handKey, this.handCnt, dist);
+                return dist;
+            }
+
+            final int size = classSizes[this.classIdx];
+            final List<EnumerateTask> subtasks = new ArrayList<>(size + 1);
+
+            for (int cnt = 0; cnt <= size && cnt <= this.remaining; ++cnt) {
+                final EnumerateTask subtask = new EnumerateTask(this.classIdx + 1, this.remaining - cnt,
+                                                                this.handKey + classKeys[this.classIdx] * cnt, this.handCnt * choose(size, cnt));
+                subtasks.add(subtask);
+                subtask.fork();
+            }
+
+            final HandDistribution dist = new HandDistribution();
+            for (int i = subtasks.size() - 1; i >= 0; --i) {
+                dist.merge(subtasks.get(i).join());
+            }
+
+            return dist;
+        }
+    }
+
+    /**
+     * 모든 손패를 열거하여 분포를 CSV로 쓰고 요약과 소요 시간을 출력합니다.
+     * 점수 규칙을 바꾼 후 CI 등에서 결과 파일을 비교하는 용도입니다.
+     * @param args [출력 파일] (생략시 hand-distribution.csv)
+     * @throws IOException 출력에 실패한 경우.
+     */
+    public static void main(String[] args) throws IOException {
+        final Path path = Paths.get(args.length > 0 ? args[0] : "hand-distribution.csv");
+        final long startNanos = System.nanoTime();
+        final HandDistribution dist = new HandEnumerator().enumerate();
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            dist.writeCsv(writer);
+        }
+
+        System.out.println(dist);
+        System.out.println("elapsedMs: " + elapsedMs + ", output: " + path);
+    }
+}
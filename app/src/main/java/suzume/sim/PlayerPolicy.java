@@ -0,0 +1,55 @@
+package suzume.sim;
+
+import bgame.SessionRandom;
+import suzume.Player;
+import suzume.SuzumeSession;
+
+/**
+ * 자가 대국 시뮬레이션에서 플레이어의 선택을 결정하는 정책.<p>
+ * 정책 인스턴스는 시뮬레이션 작업(세션) 하나에서만 사용되므로 스레드 안전할 필요가 없으며,
+ * 작업용 상태를 필드에 두고 재사용해도 됩니다.
+ */
+public interface PlayerPolicy {
+
+    /**
+     * 버릴 패를 선택합니다. 손패가 6개인 턴 소유자에게 호출됩니다.
+     * @param session 게임 세션
+     * @param player 패를 버릴 플레이어
+     * @return 버릴 패 'id' (손패에 있는 패)
+     */
+    public int chooseDiscard(SuzumeSession session, Player player);
+
+    /**
+     * 화료 가능한 손패로 화료할지 결정합니다.
+     * @param session 게임 세션
+     * @param player 화료 가능한 플레이어
+     * @param score 화료 점수 (<code>SuzumeSession.MIN_HUARYO_SCORE</code> 이상)
+     * @return true: 화료 / false: 패를 버리고 계속 진행
+     */
+    public default boolean shouldHuaryo(SuzumeSession session, Player player, int score) {
+        return true;
+    }
+
+    /**
+     * 론 가능한 패로 론을 할지 결정합니다.
+     * @param session 게임 세션
+     * @param player 론 가능한 플레이어
+     * @param score 론 점수 (<code>SuzumeSession.MIN_HUARYO_SCORE</code> 이상)
+     * @return true: 론 / false: 넘김
+     */
+    public default boolean shouldLoan(SuzumeSession session, Player player, int score) {
+        return true;
+    }
+
+    /**
+     * 시뮬레이션 작업마다 정책 인스턴스를 만듭니다.
+     */
+    @FunctionalInterface
+    public interface Factory {
+        /**
+         * @param random 정책이 사용할 난수 생성기 (작업마다 시드가 정해져 재현 가능)
+         * @return 새 정책 인스턴스
+         */
+        public PlayerPolicy create(SessionRandom random);
+    }
+}
@@ -0,0 +1,265 @@
+package suzume.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import bgame.ActionResult;
+import bgame.SessionRandom;
+import suzume.HuaryoScoreTable;
+import suzume.Player;
+import suzume.SuzumeSession;
+import suzume.Tile;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.HuaryoAction;
+import suzume.actions.LoanAction;
+import suzume.actions.TsumoAction;
+
+/**
+ * 참새작 자가 대국 시뮬레이터.<p>
+ * 자리마다 정책(<code>PlayerPolicy</code>)을 지정하고, 지정한 수의 라운드를 포크-조인 풀에서 나눠 수행합니다.
+ * 라운드는 <code>TASK_CNT</code>개의 작업으로 나뉘며, 작업마다 독립된 세션(타이밍 휠 없음)과 정책 인스턴스,
+ * 집계를 만들어 다른 작업과 아무것도 공유하지 않습니다. 작업의 난수 시드는 시뮬레이터 시드와 작업 번호로
+ * 정해지므로 같은 시드의 결과는 풀의 스레드 수와 무관하게 같습니다.<p>
+ * 실제 서버와 같은 액션(<code>tryAction()</code>)으로 라운드를 진행하므로 규칙 변경이 그대로 반영되며,
+ * 론 대기는 타이머 대신 론 가능한 플레이어의 정책에 차례로 물어본 후 바로 닫습니다.
+ * 라운드는 세션이 정산하며(선 플레이어 순환 포함), 패 더미가 비어 유국으로 끝난 라운드도 집계합니다.
+ * (액션 이벤트 로그가 켜져 있으면(<code>AbstractAction</code> 로거의 INFO) 모든 액션이 출력되므로 꺼두고 실행합니다.)
+ */
+public final class SelfPlaySimulator {
+
+    // 상수
+    public static final int TASK_CNT = 256;         // 라운드를 나눌 작업 수 (작업마다 세션 하나)
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    // 필드
+    private final List<PlayerPolicy.Factory> policyFactories;  // [자리 번호] 정책 팩토리
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    // 생성자
+    /**
+     * 생성자.
+     * @param policyFactories 자리 순서대로의 정책 팩토리 (2~5개)
+     * @param seed 시뮬레이션 시드
+     * @param pool 작업을 수행할 풀
+     * @throws IllegalArgumentException 정책 수가 2보다 작거나 <code>SuzumeSession.MAX_PLAYER_CNT</code>보다 큰 경우.
+     */
+    public SelfPlaySimulator(List<PlayerPolicy.Factory> policyFactories, long seed, ForkJoinPool pool) {
+        Objects.requireNonNull(policyFactories);
+        Objects.requireNonNull(this.pool = pool);
+
+        final int playerCnt = policyFactories.size();
+        if (playerCnt < 2 || playerCnt > SuzumeSession.MAX_PLAYER_CNT) {
+            throw new IllegalArgumentException("Player count must between 2~5! (playerCount: " + playerCnt + ")");
+        }
+
+        this.policyFactories = new ArrayList<>(policyFactories);
+        this.seed = seed;
+    }
+
+    /**
+     * 생성자. 공용 포크-조인 풀을 사용합니다.
+     * @param policyFactories 자리 순서대로의 정책 팩토리 (2~5개)
+     * @param seed 시뮬레이션 시드
+     */
+    public SelfPlaySimulator(List<PlayerPolicy.Factory> policyFactories, long seed) {
+        this(policyFactories, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 라운드를 수행하고 결과를 집계합니다.
+     * @param roundCnt 수행할 라운드 수
+     * @return 모든 작업의 집계
+     * @throws IllegalArgumentException 라운드 수가 음수인 경우.
+     */
+    public SimulationStats run(long roundCnt) {
+        if (roundCnt < 0L) {
+            throw new IllegalArgumentException("Round count must not be negative! (roundCnt: " + roundCnt + ")");
+        }
+
+        return this.pool.invoke(new RoundTask(roundCnt, 0, TASK_CNT));
+    }
+
+    /**
+     * 작업 하나의 라운드를 한 세션에서 수행합니다.
+     * @param taskIdx 작업 번호
+     * @param roundCnt 수행할 라운드 수
+     * @return 작업의 집계
+     */
+    SimulationStats runTask(int taskIdx, long roundCnt) {
+        final long taskSeed = this.seed + SEED_STEP * (taskIdx + 1);
+        final int playerCnt = this.policyFactories.size();
+        final List<Player> playerList = new ArrayList<>(playerCnt);
+        final PlayerPolicy[] policies = new PlayerPolicy[playerCnt];
+
+        for (int seatIdx = 0; seatIdx < playerCnt; ++seatIdx) {
+            playerList.add(Player.of("sim-" + seatIdx, "sim-" + seatIdx));
+            policies[seatIdx] = this.policyFactories.get(seatIdx).create(SessionRandom.seeded(taskSeed ^ (seatIdx + 1)));
+        }
+
+        final SuzumeSession session = SuzumeSession.openSession("sim-" + taskIdx, playerList, SessionRandom.seeded(taskSeed));
+        session.setTimingWheel(null);
+        session.setTurnTimeoutMs(0L);
+
+        final SimulationStats stats = new SimulationStats(playerCnt);
+        try {
+            for (long i = 0L; i < roundCnt; ++i) {
+                playRound(session, policies, stats);
+            }
+        }
+        finally {
+            session.closeSession();
+        }
+
+        return stats;
+    }
+
+    /**
+     * 라운드 하나를 처음부터 끝까지 수행하고 결과를 집계합니다.
+     * @param session 타이밍 휠이 없는 세션
+     * @param policies [자리 번호] 정책
+     * @param stats 결과를 기록할 집계
+     * @throws IllegalStateException 정책이 규칙에 맞지 않는 선택을 한 경우.
+     */
+    public static void playRound(SuzumeSession session, PlayerPolicy[] policies, SimulationStats stats) {
+        session.initRound();
+
+        final int startSeatIdx = session.getRoundStartPlayer().getSeatIdx();
+        final int playerCnt = policies.length;
+        int tsumoCnt = 0;
+
+        expectAccepted(session.tryAction(new DoraAction(session, startSeatIdx)));
+        final int doraValue = session.getDoraTile().getValue();
+
+        while (true) {
+            final Player turnHolder = session.getTurnHolder();
+            final int seatIdx = turnHolder.getSeatIdx();
+
+            switch (session.getSuzumeState()) {
+                case WAITING_THUMO: {
+                    expectAccepted(session.tryAction(new TsumoAction(session, seatIdx)));
+                    ++tsumoCnt;
+                    break;
+                }
+                case WAITING_DISCARD: {
+                    final long handKey = turnHolder.getHandKey();
+                    final int score = HuaryoScoreTable.getScore(doraValue, handKey);
+
+                    if (score >= SuzumeSession.MIN_HUARYO_SCORE && policies[seatIdx].shouldHuaryo(session, turnHolder, score)) {
+                        expectAccepted(session.tryAction(new HuaryoAction(session, seatIdx)));
+                        stats.recordHuaryo(seatIdx, startSeatIdx, score, HuaryoScoreTable.getYakuBits(doraValue, handKey), tsumoCnt);
+                        return;
+                    }
+
+                    final int tileId = policies[seatIdx].chooseDiscard(session, turnHolder);
+                    expectAccepted(session.tryAction(new DiscardAndPassTurnAction(session, seatIdx, tileId)));
+                    break;
+                }
+                case WAITING_LOAN: {
+                    final Player targetPlayer = session.getLoanTargetPlayer();
+                    final Tile loanTile = session.getLoanTile();
+                    final int targetSeatIdx = targetPlayer.getSeatIdx();
+
+                    // 버린 플레이어의 다음 자리부터 차례로 물어봄
+                    for (int offset = 1; offset < playerCnt; ++offset) {
+                        final int loanSeatIdx = (targetSeatIdx + offset) % playerCnt;
+                        final Player loanPlayer = session.getPlayerBySeat(loanSeatIdx);
+
+                        if (!session.isLoanablePlayer(loanPlayer)) {
+                            continue;
+                        }
+
+                        final int score = loanPlayer.getWaitSet().getScore(session.getDoraTile(), loanTile);
+                        if (policies[loanSeatIdx].shouldLoan(session, loanPlayer, score)) {
+                            final long handKey = loanPlayer.getHandKey() + HuaryoScoreTable.keyOf(loanTile);
+                            expectAccepted(session.tryAction(new LoanAction(session, loanSeatIdx, targetSeatIdx)));
+                            stats.recordLoan(loanSeatIdx, targetSeatIdx, startSeatIdx, score, HuaryoScoreTable.getYakuBits(doraValue, handKey), tsumoCnt);
+                            return;
+                        }
+                    }
+
+                    session.closeLoanWindow();
+                    break;
+                }
+                case ROUND_FINISHED:
+                    // 패 더미가 비어 유국으로 정산됨
+                    stats.recordDraw(tsumoCnt);
+                    return;
+                default:
+                    throw new IllegalStateException("Unexpected state! (suzumeState: " + session.getSuzumeState() + ")");
+            }
+        }
+    }
+
+    /**
+     * 시뮬레이터가 수행한 액션이 수락되었는지 확인합니다.
+     */
+    private static void expectAccepted(ActionResult result) {
+        if (result.isRejected()) {
+            throw new IllegalStateException("Simulated action rejected! (" + result.getRejectMessage() + ")");
+        }
+    }
+
+    /**
+     * 작업 범위를 반으로 나눠 수행하는 포크-조인 작업.
+     */
+    private final class RoundTask extends RecursiveTask<SimulationStats> {
+
+        private static final long serialVersionUID = 1L;
+
+        // 필드
+        private final long roundCnt;    // 전체 라운드 수
+        private final int fromTaskIdx;  // 작업 번호 범위 (포함)
+        private final int toTaskIdx;    // 작업 번호 범위 (미포함)
+
+        // 생성자
+        RoundTask(long roundCnt, int fromTaskIdx, int toTaskIdx) {
+            this.roundCnt = roundCnt;
+            this.fromTaskIdx = fromTaskIdx;
+            this.toTaskIdx = toTaskIdx;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (this.toTaskIdx - this.fromTaskIdx == 1) {
+                // 나머지 라운드는 앞쪽 작업부터 하나씩 더 맡음
+                final long taskRoundCnt = this.roundCnt / TASK_CNT + (this.fromTaskIdx < this.roundCnt % TASK_CNT ? 1 : 0);
+                return runTask(this.fromTaskIdx, taskRoundCnt);
+            }
+
+            final int midTaskIdx = (this.fromTaskIdx + this.toTaskIdx) >>> 1;
+            final RoundTask left = new RoundTask(this.roundCnt, this.fromTaskIdx, midTaskIdx);
+            left.fork();
+
+            final SimulationStats stats = new RoundTask(this.roundCnt, midTaskIdx, this.toTaskIdx).compute();
+            return stats.merge(left.join());
+        }
+    }
+
+    /**
+     * 탐욕 정책끼리 시뮬레이션을 수행하고 집계와 처리량을 출력합니다.
+     * @param args [라운드 수] [플레이어 수] [시드] (생략시 1000000, 4, 0)
+     */
+    public static void main(String[] args) {
+        final long roundCnt = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        final int playerCnt = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+
+        final PlayerPolicy.Factory[] policyFactories = new PlayerPolicy.Factory[playerCnt];
+        Arrays.fill(policyFactories, SimplePolicies.greedy());
+
+        final SelfPlaySimulator simulator = new SelfPlaySimulator(Arrays.asList(policyFactories), seed);
+        final long startNanos = System.nanoTime();
+        final SimulationStats stats = simulator.run(roundCnt);
+        final long elapsedMs = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        System.out.println(stats);
+        System.out.println("elapsedMs: " + elapsedMs + ", roundsPerMinute: " + roundCnt * 60_000L / elapsedMs);
+    }
+}
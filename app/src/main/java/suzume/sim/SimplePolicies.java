@@ -0,0 +1,140 @@
+package suzume.sim;
+
+import java.util.List;
+
+import bgame.SessionRandom;
+import suzume.HuaryoScoreTable;
+import suzume.Player;
+import suzume.SuzumeSession;
+import suzume.Tile;
+import suzume.WaitSet;
+
+/**
+ * 기본 제공 플레이어 정책.
+ */
+public final class SimplePolicies {
+
+    // 상수
+    private static final int TENPAI_BONUS = 1000;   // 화료 가능한 대기패 하나당 가산점 (노텐 평가보다 항상 큼)
+
+    // 생성자
+    private SimplePolicies() {}
+
+    /**
+     * 쯔모한 패를 그대로 버리는 정책(쯔모기리)을 반환합니다.
+     * @return 정책 팩토리
+     */
+    public static PlayerPolicy.Factory tsumogiri() {
+        return random -> (session, player) -> {
+            final Tile drawnTile = session.getLastDrawnTile();
+
+            if (drawnTile != null && player.hasTileInHand(drawnTile)) {
+                return drawnTile.getId();
+            }
+
+            return player.getHandTiles().get(player.getHandTileCnt() - 1).getId();
+        };
+    }
+
+    /**
+     * 손패에서 무작위로 패를 버리는 정책을 반환합니다.
+     * @return 정책 팩토리
+     */
+    public static PlayerPolicy.Factory random() {
+        return random -> (session, player) -> player.getHandTiles().get(random.nextInt(player.getHandTileCnt())).getId();
+    }
+
+    /**
+     * 버린 후의 대기패가 가장 좋아지는 패를 버리는 정책을 반환합니다.
+     * @return 정책 팩토리
+     */
+    public static PlayerPolicy.Factory greedy() {
+        return GreedyPolicy::new;
+    }
+
+    /**
+     * 탐욕 정책. 화료 가능한 대기패 수와 점수가 가장 큰 손패를 남기며, 텐파이가 불가능하면
+     * 다른 패와 가장 이어지지 않는 패를 버립니다.
+     */
+    private static final class GreedyPolicy implements PlayerPolicy {
+
+        // 필드
+        private final WaitSet waitSet;  // 작업용 대기패 정보
+
+        // 생성자
+        GreedyPolicy(SessionRandom random) {
+            this.waitSet = new WaitSet();
+        }
+
+        @Override
+        public int chooseDiscard(SuzumeSession session, Player player) {
+            final List<Tile> handTiles = player.getHandTiles();
+            final long handKey = player.getHandKey();
+            final int doraValue = session.getDoraTile().getValue();
+            int bestEval = Integer.MIN_VALUE;
+            int bestTileId = handTiles.get(handTiles.size() - 1).getId();
+
+            for (int i = 0; i < handTiles.size(); ++i) {
+                final Tile tile = handTiles.get(i);
+                int eval = evalWaits(handKey - HuaryoScoreTable.keyOf(tile), doraValue);
+
+                if (eval == 0) {
+                    eval = -connectivityOf(handTiles, i);
+                }
+
+                if (eval > bestEval) {
+                    bestEval = eval;
+                    bestTileId = tile.getId();
+                }
+            }
+
+            return bestTileId;
+        }
+
+        /**
+         * 5개 손패의 대기패를 평가합니다.
+         * @return 화료 가능한 대기패가 없으면 <code>0</code>
+         */
+        private int evalWaits(long handKey, int doraValue) {
+            this.waitSet.update(handKey);
+
+            int eval = 0;
+            for (int value = 1; value <= HuaryoScoreTable.VALUE_CNT; ++value) {
+                if (!this.waitSet.isWaitingOn(value)) {
+                    continue;
+                }
+
+                final int score = Math.max(this.waitSet.getScore(doraValue, value, false), this.waitSet.getScore(doraValue, value, true));
+                if (score >= SuzumeSession.MIN_HUARYO_SCORE) {
+                    eval += TENPAI_BONUS + score;
+                }
+            }
+
+            return eval;
+        }
+
+        /**
+         * 패가 손패의 다른 패와 몸통을 만들 수 있는 정도를 반환합니다.
+         */
+        private static int connectivityOf(List<Tile> handTiles, int tileIdx) {
+            final int value = handTiles.get(tileIdx).getValue();
+            int connectivity = 1; // 노텐 평가는 항상 음수
+
+            for (int i = 0; i < handTiles.size(); ++i) {
+                if (i == tileIdx) {
+                    continue;
+                }
+
+                final int otherValue = handTiles.get(i).getValue();
+                if (otherValue == value) {
+                    connectivity += 2;
+                }
+                else if (value < Tile.VAL_BAL && otherValue < Tile.VAL_BAL && Math.abs(otherValue - value) <= 2) {
+                    connectivity += 1;
+                }
+            }
+
+            return connectivity;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package suzume.sim;
+
+import suzume.SuzumeSession;
+import suzume.Tile;
+import suzume.Yaku;
+
+/**
+ * 자가 대국 시뮬레이션 집계.<p>
+ * 작업마다 하나씩 만들어 한 스레드에서만 기록하고, 작업이 끝나면 <code>merge()</code>로 합칩니다.
+ * 합계만 저장하므로 합치는 순서와 무관하게 같은 결과가 나옵니다.
+ */
+public final class SimulationStats {
+
+    // 상수
+    public static final int MAX_SCORE = 63;     // 점수 분포의 마지막 칸 (이상은 모두 이 칸에 집계)
+    public static final int MAX_ROUND_LENGTH = Tile.getDefinedTileList().size();   // 라운드 길이(쯔모 수) 분포 크기
+
+    // 필드
+    private final int playerCnt;
+    private long roundCnt;
+    private long huaryoCnt;
+    private long loanCnt;
+    private long drawCnt;                       // 유국 (패 더미 소진)
+    private long startPlayerWinCnt;             // 선 플레이어가 이긴 라운드 수
+    private final long[] winCnt;                // [자리 번호] 이긴 라운드 수
+    private final long[] dealInCnt;             // [자리 번호] 론을 당한 라운드 수
+    private final long[] winScoreSum;           // [자리 번호] 이긴 점수 합계
+    private final long[] scoreCnt;              // [점수] 화료/론 횟수
+    private final long[] yakuCnt;               // [Yaku 순서값] 화료/론 손패에 포함된 횟수
+    private final long[] roundLengthCnt;        // [쯔모 수] 라운드 수
+
+    // 생성자
+    /**
+     * 생성자.
+     * @param playerCnt 플레이어 수
+     * @throws IllegalArgumentException 플레이어 수가 2보다 작거나 <code>SuzumeSession.MAX_PLAYER_CNT</code>보다 큰 경우.
+     */
+    public SimulationStats(int playerCnt) {
+        if (playerCnt < 2 || playerCnt > SuzumeSession.MAX_PLAYER_CNT) {
+            throw new IllegalArgumentException("Player count must between 2~5! (playerCount: " + playerCnt + ")");
+        }
+
+        this.playerCnt = playerCnt;
+        this.winCnt = new long[playerCnt];
+        this.dealInCnt = new long[playerCnt];
+        this.winScoreSum = new long[playerCnt];
+        this.scoreCnt = new long[MAX_SCORE + 1];
+        this.yakuCnt = new long[Yaku.values().length];
+        this.roundLengthCnt = new long[MAX_ROUND_LENGTH + 1];
+    }
+
+    /**
+     * 쯔모 화료로 끝난 라운드를 기록합니다.
+     */
+    void recordHuaryo(int winSeatIdx, int startSeatIdx, int score, int yakuBits, int tsumoCnt) {
+        ++this.huaryoCnt;
+        recordWin(winSeatIdx, startSeatIdx, score, yakuBits, tsumoCnt);
+    }
+
+    /**
+     * 론으로 끝난 라운드를 기록합니다.
+     */
+    void recordLoan(int winSeatIdx, int targetSeatIdx, int startSeatIdx, int score, int yakuBits, int tsumoCnt) {
+        ++this.loanCnt;
+        ++this.dealInCnt[targetSeatIdx];
+        recordWin(winSeatIdx, startSeatIdx, score, yakuBits, tsumoCnt);
+    }
+
+    /**
+     * 유국으로 끝난 라운드를 기록합니다.
+     */
+    void recordDraw(int tsumoCnt) {
+        ++this.drawCnt;
+        recordRound(tsumoCnt);
+    }
+
+    private void recordWin(int winSeatIdx, int startSeatIdx, int score, int yakuBits, int tsumoCnt) {
+        ++this.winCnt[winSeatIdx];
+        this.winScoreSum[winSeatIdx] += score;
+        ++this.scoreCnt[Math.min(score, MAX_SCORE)];
+
+        if (winSeatIdx == startSeatIdx) {
+            ++this.startPlayerWinCnt;
+        }
+
+        for (int bits = yakuBits; bits != 0; bits &= bits - 1) {
+            ++this.yakuCnt[Integer.numberOfTrailingZeros(bits)];
+        }
+
+        recordRound(tsumoCnt);
+    }
+
+    private void recordRound(int tsumoCnt) {
+        ++this.roundCnt;
+        ++this.roundLengthCnt[Math.min(tsumoCnt, MAX_ROUND_LENGTH)];
+    }
+
+    /**
+     * 다른 집계를 이 집계에 더합니다.
+     * @param other 더할 집계
+     * @return 이 집계
+     * @throws IllegalArgumentException 플레이어 수가 다른 경우.
+     */
+    public SimulationStats merge(SimulationStats other) {
+        if (other.playerCnt != this.playerCnt) {
+            throw new IllegalArgumentException("Player count mismatch! (playerCount: " + this.playerCnt + ", other: " + other.playerCnt + ")");
+        }
+
+        this.roundCnt += other.roundCnt;
+        this.huaryoCnt += other.huaryoCnt;
+        this.loanCnt += other.loanCnt;
+        this.drawCnt += other.drawCnt;
+        this.startPlayerWinCnt += other.startPlayerWinCnt;
+        add(this.winCnt, other.winCnt);
+        add(this.dealInCnt, other.dealInCnt);
+        add(this.winScoreSum, other.winScoreSum);
+        add(this.scoreCnt, other.scoreCnt);
+        add(this.yakuCnt, other.yakuCnt);
+        add(this.roundLengthCnt, other.roundLengthCnt);
+        return this;
+    }
+
+    private static void add(long[] to, long[] from) {
+        for (int i = 0; i < to.length; ++i) {
+            to[i] += from[i];
+        }
+    }
+
+    public int getPlayerCnt() {
+        return this.playerCnt;
+    }
+
+    public long getRoundCnt() {
+        return this.roundCnt;
+    }
+
+    public long getHuaryoCnt() {
+        return this.huaryoCnt;
+    }
+
+    public long getLoanCnt() {
+        return this.loanCnt;
+    }
+
+    public long getDrawCnt() {
+        return this.drawCnt;
+    }
+
+    public long getStartPlayerWinCnt() {
+        return this.startPlayerWinCnt;
+    }
+
+    public long getWinCnt(int seatIdx) {
+        return this.winCnt[seatIdx];
+    }
+
+    public long getDealInCnt(int seatIdx) {
+        return this.dealInCnt[seatIdx];
+    }
+
+    public long getWinScoreSum(int seatIdx) {
+        return this.winScoreSum[seatIdx];
+    }
+
+    /**
+     * 해당 점수로 이긴 횟수를 반환합니다.
+     * @param score 점수 (<code>MAX_SCORE</code>는 그 이상의 점수를 포함)
+     * @return 횟수
+     */
+    public long getScoreCnt(int score) {
+        return this.scoreCnt[score];
+    }
+
+    public long getYakuCnt(Yaku yaku) {
+        return this.yakuCnt[yaku.ordinal()];
+    }
+
+    /**
+     * 해당 쯔모 수로 끝난 라운드 수를 반환합니다.
+     * @param tsumoCnt 라운드 동안의 쯔모 수
+     * @return 라운드 수
+     */
+    public long getRoundLengthCnt(int tsumoCnt) {
+        return this.roundLengthCnt[tsumoCnt];
+    }
+
+    /**
+     * 자리의 승률(전체 라운드 중 이긴 라운드 비율)을 반환합니다.
+     * @param seatIdx 자리 번호
+     * @return 승률. 라운드가 없으면 <code>0</code>
+     */
+    public double getWinRate(int seatIdx) {
+        return ratio(this.winCnt[seatIdx], this.roundCnt);
+    }
+
+    /**
+     * 이긴 라운드 중 해당 역이 포함된 비율을 반환합니다.
+     * @param yaku 대상 역
+     * @return 비율. 이긴 라운드가 없으면 <code>0</code>
+     */
+    public double getYakuRate(Yaku yaku) {
+        return ratio(this.yakuCnt[yaku.ordinal()], this.huaryoCnt + this.loanCnt);
+    }
+
+    /**
+     * 이긴 라운드의 평균 점수를 반환합니다.
+     * @return 평균 점수. 이긴 라운드가 없으면 <code>0</code>
+     */
+    public double getMeanWinScore() {
+        long scoreSum = 0L;
+        for (long sum : this.winScoreSum) {
+            scoreSum += sum;
+        }
+
+        return ratio(scoreSum, this.huaryoCnt + this.loanCnt);
+    }
+
+    /**
+     * 라운드의 평균 쯔모 수를 반환합니다.
+     * @return 평균 쯔모 수. 라운드가 없으면 <code>0</code>
+     */
+    public double getMeanRoundLength() {
+        long tsumoSum = 0L;
+        for (int tsumoCnt = 0; tsumoCnt < this.roundLengthCnt.length; ++tsumoCnt) {
+            tsumoSum += tsumoCnt * this.roundLengthCnt[tsumoCnt];
+        }
+
+        return ratio(tsumoSum, this.roundCnt);
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator == 0L ? 0.0 : (double) numerator / denominator;
+    }
+
+    /**
+     * 집계를 문자열로 출력합니다.
+     * @return 라운드 결과, 자리별 승률, 평균 점수/길이, 역 비율
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+
+        sb.append("{roundCnt:").append(this.roundCnt)
+          .append(",huaryoCnt:").append(this.huaryoCnt)
+          .append(",loanCnt:").append(this.loanCnt)
+          .append(",drawCnt:").append(this.drawCnt)
+          .append(",startPlayerWinRate:").append(String.format("%.4f", ratio(this.startPlayerWinCnt, this.roundCnt)))
+          .append(",winRates:[");
+
+        for (int seatIdx = 0; seatIdx < this.playerCnt; ++seatIdx) {
+            sb.append(seatIdx == 0 ? "" : ",").append(String.format("%.4f", getWinRate(seatIdx)));
+        }
+
+        sb.append("],meanWinScore:").append(String.format("%.3f", getMeanWinScore()))
+          .append(",meanRoundLength:").append(String.format("%.3f", getMeanRoundLength()))
+          .append(",yakuRates:{");
+
+        for (Yaku yaku : Yaku.values()) {
+            sb.append(yaku.ordinal() == 0 ? "" : ",").append(yaku).append(':').append(String.format("%.4f", getYakuRate(yaku)));
+        }
+
+        return sb.append("}}").toString();
+    }
+}
@@ -0,0 +1,75 @@
+package bgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionJournalTest {
+
+    @Test void concurrentAppendsKeepEveryRecordInWriterOrder(@TempDir Path dir) throws Exception {
+        final int threadCnt = 8;
+        final int recordCnt = 20000;
+
+        // 작은 세그먼트로 교체가 자주 일어나게 함
+        try (ActionJournal journal = new ActionJournal(dir, 64 * 1024)) {
+            final List<Thread> threads = new ArrayList<>();
+
+            for (int t = 0; t < threadCnt; ++t) {
+                final int sessionNo = t;
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < recordCnt; ++i) {
+                            if (i % 1000 == 0) {
+                                journal.append(sessionNo, 2, new byte[] { (byte) sessionNo, (byte) (i / 1000) });
+                            }
+
+                            journal.append(sessionNo, 1, i, ~i);
+                        }
+                    }
+                    catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        final int[] nextSeq = new int[threadCnt];
+        final int[] payloadCnt = new int[threadCnt];
+
+        ActionJournal.read(dir, (epoch, sessionNo, type, payload) -> {
+            if (type == 2) {
+                assertEquals(sessionNo, payload.get());
+                assertEquals(payloadCnt[sessionNo]++, payload.get());
+                return;
+            }
+
+            final long arg0 = payload.getLong();
+            assertEquals(nextSeq[sessionNo]++, arg0);
+            assertEquals(~arg0, payload.getLong());
+        });
+
+        for (int t = 0; t < threadCnt; ++t) {
+            assertEquals(recordCnt, nextSeq[t]);
+            assertEquals(recordCnt / 1000, payloadCnt[t]);
+        }
+    }
+
+    @Test void appendAfterCloseThrows(@TempDir Path dir) throws IOException {
+        final ActionJournal journal = new ActionJournal(dir, 4096);
+        journal.append(0, 1, 1L, 2L);
+        journal.close();
+
+        assertTrue(journal.isClosed());
+        assertThrows(IllegalStateException.class, () -> journal.append(0, 1, 3L, 4L));
+    }
+}
@@ -0,0 +1,79 @@
+package bgame;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionMetricsTest {
+
+    private static final class SampleAction implements Action {
+        @Override
+        public ActionResult act() {
+            return null;
+        }
+    }
+
+    @Test void histogramPercentilesUseBucketUpperBounds() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 99; ++i) {
+            histogram.record(100L);     // [64, 128) 구간
+        }
+        histogram.record(5000L);        // [4096, 8192) 구간
+
+        assertEquals(100L, histogram.getCount());
+        assertEquals(127L, histogram.getPercentileNanos(0.5));
+        assertEquals(127L, histogram.getPercentileNanos(0.99));
+        assertEquals(8191L, histogram.getPercentileNanos(1.0));
+        assertEquals((99L * 100L + 5000L) / 100L, histogram.getMeanNanos());
+    }
+
+    @Test void countsRejectionsAndExposesThroughJmx() throws Exception {
+        final ActionMetrics metrics = new ActionMetrics();
+        metrics.setSampleRate(1);
+
+        final ActionMetrics.ActionStats stats = metrics.statsOf(SampleAction.class);
+        assertSame(stats, metrics.statsOf(SampleAction.class));
+        assertTrue(metrics.shouldSample());
+
+        stats.recordExecuted(10L, 200L);
+        stats.recordExecuted(-1L, -1L);     // 표본 추출되지 않은 액션
+        metrics.recordRejection(SampleAction.class, "당신의 턴이 아닙니다.");
+        metrics.recordRejection(SampleAction.class, "당신의 턴이 아닙니다.");
+        metrics.gauge("rooms").increment();
+
+        assertEquals(2L, stats.getExecutedCnt());
+        assertEquals(1L, stats.getExecHistogram().getCount());
+        assertEquals(2L, stats.getRejectedCnt());
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName("bgame.test:type=ActionMetrics");
+        metrics.registerMBean(objectName.toString());
+
+        try {
+            assertEquals(1, server.getAttribute(objectName, "SampleRate"));
+            assertEquals(Long.valueOf(2L), metrics.getActionCounts().get("SampleAction"));
+            assertEquals(Long.valueOf(2L), metrics.getRejectionReasonCounts().get("당신의 턴이 아닙니다."));
+            assertTrue(server.getAttribute(objectName, "Gauges") instanceof TabularData);
+            assertEquals(Long.valueOf(1L), metrics.getGauges().get("rooms"));
+        }
+        finally {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    @Test void rejectionReasonsAreCapped() {
+        final ActionMetrics metrics = new ActionMetrics();
+
+        for (int i = 0; i < ActionMetrics.MAX_REJECTION_REASON_CNT + 10; ++i) {
+            metrics.recordRejection(SampleAction.class, "점수가 부족합니다! (" + i + "점)");
+        }
+
+        assertTrue(metrics.getRejectionReasonCounts().size() <= ActionMetrics.MAX_REJECTION_REASON_CNT + 1);
+        assertEquals(Long.valueOf(10L), metrics.getRejectionReasonCounts().get(ActionMetrics.OTHER_REASON));
+    }
+}
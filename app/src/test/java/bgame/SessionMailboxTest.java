@@ -0,0 +1,85 @@
+package bgame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionMailboxTest {
+
+    private static class CountingSession extends Session {
+        private final AtomicBoolean acting = new AtomicBoolean();
+        private final int[] lastSeqByProducer = new int[4];
+        private int actedCnt = 0;
+        private boolean outOfOrder = false;
+        private boolean overlapped = false;
+
+        CountingSession() {
+            super("counting", SessionRandom.seeded(0L));
+        }
+
+        @Override
+        public ActionResult doAction(Action action) {
+            if (!acting.compareAndSet(false, true)) {
+                overlapped = true;
+            }
+
+            final ActionResult result = action.act();
+            ++actedCnt;
+            acting.set(false);
+            return result;
+        }
+    }
+
+    @Test void actionsRunInOrderOneAtATime() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final CountingSession session = new CountingSession();
+        final Thread[] producers = new Thread[4];
+
+        session.setExecutor(executor);
+
+        for (int p = 0; p < producers.length; ++p) {
+            final int producer = p;
+
+            producers[p] = new Thread(() -> {
+                for (int seq = 1; seq <= 5000; ++seq) {
+                    final int actionSeq = seq;
+                    session.submitAction(() -> {
+                        if (session.lastSeqByProducer[producer] != actionSeq - 1) {
+                            session.outOfOrder = true;
+                        }
+                        session.lastSeqByProducer[producer] = actionSeq;
+                        return null;
+                    });
+                }
+            });
+            producers[p].start();
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        session.submitAction(() -> null).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(4 * 5000 + 1, session.actedCnt);
+        assertFalse(session.outOfOrder);
+        assertFalse(session.overlapped);
+    }
+
+    @Test void failedActionCompletesExceptionally() {
+        final CountingSession session = new CountingSession();
+
+        CompletableFuture<ActionResult> future = session.submitAction(() -> {
+            throw new IllegalStateException("rejected");
+        });
+
+        Exception e = assertThrows(Exception.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+}
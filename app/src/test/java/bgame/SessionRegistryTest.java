@@ -0,0 +1,73 @@
+package bgame;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionRegistryTest {
+
+    private static class TestSession extends Session {
+        TestSession(String sessionId) {
+            super(sessionId, SessionRandom.seeded(0L));
+        }
+
+        @Override
+        public ActionResult doAction(Action action) {
+            return action.act();
+        }
+    }
+
+    @Test void registerAndLookup() {
+        SessionRegistry<TestSession> registry = new SessionRegistry<>(10, 1000L, Long.MAX_VALUE);
+        TestSession session = new TestSession("s1");
+
+        assertEquals(16, registry.getShardCnt());
+        assertTrue(registry.register(session));
+        assertFalse(registry.register(new TestSession("s1")));
+        assertSame(session, registry.get("s1"));
+        assertNull(registry.get("s2"));
+        assertEquals(1, registry.getSessionCnt());
+        assertTrue(registry.estimateMemoryBytes() >= session.estimateMemoryBytes());
+
+        assertSame(session, registry.unregister("s1"));
+        assertEquals(Session.SessionState.CLOSING, session.getSessionState());
+        assertEquals(0, registry.getSessionCnt());
+    }
+
+    @Test void evictIdleSessions() {
+        SessionRegistry<TestSession> registry = new SessionRegistry<>(1000L);
+
+        for (int i = 0; i < 100; ++i) {
+            registry.register(new TestSession("s" + i));
+        }
+
+        TestSession active = registry.get("s0");
+        long nowMs = System.currentTimeMillis();
+
+        assertEquals(0, registry.evictExpired(active.getLastActivityTimeMs()));
+        assertEquals(100, registry.evictExpired(nowMs + 1000L));
+        assertEquals(0, registry.getSessionCnt());
+        assertEquals(Session.SessionState.CLOSING, active.getSessionState());
+    }
+
+    @Test void activeSessionGaugeCountsRegisteredSessions() {
+        SessionRegistry<TestSession> registry = new SessionRegistry<>(1000L);
+        LongAdder gauge = ActionMetrics.global().gauge(ActionMetrics.ACTIVE_SESSIONS);
+        long before = gauge.sum();
+
+        // 등록하지 않은 세션은 세지 않음
+        TestSession unregistered = new TestSession("u1");
+        unregistered.closeSession();
+        assertEquals(before, gauge.sum());
+
+        TestSession session = new TestSession("s1");
+        assertTrue(registry.register(session));
+        assertFalse(registry.register(new TestSession("s1")));
+        assertEquals(before + 1, gauge.sum());
+
+        registry.unregister("s1");
+        session.closeSession();
+        assertEquals(before, gauge.sum());
+    }
+}
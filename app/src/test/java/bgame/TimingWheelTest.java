@@ -0,0 +1,51 @@
+package bgame;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private TimingWheel wheel;
+
+    @BeforeEach void setUp() {
+        wheel = new TimingWheel(1L, 8, "test-timing-wheel");
+    }
+
+    @AfterEach void tearDown() {
+        wheel.stop();
+    }
+
+    @Test void timeoutsFireAcrossWheelRounds() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final long startMs = System.currentTimeMillis();
+
+        wheel.schedule(2L, latch::countDown);
+        wheel.schedule(20L, latch::countDown);  // 버킷 수(8)보다 긴 지연
+        wheel.schedule(50L, latch::countDown);
+
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - startMs >= 50L);
+        assertEquals(0, wheel.getPendingCnt());
+    }
+
+    @Test void cancelledTimeoutNeverFires() throws Exception {
+        final AtomicInteger firedCnt = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        final TimingWheel.Timeout cancelled = wheel.schedule(10L, firedCnt::incrementAndGet);
+        wheel.schedule(30L, latch::countDown);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        assertEquals(0, firedCnt.get());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(0, wheel.getPendingCnt());
+    }
+}
@@ -0,0 +1,76 @@
+package suzume;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionEventLogTest {
+
+    private static final class CollectingSink implements ActionEventLog.Sink {
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void write(CharSequence line) {
+            lines.add(line.toString().replaceFirst("\"ts\":\\d+", "\"ts\":0"));
+        }
+    }
+
+    @Test void eventsAreWrittenAsJsonLinesInOrder() {
+        final CollectingSink sink = new CollectingSink();
+
+        try (ActionEventLog eventLog = new ActionEventLog(16, sink)) {
+            for (int i = 0; i < 100; ++i) {
+                while (!eventLog.emit("TsumoAction", "session", "p" + (i % 3), null, i % 44 + 1, ActionEventLog.NONE)) {
+                    Thread.yield(); // 링 버퍼가 빌 때까지 대기
+                }
+            }
+
+            while (!eventLog.emit("LoanAction", "session", "p\"1\\", "p2", 19, 7)) {
+                Thread.yield();
+            }
+        }
+
+        assertEquals(101, sink.lines.size());
+        assertEquals("{\"ts\":0,\"action\":\"TsumoAction\",\"session\":\"session\",\"actPlayer\":\"p0\",\"tile\":1}", sink.lines.get(0));
+        assertEquals("{\"ts\":0,\"action\":\"TsumoAction\",\"session\":\"session\",\"actPlayer\":\"p0\",\"tile\":12}", sink.lines.get(99));
+        assertEquals("{\"ts\":0,\"action\":\"LoanAction\",\"session\":\"session\",\"actPlayer\":\"p\\\"1\\\\\",\"targetPlayer\":\"p2\",\"tile\":19,\"score\":7}",
+                     sink.lines.get(100));
+    }
+
+    @Test void disabledSinkSkipsEvents() {
+        final ActionEventLog.Sink sink = new ActionEventLog.Sink() {
+            @Override public void write(CharSequence line) { fail(); }
+            @Override public boolean isEnabled() { return false; }
+        };
+
+        try (ActionEventLog eventLog = new ActionEventLog(16, sink)) {
+            assertFalse(eventLog.emit("TsumoAction", "session", "p1", null, 1, ActionEventLog.NONE));
+            assertEquals(0L, eventLog.getDroppedCnt());
+            assertFalse(eventLog.isWriterStarted()); // 출력이 꺼져 있으면 기록 스레드를 만들지 않음
+        }
+    }
+
+    @Test void idleWriterWakesOnNextEvent() throws InterruptedException {
+        final List<String> lines = new CopyOnWriteArrayList<>();
+
+        try (ActionEventLog eventLog = new ActionEventLog(16, line -> lines.add(line.toString()))) {
+            assertFalse(eventLog.isWriterStarted());
+
+            for (int i = 1; i <= 3; ++i) {
+                assertTrue(eventLog.emit("TsumoAction", "session", "p1", null, i, ActionEventLog.NONE));
+
+                final long deadline = System.currentTimeMillis() + 5000L;
+                while (lines.size() < i && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1L);
+                }
+
+                assertEquals(i, lines.size());
+                assertTrue(eventLog.isWriterStarted());
+                Thread.sleep(20L); // 기록 스레드가 잠든 후 다음 이벤트
+            }
+        }
+    }
+}
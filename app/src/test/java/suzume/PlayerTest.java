@@ -0,0 +1,67 @@
+package suzume;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerTest {
+
+    @Test void handTracksTilesAndKey() {
+        Player player = Player.of("p1", "player1");
+        Tile red1 = Tile.getDefinedTile(4);
+        Tile jung = Tile.getDefinedTile(44);
+
+        player.addTileToHand(jung);
+        player.addTileToHand(red1);
+        player.addTileToHand(red1);
+
+        assertEquals(2, player.getHandTileCnt());
+        assertEquals(Arrays.asList(red1, jung), player.getHandTiles());
+        assertEquals(HuaryoScoreTable.keyOf(Arrays.asList(red1, jung)), player.getHandKey());
+
+        assertTrue(player.removeTileFromHand(red1));
+        assertFalse(player.removeTileFromHand(red1));
+        assertEquals(Arrays.asList(jung), player.getHandTiles());
+        assertEquals(HuaryoScoreTable.keyOf(jung), player.getHandKey());
+    }
+
+    @Test void discardKeepsOrder() {
+        Player player = Player.of("p1", "player1");
+
+        assertNull(player.getLastDiscardTile());
+
+        player.addTileToDiscard(Tile.getDefinedTile(30));
+        player.addTileToDiscard(Tile.getDefinedTile(2));
+
+        assertEquals(Arrays.asList(Tile.getDefinedTile(30), Tile.getDefinedTile(2)), player.getDiscardTiles());
+        assertSame(Tile.getDefinedTile(2), player.getLastDiscardTile());
+
+        player.clearHandAndDiscard();
+
+        assertTrue(player.getDiscardTiles().isEmpty());
+        assertEquals(0L, player.getHandKey());
+    }
+
+    @Test void furitenByDiscardedValue() {
+        Player player = Player.of("p1", "player1");
+
+        player.addTileToDiscard(Tile.getDefinedTile(1)); // 1
+        player.addTileToDiscard(Tile.getDefinedTile(41)); // 중
+
+        assertTrue(player.isFuriten(Tile.getDefinedTile(4)));
+        assertTrue(player.isFuriten(Tile.getDefinedTile(44)));
+        assertFalse(player.isFuriten(Tile.getDefinedTile(5)));
+        assertTrue(SuzumeUtil.isDiscardedTileValue(player, Tile.getDefinedTile(2)));
+
+        player.clearHandAndDiscard();
+
+        assertFalse(player.isFuriten(Tile.getDefinedTile(4)));
+    }
+
+    @Test void tileViewsAreReadOnly() {
+        Player player = Player.of("p1", "player1");
+
+        assertThrows(UnsupportedOperationException.class, () -> player.getHandTiles().add(Tile.getDefinedTile(1)));
+    }
+}
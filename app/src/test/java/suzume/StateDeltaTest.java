@@ -0,0 +1,96 @@
+package suzume;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import bgame.SessionRandom;
+import suzume.SuzumeSession.SuzumeState;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.TsumoAction;
+
+class StateDeltaTest {
+
+    @Test void deltasAreSequencedAndFilteredPerViewer() {
+        final SuzumeSession session = SuzumeSession.openSession("delta", new ArrayList<>(Arrays.asList(
+            Player.of("p1", "player1"), Player.of("p2", "player2"))), SessionRandom.seeded(3L));
+        session.setTimingWheel(null);
+
+        final List<StateDelta> seat0 = new ArrayList<>();
+        final List<StateDelta> seat1 = new ArrayList<>();
+        final List<StateDelta> spectator = new ArrayList<>();
+        assertEquals(0L, session.subscribe(0, seat0::add));
+        session.subscribe(1, seat1::add);
+        session.subscribe(StateDelta.NO_SEAT, spectator::add);
+
+        session.initRound();
+        final Player starter = session.getRoundStartPlayer();
+        session.doAction(new DoraAction(session, starter.getSeatIdx()));
+        session.doAction(new TsumoAction(session, starter.getSeatIdx()));
+        final Tile drawnTile = session.getLastDrawnTile();
+        session.doAction(new DiscardAndPassTurnAction(session, starter.getSeatIdx(), drawnTile.getId()));
+
+        assertEquals(session.getDeltaSeq(), seat0.size());
+        assertEquals(seat0.size(), seat1.size());
+        assertEquals(seat0.size(), spectator.size());
+
+        final List<StateDelta> own = starter.getSeatIdx() == 0 ? seat0 : seat1;
+        final List<StateDelta> opponent = starter.getSeatIdx() == 0 ? seat1 : seat0;
+
+        for (int i = 0; i < own.size(); ++i) {
+            assertEquals(i + 1, own.get(i).getSeq());
+            assertEquals(i + 1, spectator.get(i).getSeq());
+
+            switch (own.get(i).getType()) {
+                case HAND_DEALT:
+                    final int dealtSeat = own.get(i).getSeatIdx();
+                    final List<StateDelta> dealtView = dealtSeat == starter.getSeatIdx() ? own : opponent;
+                    assertEquals(session.getPlayerBySeat(dealtSeat).getHandTileBits() != 0, dealtView.get(i).getValue() != 0);
+                    assertEquals(0L, spectator.get(i).getValue());
+                    break;
+                case TILE_DRAWN:
+                    assertEquals(drawnTile.getId(), own.get(i).getTileId());
+                    assertEquals(0, opponent.get(i).getTileId());
+                    assertEquals(0, spectator.get(i).getTileId());
+                    assertEquals(own.get(i).getValue(), spectator.get(i).getValue());
+                    break;
+                default:
+                    assertSame(own.get(i), spectator.get(i));
+            }
+        }
+
+        assertEquals(StateDelta.Type.ROUND_STARTED, spectator.get(0).getType());
+        assertEquals(StateDelta.Type.TILE_DISCARDED, spectator.get(spectator.size() - 3).getType());
+        assertEquals(StateDelta.Type.TURN_PASSED, spectator.get(spectator.size() - 2).getType());
+        assertEquals(SuzumeState.WAITING_THUMO.ordinal(), spectator.get(spectator.size() - 1).getValue());
+    }
+
+    @Test void binaryRoundTrip() {
+        final StateDelta delta = new StateDelta(42L, StateDelta.Type.LOAN, 1, 0, 44, 12L);
+        final ByteBuffer buf = ByteBuffer.allocate(StateDelta.ENCODED_SIZE);
+        delta.write(buf);
+        assertFalse(buf.hasRemaining());
+
+        buf.flip();
+        assertEquals(delta.toString(), StateDelta.read(buf).toString());
+    }
+
+    @Test void throwingListenerIsUnsubscribed() {
+        final SuzumeSession session = SuzumeSession.openSession("delta", new ArrayList<>(Arrays.asList(
+            Player.of("p1", "player1"), Player.of("p2", "player2"))));
+        final List<StateDelta> received = new ArrayList<>();
+
+        session.subscribe(0, delta -> { throw new IllegalStateException(); });
+        session.subscribe(0, received::add);
+        session.initRound();
+        session.initRound();
+
+        assertEquals(session.getDeltaSeq(), received.size());
+        assertEquals(StateDelta.Type.ROUND_STARTED, received.get(received.size() - 3).getType());
+    }
+}
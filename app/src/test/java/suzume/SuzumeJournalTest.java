@@ -0,0 +1,118 @@
+package suzume;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import bgame.ActionJournal;
+import bgame.SessionRandom;
+import suzume.SuzumeSession.SuzumeState;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.HuaryoAction;
+import suzume.actions.LoanAction;
+import suzume.actions.TsumoAction;
+
+class SuzumeJournalTest {
+
+    private static SuzumeSession openSession(String sessionId, SessionRandom random) {
+        final SuzumeSession session = SuzumeSession.openSession(sessionId, new ArrayList<>(Arrays.asList(
+            Player.of("p1", "player1"), Player.of("p2", "player2"), Player.of("p3", "player3"))), random);
+        session.setTimingWheel(null);
+        return session;
+    }
+
+    private static void playRounds(SuzumeSession session, int roundCnt) {
+        for (int round = 0; round < roundCnt; ++round) {
+            session.initRound();
+            session.doAction(new DoraAction(session, session.getRoundStartPlayer().getId()));
+
+            for (int turn = 0; session.getTileStockCnt() > 0; ++turn) {
+                final Player turnHolder = session.getTurnHolder();
+                session.doAction(new TsumoAction(session, turnHolder.getId()));
+
+                if (SuzumeUtil.calcHuaryoScore(session.getDoraTile(), turnHolder.getHandKey()) >= SuzumeSession.MIN_HUARYO_SCORE) {
+                    session.doAction(new HuaryoAction(session, turnHolder.getId()));
+                    break;
+                }
+
+                final String discardTileId = String.valueOf(turnHolder.getHandTiles().get(turn % 6).getId());
+                session.doAction(new DiscardAndPassTurnAction(session, turnHolder.getId(), discardTileId));
+
+                if (session.getSuzumeState() == SuzumeState.WAITING_LOAN) {
+                    if (turn % 2 == 0) {
+                        closeLoanWindowOrLoan(session);
+                        break;
+                    }
+
+                    session.closeLoanWindow();
+                }
+            }
+        }
+    }
+
+    private static void closeLoanWindowOrLoan(SuzumeSession session) {
+        for (Player player : session.getPlayerList()) {
+            if (session.isLoanablePlayer(player)) {
+                session.doAction(new LoanAction(session, player.getId(), session.getLoanTargetPlayer().getId()));
+                return;
+            }
+        }
+    }
+
+    private static void assertSameSession(SuzumeSession expected, SuzumeSession actual) {
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getSuzumeState(), actual.getSuzumeState());
+        assertEquals(expected.getTileStockCnt(), actual.getTileStockCnt());
+
+        for (int i = 0; i < expected.getPlayerList().size(); ++i) {
+            assertEquals(expected.getPlayerList().get(i).getHandTileBits(), actual.getPlayerList().get(i).getHandTileBits());
+            assertEquals(expected.getPlayerList().get(i).getDiscardTiles(), actual.getPlayerList().get(i).getDiscardTiles());
+        }
+    }
+
+    @Test void replayRebuildsSessionsAcrossSegments(@TempDir Path dir) throws Exception {
+        final SuzumeSession seeded = openSession("seeded", SessionRandom.seeded(7L));
+        final SuzumeSession secure = openSession("secure", SessionRandom.secure());
+
+        try (SuzumeJournal journal = new SuzumeJournal(new ActionJournal(dir, 4096))) {
+            journal.attach(seeded);
+            journal.attach(secure);
+            playRounds(seeded, 5);
+            playRounds(secure, 5);
+        }
+
+        final Map<String, SuzumeSession> replayed = SuzumeJournal.replay(dir);
+
+        assertEquals(Arrays.asList("seeded", "secure"), new ArrayList<>(replayed.keySet()));
+        assertSameSession(seeded, replayed.get("seeded"));
+        assertSameSession(secure, replayed.get("secure"));
+        assertEquals(seeded.getRandom().nextInt(1 << 30), replayed.get("seeded").getRandom().nextInt(1 << 30));
+        assertTrue(dir.toFile().list().length > 1);
+    }
+
+    @Test void appendingAfterRestartStartsNewSegment(@TempDir Path dir) throws Exception {
+        final SuzumeSession first = openSession("first", SessionRandom.seeded(1L));
+        final SuzumeSession second = openSession("second", SessionRandom.seeded(2L));
+
+        try (SuzumeJournal journal = new SuzumeJournal(new ActionJournal(dir))) {
+            journal.attach(first);
+            playRounds(first, 1);
+        }
+
+        try (SuzumeJournal journal = new SuzumeJournal(new ActionJournal(dir))) {
+            journal.attach(second);
+            playRounds(second, 2);
+        }
+
+        final Map<String, SuzumeSession> replayed = SuzumeJournal.replay(dir);
+
+        assertSameSession(first, replayed.get("first"));
+        assertSameSession(second, replayed.get("second"));
+    }
+}
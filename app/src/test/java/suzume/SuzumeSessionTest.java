@@ -0,0 +1,314 @@
+package suzume;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import bgame.ActionResult;
+import bgame.Session;
+import bgame.SessionRandom;
+import bgame.SessionRegistry;
+import bgame.TimingWheel;
+import suzume.SuzumeSession.SuzumeState;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.LoanAction;
+import suzume.actions.TsumoAction;
+
+class SuzumeSessionTest {
+
+    private SuzumeSession session;
+    private Player discarder;
+    private Player waiter;
+
+    private static void setHand(Player player, int... ids) {
+        player.clearHandAndDiscard();
+        for (int id : ids) {
+            player.addTileToHand(Tile.getDefinedTile(id));
+        }
+    }
+
+    @BeforeEach void setUp() {
+        session = SuzumeSession.openSession("session", new ArrayList<>(Arrays.asList(Player.of("p1", "player1"), Player.of("p2", "player2"))));
+        session.initRound();
+
+        discarder = session.getTurnHolder();
+        waiter = session.getPlayerList().get(0) == discarder ? session.getPlayerList().get(1) : session.getPlayerList().get(0);
+
+        setHand(discarder, 19, 21, 25, 29, 33, 37); // 5, 6, 7, 8, 9, 발
+        setHand(waiter, 5, 6, 7, 17, 18);           // 2,2,2 + 5,5 (5 대기, 탕야오)
+        session.setDoraTile(Tile.getDefinedTile(1));
+        session.updateLoanablePlayers();
+        session.setSuzumeState(SuzumeState.WAITING_DISCARD);
+    }
+
+    @Test void initRoundDealsFromShuffledStock() {
+        SuzumeSession newSession = SuzumeSession.openSession("deal", new ArrayList<>(Arrays.asList(
+            Player.of("p1", "player1"), Player.of("p2", "player2"), Player.of("p3", "player3"))));
+
+        for (int round = 0; round < 3; ++round) {
+            newSession.initRound();
+
+            long dealtTileBits = 0L;
+            for (Player player : newSession.getPlayerList()) {
+                assertEquals(5, player.getHandTileCnt());
+                assertEquals(0L, dealtTileBits & player.getHandTileBits());
+                dealtTileBits |= player.getHandTileBits();
+            }
+
+            assertEquals(44 - 15, newSession.getTileStockCnt());
+            assertEquals(44 - 15, newSession.getTileStock().size());
+
+            for (Tile tile : newSession.getTileStock()) {
+                assertEquals(0L, dealtTileBits & (1L << (tile.getId() - 1)));
+                dealtTileBits |= 1L << (tile.getId() - 1);
+            }
+
+            assertEquals((1L << 44) - 1, dealtTileBits);
+        }
+    }
+
+    @Test void seededSessionsDealTheSameTiles() {
+        SuzumeSession session1 = SuzumeSession.openSession("s1", new ArrayList<>(Arrays.asList(Player.of("p1", "player1"), Player.of("p2", "player2"))), SessionRandom.seeded(42L));
+        SuzumeSession session2 = SuzumeSession.openSession("s2", new ArrayList<>(Arrays.asList(Player.of("p1", "player1"), Player.of("p2", "player2"))), SessionRandom.seeded(42L));
+
+        for (int round = 0; round < 3; ++round) {
+            session1.initRound();
+            session2.initRound();
+
+            assertEquals(session1.getTileStock(), session2.getTileStock());
+            assertEquals(session1.getPlayerList().get(0).getHandTileBits(), session2.getPlayerList().get(0).getHandTileBits());
+        }
+
+        assertEquals(42L, session1.getRandom().getSeed());
+        assertFalse(SessionRandom.secure().isReproducible());
+    }
+
+    @Test void discardOfWaitingTileTriggersLoan() {
+        session.doAction(new DiscardAndPassTurnAction(session, discarder.getId(), "19"));
+
+        assertEquals(SuzumeState.WAITING_LOAN, session.getSuzumeState());
+        assertSame(discarder, session.getLoanTargetPlayer());
+        assertTrue(session.isLoanablePlayer(waiter));
+        assertFalse(session.isLoanablePlayer(discarder));
+
+        session.doAction(new LoanAction(session, waiter.getId(), discarder.getId()));
+    }
+
+    @Test void loanSettlementChargesDiscarderAndAdvancesRound() {
+        assertEquals(1, session.getRound());
+        assertEquals(0, session.getRoundStartPlayer().getSeatIdx()); // 첫 라운드는 0번 자리부터
+
+        session.doAction(new DiscardAndPassTurnAction(session, discarder.getId(), "19"));
+        session.doAction(new LoanAction(session, waiter.getId(), discarder.getId()));
+
+        final RoundSettlement settlement = session.getSettlement();
+        final int score = settlement.getScore();
+        assertEquals(RoundSettlement.Result.LOAN, settlement.getResult());
+        assertTrue(score >= SuzumeSession.MIN_HUARYO_SCORE);
+        assertEquals(Player.START_SCORE - score, discarder.getScore());
+        assertEquals(Player.START_SCORE + score, waiter.getScore());
+        assertEquals(SuzumeState.ROUND_FINISHED, session.getSuzumeState());
+        assertEquals(2, session.getRound());
+        assertEquals(1, session.getRoundStartPlayer().getSeatIdx());
+
+        session.initRound();
+        assertEquals(RoundSettlement.Result.NONE, session.getSettlement().getResult());
+        assertEquals(2, session.getRound());
+        assertEquals(1, session.getRoundStartPlayer().getSeatIdx());
+    }
+
+    @Test void deferredSettlementsApplyInOneBatch() {
+        final List<SuzumeSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            final SuzumeSession newSession = SuzumeSession.openSession("batch" + i, new ArrayList<>(Arrays.asList(
+                Player.of("p1", "player1"), Player.of("p2", "player2"), Player.of("p3", "player3"))));
+            newSession.setSettlementDeferred(true);
+            newSession.initRound();
+            sessions.add(newSession);
+        }
+
+        // 쯔모 7점: 나머지 두 명이 4점씩 (올림), 점수가 부족한 플레이어는 남은 점수만
+        final List<Player> players = sessions.get(0).getPlayerList();
+        players.get(2).setScore(3);
+        sessions.get(0).finishRoundByTsumo(players.get(0), 7);
+        sessions.get(1).finishRound();
+
+        assertEquals(Player.START_SCORE, players.get(0).getScore());
+        assertEquals(SuzumeState.ROUND_FINISHED, sessions.get(0).getSuzumeState());
+        assertEquals(2, SuzumeSession.settleRounds(sessions));
+        assertEquals(0, SuzumeSession.settleRounds(sessions));
+
+        assertEquals(Player.START_SCORE + 4 + 3, players.get(0).getScore());
+        assertEquals(Player.START_SCORE - 4, players.get(1).getScore());
+        assertEquals(0, players.get(2).getScore());
+        assertEquals(-3, sessions.get(0).getSettlement().getPayment(2));
+
+        assertEquals(RoundSettlement.Result.DRAW, sessions.get(1).getSettlement().getResult());
+        assertEquals(Player.START_SCORE, sessions.get(1).getPlayerList().get(0).getScore());
+        assertEquals(2, sessions.get(1).getRound());
+        assertEquals(1, sessions.get(2).getRound());
+        assertEquals(1, sessions.get(0).getRoundStartPlayer().getSeatIdx());
+    }
+
+    @Test void deferredSettlementAppliesOnceWhenRacingInitRound() throws InterruptedException {
+        final SuzumeSession deferred = SuzumeSession.openSession("race", new ArrayList<>(Arrays.asList(
+            Player.of("p1", "player1"), Player.of("p2", "player2"))));
+        deferred.setTimingWheel(null);
+        deferred.setSettlementDeferred(true);
+        deferred.initRound();
+
+        final List<SuzumeSession> sessions = Arrays.asList(deferred);
+        final List<Player> players = deferred.getPlayerList();
+
+        for (int i = 0; i < 200; ++i) {
+            deferred.finishRoundByTsumo(players.get(i % 2), 1);
+
+            // 정산 일괄 적용과 다음 라운드 시작이 겹쳐도 정산은 한 번만 적용
+            final CountDownLatch start = new CountDownLatch(1);
+            final Thread settler = new Thread(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+                SuzumeSession.settleRounds(sessions);
+            });
+            settler.start();
+            start.countDown();
+            deferred.initRound();
+            settler.join();
+
+            assertEquals(i + 2, deferred.getRound());
+            assertEquals(Player.START_SCORE * 2, players.get(0).getScore() + players.get(1).getScore());
+            assertEquals(SuzumeState.WAITING_DORA, deferred.getSuzumeState());
+        }
+    }
+
+    @Test void timerAutoPlayKeepsSessionIdleAndStopsOnClose() throws InterruptedException {
+        final TimingWheel wheel = new TimingWheel(5L, 64, "test-wheel");
+
+        try {
+            final SuzumeSession timed = SuzumeSession.openSession("timed", new ArrayList<>(Arrays.asList(
+                Player.of("p1", "player1"), Player.of("p2", "player2"))), SessionRandom.seeded(3L));
+            final SessionRegistry<SuzumeSession> registry = new SessionRegistry<>(60_000L);
+            registry.register(timed);
+            timed.setTimingWheel(wheel);
+            timed.setTurnTimeoutMs(20L);
+            timed.initRound();
+            timed.doAction(new DoraAction(timed, timed.getRoundStartPlayer().getSeatIdx()));
+
+            final long activityMs = timed.getLastActivityTimeMs();
+            final Player firstHolder = timed.getTurnHolder();
+
+            // 턴 제한 시간이 지나면 대신 쯔모/버리기 하지만 플레이어 활동으로 세지 않음
+            for (int i = 0; i < 200 && timed.getTurnHolder() == firstHolder; ++i) {
+                Thread.sleep(10L);
+            }
+
+            assertNotSame(firstHolder, timed.getTurnHolder());
+            assertEquals(activityMs, timed.getLastActivityTimeMs());
+
+            // 닫힌 세션은 타이머로 진행되지 않고 액션을 거절함
+            registry.unregister("timed");
+            final int discardCnt = firstHolder.getDiscardTileCnt();
+            final Player holder = timed.getTurnHolder();
+            Thread.sleep(100L);
+
+            assertEquals(Session.SessionState.CLOSING, timed.getSessionState());
+            assertSame(holder, timed.getTurnHolder());
+            assertEquals(discardCnt, firstHolder.getDiscardTileCnt());
+            assertEquals(RuleCode.SESSION_CLOSED,
+                         ((SuzumeActionResult) timed.tryAction(new TsumoAction(timed, holder.getSeatIdx()))).getRuleCode());
+            assertThrows(RuleException.class, () -> timed.doAction(new TsumoAction(timed, holder.getSeatIdx())));
+        }
+        finally {
+            wheel.stop();
+        }
+    }
+
+    @Test void discardOfOtherTilePassesTurn() {
+        session.doAction(new DiscardAndPassTurnAction(session, discarder.getId(), "21"));
+
+        assertEquals(SuzumeState.WAITING_THUMO, session.getSuzumeState());
+        assertSame(waiter, session.getTurnHolder());
+        assertThrows(RuleException.class, () -> session.doAction(new LoanAction(session, waiter.getId(), discarder.getId())));
+    }
+
+    @Test void furitenPlayerCannotLoan() {
+        waiter.addTileToDiscard(Tile.getDefinedTile(20)); // 5
+        session.updateLoanablePlayers();
+
+        session.doAction(new DiscardAndPassTurnAction(session, discarder.getId(), "19"));
+
+        assertEquals(SuzumeState.WAITING_THUMO, session.getSuzumeState());
+    }
+
+    @Test void rejectedActionsReturnSharedResultWithoutStackTrace() {
+        final ActionResult rejected = session.tryAction(new TsumoAction(session, discarder.getId()));
+
+        assertTrue(rejected.isRejected());
+        assertSame(SuzumeActionResult.rejected(RuleCode.NOT_NOW), rejected);
+        assertEquals("지금 수행할 수 없습니다.", rejected.getRejectMessage());
+
+        final RuleException e = assertThrows(RuleException.class, () -> session.doAction(new TsumoAction(session, discarder.getId())));
+        assertSame(RuleCode.NOT_NOW, e.getCode());
+        assertEquals(0, e.getStackTrace().length);
+
+        assertSame(SuzumeActionResult.ACCEPTED, session.tryAction(new DiscardAndPassTurnAction(session, discarder.getId(), "21")));
+    }
+
+    @Test void seatIndexedActionsMatchIdActions() {
+        for (int seatIdx = 0; seatIdx < session.getPlayerList().size(); ++seatIdx) {
+            final Player player = session.getPlayerList().get(seatIdx);
+
+            assertEquals(seatIdx, player.getSeatIdx());
+            assertSame(player, session.getPlayerBySeat(seatIdx));
+            assertEquals(seatIdx, session.seatOf(player.getId()));
+        }
+
+        assertNull(session.getPlayerBySeat(2));
+        assertEquals(-1, session.seatOf("unknown"));
+        assertEquals(-1, session.seatOf(Player.of("p1", "player1")));
+        assertSame(Tile.getDefinedTile(44), session.getTileById(44));
+        assertNull(session.getTileById(45));
+
+        session.doAction(new DiscardAndPassTurnAction(session, discarder.getSeatIdx(), 19));
+        session.doAction(new LoanAction(session, waiter.getSeatIdx(), discarder.getSeatIdx()));
+    }
+
+    @Test void turnTimeoutDiscardsDrawnTile() throws Exception {
+        // 더미에도, 상대 손패에도 없는 패 5개 (쯔모한 패와 겹치지 않도록)
+        final int[] handIds = new int[5];
+        for (int id = 1, cnt = 0; cnt < handIds.length; ++id) {
+            if (!session.getTileStock().contains(Tile.getDefinedTile(id)) && !discarder.hasTileInHand(Tile.getDefinedTile(id)) && id != 21) {
+                handIds[cnt++] = id;
+            }
+        }
+
+        setHand(waiter, handIds);
+        session.setTurnTimeoutMs(20L);
+        session.doAction(new DiscardAndPassTurnAction(session, discarder.getId(), "21"));
+
+        for (int i = 0; i < 500 && waiter.getDiscardTileCnt() == 0; ++i) {
+            Thread.sleep(10L);
+        }
+
+        synchronized (session) {
+            session.finishRound();
+        }
+
+        assertEquals(1, waiter.getDiscardTileCnt());
+        assertFalse(waiter.hasTileInHand(waiter.getLastDiscardTile()));
+        for (int id : handIds) {
+            assertNotEquals(id, waiter.getLastDiscardTile().getId()); // 쯔모한 패를 버림
+        }
+        assertEquals(5, waiter.getHandTileCnt());
+    }
+}
@@ -0,0 +1,120 @@
+package suzume;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import bgame.SessionRandom;
+import suzume.SuzumeSession.SuzumeState;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.TsumoAction;
+
+class SuzumeSnapshotTest {
+
+    private static SuzumeSession openSession(SessionRandom random) {
+        final SuzumeSession session = SuzumeSession.openSession("snapshot", new ArrayList<>(Arrays.asList(
+            Player.of("p1", "player1"), Player.of("p2", "플레이어2"), Player.of("p3", "player3"))), random);
+        session.setTimingWheel(null);
+        return session;
+    }
+
+    private static void assertSameSession(SuzumeSession expected, SuzumeSession actual) {
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getSuzumeState(), actual.getSuzumeState());
+        assertEquals(expected.getLastDrawnTile(), actual.getLastDrawnTile());
+
+        for (int i = 0; i < expected.getPlayerList().size(); ++i) {
+            final Player expectedPlayer = expected.getPlayerList().get(i);
+            final Player actualPlayer = actual.getPlayerList().get(i);
+
+            assertEquals(expectedPlayer.getHandKey(), actualPlayer.getHandKey());
+            assertEquals(expectedPlayer.getDiscardTiles(), actualPlayer.getDiscardTiles());
+            assertEquals(expectedPlayer.getDiscardValueBits(), actualPlayer.getDiscardValueBits());
+            assertEquals(expected.isLoanablePlayer(expectedPlayer), actual.isLoanablePlayer(actualPlayer));
+        }
+    }
+
+    @Test void snapshotRestoresSessionMidRound() {
+        final SuzumeSession session = openSession(SessionRandom.seeded(3L));
+        session.initRound();
+        session.doAction(new DoraAction(session, session.getRoundStartPlayer().getId()));
+        session.getPlayerList().get(1).setScore(12);
+
+        for (int turn = 0; turn < 4; ++turn) {
+            final Player turnHolder = session.getTurnHolder();
+            session.doAction(new TsumoAction(session, turnHolder.getId()));
+
+            if (turn < 3) {
+                session.doAction(new DiscardAndPassTurnAction(session, turnHolder.getId(), String.valueOf(turnHolder.getHandTiles().get(0).getId())));
+
+                if (session.getSuzumeState() == SuzumeState.WAITING_LOAN) {
+                    session.closeLoanWindow();
+                }
+            }
+        }
+
+        final ByteBuffer buf = ByteBuffer.allocate(1024);
+        SuzumeSnapshot.write(session, buf);
+        buf.flip();
+
+        final SuzumeSession restored = SuzumeSnapshot.read(buf, null);
+
+        assertFalse(buf.hasRemaining());
+        assertSameSession(session, restored);
+        assertEquals(12, restored.getPlayerList().get(1).getScore());
+
+        // 난수 생성기 상태까지 같으므로 다음 라운드도 같은 패 더미
+        session.initRound();
+        restored.initRound();
+        assertSameSession(session, restored);
+    }
+
+    @Test void snapshotOfSecureSessionKeepsStockOrder() {
+        final SuzumeSession session = openSession(SessionRandom.secure());
+        session.initRound();
+
+        final SuzumeSession restored = SuzumeSnapshot.fromBytes(SuzumeSnapshot.toBytes(session));
+
+        assertSameSession(session, restored);
+        assertFalse(restored.getRandom().isReproducible());
+    }
+
+    @Test void snapshotKeepsDeferredSettlement() {
+        final SuzumeSession session = openSession(SessionRandom.seeded(5L));
+        session.setSettlementDeferred(true);
+        session.initRound();
+
+        final List<Player> players = session.getPlayerList();
+        players.get(2).setScore(3);
+        session.finishRoundByLoan(players.get(0), players.get(2), 7);
+
+        final SuzumeSession restored = SuzumeSnapshot.fromBytes(SuzumeSnapshot.toBytes(session));
+        final RoundSettlement settlement = restored.getSettlement();
+
+        assertTrue(restored.isSettlementDeferred());
+        assertEquals(SuzumeState.ROUND_FINISHED, restored.getSuzumeState());
+        assertTrue(settlement.isPending());
+        assertEquals(RoundSettlement.Result.LOAN, settlement.getResult());
+        assertEquals(0, settlement.getWinnerSeatIdx());
+        assertEquals(2, settlement.getTargetSeatIdx());
+        assertEquals(7, settlement.getScore());
+        assertEquals(3, settlement.getPayment(0));
+        assertEquals(-3, settlement.getPayment(2));
+
+        // 복원된 세션에서 미뤄둔 정산이 한 번만 적용됨
+        assertEquals(2, SuzumeSession.settleRounds(Arrays.asList(session, restored)));
+        assertEquals(Player.START_SCORE + 3, restored.getPlayerList().get(0).getScore());
+        assertEquals(0, restored.getPlayerList().get(2).getScore());
+        assertEquals(session.getRound(), restored.getRound());
+        assertFalse(restored.settleRound());
+    }
+
+    @Test void invalidSnapshotIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SuzumeSnapshot.fromBytes(new byte[16]));
+    }
+}
@@ -0,0 +1,132 @@
+package suzume;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuzumeUtilTest {
+
+    private static Tile tile(int id) {
+        return Tile.getDefinedTileList().get(id - 1);
+    }
+
+    private static List<Tile> hand(int... ids) {
+        List<Tile> hand = new ArrayList<>();
+        for (int id : ids) {
+            hand.add(tile(id));
+        }
+        return hand;
+    }
+
+    @Test void scoreTableCoversAllHands() {
+        assertEquals(103032, HuaryoScoreTable.size());
+    }
+
+    @Test void chinYaoScore() {
+        // 1,1,1 + 9,9,9
+        assertEquals(19, SuzumeUtil.calcHuaryoScore(tile(5), hand(1, 2, 3, 33, 34, 35)));
+    }
+
+    @Test void allGreenScore() {
+        // 2,2,2 + 3,3,3
+        assertEquals(14, SuzumeUtil.calcHuaryoScore(tile(1), hand(5, 6, 7, 9, 10, 11)));
+    }
+
+    @Test void doraBonusScore() {
+        // 2,2,2 + 5,5,5 (탕야오)
+        assertEquals(5, SuzumeUtil.calcHuaryoScore(tile(1), hand(5, 6, 7, 17, 18, 19)));
+        assertEquals(8, SuzumeUtil.calcHuaryoScore(tile(8), hand(5, 6, 7, 17, 18, 19)));
+    }
+
+    @Test void scoreDoesNotDependOnHandOrder() {
+        assertEquals(SuzumeUtil.calcHuaryoScore(tile(8), hand(5, 6, 7, 17, 18, 19)),
+                     SuzumeUtil.calcHuaryoScore(tile(8), hand(19, 5, 18, 6, 17, 7)));
+    }
+
+    @Test void straightBodiesScore() {
+        // 1,2,3 + 4,5,6
+        assertEquals(2, SuzumeUtil.calcHuaryoScore(tile(41), hand(1, 5, 9, 13, 17, 21)));
+        assertEquals(3, SuzumeUtil.calcHuaryoScore(tile(18), hand(1, 5, 9, 13, 17, 21)));
+    }
+
+    @Test void bodiesAreFoundRegardlessOfTileIds() {
+        // 1,1,1 + 2,3,4 / 1,2,3 + 1,2,3 (챤타)
+        assertEquals(3, SuzumeUtil.calcHuaryoScore(tile(41), hand(1, 2, 3, 5, 9, 13)));
+        assertEquals(4, SuzumeUtil.calcHuaryoScore(tile(41), hand(1, 2, 5, 6, 9, 10)));
+    }
+
+    @Test void yakuBitsFollowScoredBodies() {
+        // 2,2,2 + 3,3,3 (올 그린)
+        assertEquals(Yaku.ALL_GREEN.bit(), HuaryoScoreTable.getYakuBits(1, HuaryoScoreTable.keyOf(hand(5, 6, 7, 9, 10, 11))));
+
+        // 2,2,2 + 5,5,5 (탕야오, 도라 2)
+        final long handKey = HuaryoScoreTable.keyOf(hand(5, 6, 7, 17, 18, 19));
+        assertEquals(Yaku.TANG_YAO.bit() | Yaku.DORA.bit(), HuaryoScoreTable.getYakuBits(2, handKey));
+        assertEquals(Yaku.TANG_YAO.bit(), HuaryoScoreTable.getYakuBits(1, handKey));
+
+        // 1,2,3 + 1,2,3 (챤타) / 1(적색패),1,1 + 2,3,4
+        assertEquals(Yaku.CHANTA.bit(), HuaryoScoreTable.getYakuBits(Tile.VAL_JUNG, HuaryoScoreTable.keyOf(hand(1, 2, 5, 6, 9, 10))));
+        assertEquals(Yaku.RED.bit(), HuaryoScoreTable.getYakuBits(Tile.VAL_JUNG, HuaryoScoreTable.keyOf(hand(1, 2, 4, 5, 9, 13))));
+
+        assertEquals(0, HuaryoScoreTable.getYakuBits(1, HuaryoScoreTable.keyOf(hand(1, 9, 17, 25, 37, 41))));
+    }
+
+    @Test void incompleteHandScoresZero() {
+        assertEquals(0, SuzumeUtil.calcHuaryoScore(tile(1), hand(1, 9, 17, 25, 37, 41)));
+    }
+
+    @Test void waitSetOfFiveTileHand() {
+        // 1,1,1 + 2,3 : 1(적색패), 4 대기
+        WaitSet waitSet = SuzumeUtil.calcWaitSet(hand(1, 2, 3, 5, 9));
+
+        assertEquals((1 << 1) | (1 << 4), waitSet.getWaitValueBits());
+        assertEquals(0, waitSet.getScore(Tile.VAL_JUNG, 1, false)); // 일반패 1은 남아있지 않음
+        assertEquals(6, waitSet.getScore(Tile.VAL_JUNG, 1, true));
+        assertEquals(3, waitSet.getScore(Tile.VAL_JUNG, 4, false));
+        assertEquals(5, waitSet.getScore(tile(13), tile(16)));
+        assertEquals(0, waitSet.getScore(Tile.VAL_JUNG, 5, false));
+
+        for (int id = 1; id <= 44; ++id) {
+            List<Tile> sixTiles = hand(1, 2, 3, 5, 9);
+            if (!sixTiles.contains(tile(id))) {
+                sixTiles.add(tile(id));
+                assertEquals(SuzumeUtil.calcHuaryoScore(tile(13), sixTiles), waitSet.getScore(tile(13), tile(id)));
+            }
+        }
+    }
+
+    @Test void reusedWaitSetMatchesFullScoreAcrossDrawsAndDiscards() {
+        final Random random = new Random(11L);
+        final WaitSet waitSet = new WaitSet();
+
+        for (int round = 0; round < 2000; ++round) {
+            final List<Tile> stock = new ArrayList<>(Tile.getDefinedTileList());
+            Collections.shuffle(stock, random);
+            final List<Tile> hand = new ArrayList<>(stock.subList(0, 5));
+
+            // 쯔모(6개) 후 버리기를 반복하며 같은 WaitSet을 갱신
+            for (int turn = 0; turn < 4; ++turn) {
+                waitSet.update(HuaryoScoreTable.keyOf(hand));
+
+                for (Tile winTile : stock.subList(5 + turn, stock.size())) {
+                    final List<Tile> sixTiles = new ArrayList<>(hand);
+                    sixTiles.add(winTile);
+                    assertEquals(SuzumeUtil.calcHuaryoScore(tile(1), sixTiles), waitSet.getScore(tile(1), winTile));
+                }
+
+                hand.add(stock.get(5 + turn));
+                waitSet.update(HuaryoScoreTable.keyOf(hand));
+                assertFalse(waitSet.isTenpai());
+                hand.remove(random.nextBoolean() ? 5 : random.nextInt(5));
+            }
+        }
+    }
+
+    @Test void wrongHandSizeThrows() {
+        assertThrows(RuleException.class, () -> SuzumeUtil.calcHuaryoScore(tile(1), hand(1, 2, 3, 4, 5)));
+    }
+}
@@ -0,0 +1,81 @@
+package suzume.bot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import bgame.SessionRandom;
+import suzume.Player;
+import suzume.StateDelta;
+import suzume.SuzumeSession;
+import suzume.Tile;
+import suzume.actions.DoraAction;
+import suzume.actions.TsumoAction;
+
+class SuzumeBotTest {
+
+    private static SuzumeSession openSession(long seed) {
+        final SuzumeSession session = SuzumeSession.openSession("bot", new ArrayList<>(Arrays.asList(
+            Player.of("p1", "player1"), Player.of("p2", "player2"))), SessionRandom.seeded(seed));
+        session.setTimingWheel(null);
+        session.setTurnTimeoutMs(0L);
+        return session;
+    }
+
+    @Test void searchKeepsBodiesAndRespectsBudget() {
+        final SuzumeSession session = openSession(5L);
+        session.initRound();
+        session.doAction(new DoraAction(session, session.getRoundStartPlayer().getSeatIdx()));
+        session.doAction(new TsumoAction(session, session.getTurnHolder().getSeatIdx()));
+
+        // 1-2-3 몸통과 5-6 양면 대기에 발 하나: 발을 버려야 함
+        final Player turnHolder = session.getTurnHolder();
+        turnHolder.clearHandAndDiscard();
+        for (int tileId : new int[] { 1, 5, 9, 17, 21, 37 }) {
+            turnHolder.addTileToHand(Tile.getDefinedTile(tileId));
+        }
+
+        final BotPolicy policy = new BotPolicy(TimeUnit.MILLISECONDS.toNanos(20L));
+        final long startNanos = System.nanoTime();
+        assertEquals(37, policy.chooseDiscard(session, turnHolder));
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.MILLISECONDS.toNanos(500L));
+
+        final ExpectimaxSearch search = policy.getSearch();
+        assertTrue(search.getCompletedDepth() >= 1);
+        assertTrue(search.getValueOfDiscard(ExpectimaxSearch.classOf(Tile.getDefinedTile(37))) > 0.0);
+    }
+
+    @Test void botsPlayLiveRoundUntilItEnds() throws InterruptedException {
+        final SuzumeSession session = openSession(9L);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final List<StateDelta.Type> types = new ArrayList<>();
+
+        session.subscribe(StateDelta.NO_SEAT, delta -> {
+            types.add(delta.getType());
+
+            final boolean stockEmpty = delta.getType() == StateDelta.Type.TILE_DRAWN && delta.getValue() == 0;
+            if (delta.getType() == StateDelta.Type.HUARYO || delta.getType() == StateDelta.Type.LOAN || stockEmpty) {
+                finished.countDown();
+            }
+        });
+
+        session.initRound();
+        final SuzumeBot first = SuzumeBot.attach(session, 0, TimeUnit.MILLISECONDS.toNanos(2L));
+        final SuzumeBot second = SuzumeBot.attach(session, 1, TimeUnit.MILLISECONDS.toNanos(2L));
+
+        assertTrue(finished.await(10L, TimeUnit.SECONDS));
+        first.detach();
+        second.detach();
+
+        synchronized (session) {
+            assertTrue(types.contains(StateDelta.Type.DORA_SET));
+            assertTrue(types.contains(StateDelta.Type.TILE_DISCARDED));
+        }
+        assertThrows(IllegalArgumentException.class, () -> SuzumeBot.attach(session, 2, 1L));
+    }
+}
@@ -0,0 +1,75 @@
+package suzume.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import bgame.SessionRandom;
+import suzume.Player;
+import suzume.StateDelta;
+import suzume.SuzumeSession;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.TsumoAction;
+
+class SessionBroadcasterTest {
+
+    @Test void encodesOncePerDeltaRegardlessOfAudience() {
+        final SuzumeSession session = SuzumeSession.openSession("broadcast", new ArrayList<>(Arrays.asList(
+            Player.of("p1", "player1"), Player.of("p2", "player2"))), SessionRandom.seeded(5L));
+        session.setTimingWheel(null);
+        session.initRound();
+
+        final SessionBroadcaster broadcaster = SessionBroadcaster.attach(session);
+        final int starterSeat = session.getRoundStartPlayer().getSeatIdx();
+        final List<SharedFrame> ownFrames = new ArrayList<>();
+        final List<SharedFrame> spectatorFrames = new ArrayList<>();
+
+        broadcaster.addSubscriber(starterSeat, ownFrames::add);
+        for (int i = 0; i < 1000; ++i) {
+            broadcaster.addSubscriber(StateDelta.NO_SEAT, spectatorFrames::add);
+        }
+
+        session.doAction(new DoraAction(session, starterSeat));   // DORA_SET, STATE_CHANGED
+        session.doAction(new TsumoAction(session, starterSeat));  // TILE_DRAWN (공개 + 비공개), STATE_CHANGED
+
+        assertEquals(5L, broadcaster.getEncodedFrameCnt());
+        assertEquals(4, ownFrames.size());
+        assertEquals(4000, spectatorFrames.size());
+
+        // 관전자는 모두 같은 공개 프레임을 받고, 본인은 비공개 프레임을 받음
+        final SharedFrame publicDrawn = spectatorFrames.get(2000);
+        assertSame(publicDrawn, spectatorFrames.get(2999));
+        assertNotSame(publicDrawn, ownFrames.get(2));
+        assertEquals(1000, publicDrawn.getRefCnt());
+        assertEquals(1, ownFrames.get(2).getRefCnt());
+
+        assertEquals(0, decode(publicDrawn).getTileId());
+        assertEquals(session.getLastDrawnTile().getId(), decode(ownFrames.get(2)).getTileId());
+
+        for (SharedFrame frame : spectatorFrames) {
+            frame.release();
+        }
+        assertEquals(0, publicDrawn.getRefCnt());
+
+        broadcaster.detach();
+        session.doAction(new DiscardAndPassTurnAction(session, starterSeat, session.getLastDrawnTile().getId()));
+        assertEquals(5L, broadcaster.getEncodedFrameCnt());
+    }
+
+    private static StateDelta decode(SharedFrame frame) {
+        final ByteBuffer buf = ByteBuffer.allocate(frame.getLength());
+        frame.copyTo(buf);
+        buf.flip();
+
+        assertEquals(SuzumeProtocol.RESULT_BODY_SIZE + StateDelta.ENCODED_SIZE, buf.getShort());
+        assertEquals(SuzumeProtocol.PUSH_SEQ, buf.getInt());
+        assertEquals(SuzumeProtocol.STATUS_DELTA, buf.get());
+        buf.get();
+        return StateDelta.read(buf);
+    }
+}
@@ -0,0 +1,413 @@
+package suzume.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import bgame.SessionRandom;
+import bgame.SessionRegistry;
+import suzume.Player;
+import suzume.RuleCode;
+import suzume.StateDelta;
+import suzume.SuzumeSession;
+import suzume.SuzumeSession.SuzumeState;
+import suzume.actions.DiscardAndPassTurnAction;
+import suzume.actions.DoraAction;
+import suzume.actions.TsumoAction;
+
+class SuzumeServerTest {
+
+    private SessionRegistry<SuzumeSession> registry;
+    private SuzumeSession session;
+    private SuzumeServer server;
+
+    @BeforeEach void setUp() throws IOException {
+        registry = new SessionRegistry<>(60000L);
+        session = SuzumeSession.openSession("server-test", new ArrayList<>(Arrays.asList(Player.of("p1", "player1"), Player.of("p2", "player2"))), SessionRandom.seeded(7L));
+        session.setTimingWheel(null);
+        session.initRound();
+        registry.register(session);
+        server = SuzumeServer.start(registry, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+    }
+
+    @AfterEach void tearDown() {
+        server.close();
+    }
+
+    private SocketChannel connect() throws IOException {
+        return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+    }
+
+    private static void send(SocketChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) < 0) {
+                fail("Connection closed");
+            }
+        }
+
+        buf.flip();
+    }
+
+    private static ByteBuffer receiveFrame(SocketChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(SuzumeProtocol.LENGTH_FIELD_SIZE);
+        readFully(channel, header);
+
+        final ByteBuffer body = ByteBuffer.allocate(header.getShort() & 0xFFFF);
+        readFully(channel, body);
+        return body;
+    }
+
+    private static boolean isDelta(ByteBuffer body) {
+        return body.get(4) == SuzumeProtocol.STATUS_DELTA;
+    }
+
+    // 다음 응답 (사이에 온 델타는 건너뜀)
+    private static ByteBuffer receive(SocketChannel channel) throws IOException {
+        ByteBuffer body;
+        do {
+            body = receiveFrame(channel);
+        } while (isDelta(body));
+
+        assertEquals(SuzumeProtocol.RESULT_BODY_SIZE, body.remaining());
+        return body;
+    }
+
+    // 다음 델타 (사이에 온 응답은 건너뜀)
+    private static StateDelta receiveDelta(SocketChannel channel) throws IOException {
+        ByteBuffer body;
+        do {
+            body = receiveFrame(channel);
+        } while (!isDelta(body));
+
+        assertEquals(SuzumeProtocol.PUSH_SEQ, body.getInt());
+        body.position(SuzumeProtocol.RESULT_BODY_SIZE);
+        return StateDelta.read(body);
+    }
+
+    // 구독 직후의 기준 상태 (RESYNC 델타 + 이어지는 델타)
+    private static List<StateDelta> receiveBaseline(SocketChannel channel) throws IOException {
+        final StateDelta resync = receiveDelta(channel);
+        assertEquals(StateDelta.Type.RESYNC, resync.getType());
+
+        final List<StateDelta> baseline = new ArrayList<>();
+        for (long i = 0L; i < resync.getValue(); ++i) {
+            final StateDelta delta = receiveDelta(channel);
+            assertEquals(resync.getSeq(), delta.getSeq());
+            baseline.add(delta);
+        }
+
+        return baseline;
+    }
+
+    private static StateDelta find(List<StateDelta> baseline, StateDelta.Type type, int seatIdx) {
+        for (StateDelta delta : baseline) {
+            if (delta.getType() == type && delta.getSeatIdx() == seatIdx) {
+                return delta;
+            }
+        }
+
+        return fail("No " + type + " for seat " + seatIdx);
+    }
+
+    private static void expect(SocketChannel channel, int seq, byte status, int code) throws IOException {
+        final ByteBuffer result = receive(channel);
+        assertEquals(seq, result.getInt());
+        assertEquals(status, result.get());
+        assertEquals(code, result.get() & 0xFF);
+    }
+
+    private static void bind(SocketChannel channel, int seq, String sessionId, String playerId) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(64);
+        SuzumeProtocol.putBind(buf, seq, sessionId, playerId);
+        send(channel, buf);
+    }
+
+    private static void act(SocketChannel channel, int seq, byte op) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(16);
+        SuzumeProtocol.putAction(buf, seq, op);
+        send(channel, buf);
+    }
+
+    @Test void decodesActionsAndWritesResults() throws IOException {
+        final Player startPlayer = session.getRoundStartPlayer();
+        final Player otherPlayer = session.getPlayerBySeat((startPlayer.getSeatIdx() + 1) % 2);
+
+        try (SocketChannel starter = connect(); SocketChannel other = connect()) {
+            act(other, 1, SuzumeProtocol.OP_DORA);
+            expect(other, 1, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_NOT_BOUND);
+
+            bind(other, 2, "unknown", otherPlayer.getId());
+            expect(other, 2, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_SESSION);
+
+            bind(other, 3, session.getSessionId(), "unknown");
+            expect(other, 3, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_PLAYER);
+
+            bind(other, 4, session.getSessionId(), otherPlayer.getId());
+            expect(other, 4, SuzumeProtocol.STATUS_ACCEPTED, 0);
+
+            act(other, 5, SuzumeProtocol.OP_DORA);
+            expect(other, 5, SuzumeProtocol.STATUS_REJECTED, RuleCode.NOT_ROUND_START_PLAYER.ordinal());
+
+            bind(starter, 1, session.getSessionId(), startPlayer.getId());
+            act(starter, 2, SuzumeProtocol.OP_DORA);
+            act(starter, 3, SuzumeProtocol.OP_TSUMO);
+            expect(starter, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            expect(starter, 2, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            expect(starter, 3, SuzumeProtocol.STATUS_ACCEPTED, 0);
+
+            final ByteBuffer buf = ByteBuffer.allocate(16);
+            SuzumeProtocol.putAction(buf, 4, SuzumeProtocol.OP_DISCARD, 99);
+            send(starter, buf);
+            expect(starter, 4, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_BAD_REQUEST);
+
+            buf.clear();
+            SuzumeProtocol.putAction(buf, 5, SuzumeProtocol.OP_DISCARD, session.getLastDrawnTile().getId());
+            send(starter, buf);
+            expect(starter, 5, SuzumeProtocol.STATUS_ACCEPTED, 0);
+        }
+
+        assertNotEquals(SuzumeState.WAITING_DORA, session.getSuzumeState());
+        assertEquals(5, startPlayer.getHandTileCnt());
+    }
+
+    @Test void errorRepliesWaitForEarlierActions() throws Exception {
+        final Player startPlayer = session.getRoundStartPlayer();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (SocketChannel starter = connect()) {
+            bind(starter, 1, session.getSessionId(), startPlayer.getId());
+            expect(starter, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+
+            // 우편함을 막아 액션 응답이 늦게 오도록 함
+            session.execute(() -> {
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            act(starter, 2, SuzumeProtocol.OP_DORA);
+            final ByteBuffer buf = ByteBuffer.allocate(16);
+            SuzumeProtocol.putAction(buf, 3, SuzumeProtocol.OP_DISCARD, 99);
+            send(starter, buf);
+            Thread.sleep(50L);
+            release.countDown();
+
+            expect(starter, 2, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            expect(starter, 3, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_BAD_REQUEST);
+
+            // 기다리는 응답이 없으면 바로 응답
+            buf.clear();
+            SuzumeProtocol.putAction(buf, 4, SuzumeProtocol.OP_DISCARD, 99);
+            send(starter, buf);
+            expect(starter, 4, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_BAD_REQUEST);
+        }
+        finally {
+            release.countDown();
+        }
+    }
+
+    @Test void spectatorsReceiveSharedPublicDeltas() throws IOException {
+        final Player startPlayer = session.getRoundStartPlayer();
+
+        try (SocketChannel starter = connect(); SocketChannel watcher1 = connect(); SocketChannel watcher2 = connect()) {
+            final ByteBuffer buf = ByteBuffer.allocate(64);
+            SuzumeProtocol.putWatch(buf, 1, session.getSessionId());
+            send(watcher1, buf);
+            expect(watcher1, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            receiveBaseline(watcher1);
+
+            buf.clear();
+            SuzumeProtocol.putWatch(buf, 1, session.getSessionId());
+            send(watcher2, buf);
+            expect(watcher2, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            receiveBaseline(watcher2);
+
+            act(watcher1, 2, SuzumeProtocol.OP_TSUMO);
+            expect(watcher1, 2, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_NOT_BOUND);
+
+            bind(starter, 1, session.getSessionId(), startPlayer.getId());
+            expect(starter, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            assertEquals(1, server.getBroadcastSessionCnt());
+
+            act(starter, 2, SuzumeProtocol.OP_DORA);
+            act(starter, 3, SuzumeProtocol.OP_TSUMO);
+
+            // 본인은 자신이 뽑은 패를 그대로 받음
+            StateDelta ownDrawn;
+            do {
+                ownDrawn = receiveDelta(starter);
+            } while (ownDrawn.getType() != StateDelta.Type.TILE_DRAWN);
+
+            assertEquals(session.getLastDrawnTile().getId(), ownDrawn.getTileId());
+
+            for (SocketChannel watcher : Arrays.asList(watcher1, watcher2)) {
+                final StateDelta doraSet = receiveDelta(watcher);
+                assertEquals(StateDelta.Type.DORA_SET, doraSet.getType());
+                assertEquals(session.getDoraTile().getId(), doraSet.getTileId());
+
+                assertEquals(StateDelta.Type.STATE_CHANGED, receiveDelta(watcher).getType());
+
+                final StateDelta drawn = receiveDelta(watcher);
+                assertEquals(StateDelta.Type.TILE_DRAWN, drawn.getType());
+                assertEquals(doraSet.getSeq() + 2, drawn.getSeq());
+                assertEquals(ownDrawn.getSeq(), drawn.getSeq());
+                assertEquals(0, drawn.getTileId());
+            }
+        }
+    }
+
+    @Test void lateSubscribersReceiveMaskedBaseline() throws IOException {
+        final Player startPlayer = session.getRoundStartPlayer();
+        session.doAction(new DoraAction(session, startPlayer.getId()));
+        session.doAction(new TsumoAction(session, startPlayer.getId()));
+
+        final int discardTileId = startPlayer.getHandTiles().get(0).getId();
+        session.doAction(new DiscardAndPassTurnAction(session, startPlayer.getId(), String.valueOf(discardTileId)));
+
+        try (SocketChannel player = connect(); SocketChannel watcher = connect()) {
+            final ByteBuffer buf = ByteBuffer.allocate(64);
+            SuzumeProtocol.putWatch(buf, 1, session.getSessionId());
+            send(watcher, buf);
+            expect(watcher, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+
+            bind(player, 1, session.getSessionId(), startPlayer.getId());
+            expect(player, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+
+            final int seatIdx = startPlayer.getSeatIdx();
+            final List<StateDelta> watched = receiveBaseline(watcher);
+            final List<StateDelta> own = receiveBaseline(player);
+
+            assertEquals(session.getDeltaSeq(), watched.get(0).getSeq());
+            assertEquals(session.getDoraTile().getId(), find(watched, StateDelta.Type.DORA_SET, seatIdx).getTileId());
+            assertEquals(discardTileId, find(watched, StateDelta.Type.TILE_DISCARDED, seatIdx).getTileId());
+            assertEquals(session.getTurnHolder().getSeatIdx(), find(watched, StateDelta.Type.TURN_PASSED, session.getTurnHolder().getSeatIdx()).getSeatIdx());
+            assertEquals(startPlayer.getScore(), find(watched, StateDelta.Type.SCORE_CHANGED, seatIdx).getValue());
+
+            // 손패는 본인에게만 보임
+            assertEquals(0L, find(watched, StateDelta.Type.HAND_DEALT, seatIdx).getValue());
+            assertEquals(startPlayer.getHandTileBits(), find(own, StateDelta.Type.HAND_DEALT, seatIdx).getValue());
+        }
+    }
+
+    @Test void rejectsDoraBeforeFirstRound() throws IOException {
+        final SuzumeSession idle = SuzumeSession.openSession("server-idle", new ArrayList<>(Arrays.asList(Player.of("p1", "player1"), Player.of("p2", "player2"))));
+        idle.setTimingWheel(null);
+        registry.register(idle);
+
+        try (SocketChannel channel = connect()) {
+            bind(channel, 1, idle.getSessionId(), idle.getRoundStartPlayer().getId());
+            act(channel, 2, SuzumeProtocol.OP_DORA);
+            expect(channel, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            expect(channel, 2, SuzumeProtocol.STATUS_REJECTED, RuleCode.NOT_NOW.ordinal());
+            assertNull(idle.getDoraTile());
+        }
+    }
+
+    @Test void reassemblesFramesSplitAcrossReads() throws Exception {
+        try (SocketChannel channel = connect()) {
+            final ByteBuffer buf = ByteBuffer.allocate(64);
+            SuzumeProtocol.putBind(buf, 1, session.getSessionId(), "p1");
+            SuzumeProtocol.putAction(buf, 2, (byte) 99);
+            buf.flip();
+
+            while (buf.hasRemaining()) {
+                final ByteBuffer piece = buf.slice();
+                piece.limit(Math.min(3, piece.remaining()));
+                buf.position(buf.position() + channel.write(piece));
+                Thread.sleep(2L);
+            }
+
+            expect(channel, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            expect(channel, 2, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_BAD_REQUEST);
+        }
+    }
+
+    @Test void closesConnectionOnInvalidFrameLength() throws IOException {
+        try (SocketChannel channel = connect()) {
+            final ByteBuffer buf = ByteBuffer.allocate(8);
+            buf.putShort((short) (SuzumeProtocol.MAX_FRAME_SIZE + 1)).putInt(1);
+            send(channel, buf);
+
+            assertEquals(-1, channel.read(ByteBuffer.allocate(8)));
+        }
+    }
+
+    @Test void releasesConnectionsOfClosedSession() throws Exception {
+        try (SocketChannel player = connect(); SocketChannel watcher = connect()) {
+            bind(player, 1, session.getSessionId(), session.getRoundStartPlayer().getId());
+            expect(player, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+
+            final ByteBuffer buf = ByteBuffer.allocate(64);
+            SuzumeProtocol.putWatch(buf, 1, session.getSessionId());
+            send(watcher, buf);
+            expect(watcher, 1, SuzumeProtocol.STATUS_ACCEPTED, 0);
+            assertEquals(1, server.getBroadcastSessionCnt());
+
+            registry.unregister(session.getSessionId());
+
+            // 루프가 종료 알림을 처리하면 세션 방송이 방송 목록에서 떨어짐
+            final long deadline = System.currentTimeMillis() + 5000L;
+            while (server.getBroadcastSessionCnt() != 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1L);
+            }
+
+            assertEquals(0, server.getBroadcastSessionCnt());
+
+            act(player, 2, SuzumeProtocol.OP_DORA);
+            expect(player, 2, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_SESSION);
+
+            act(player, 3, SuzumeProtocol.OP_DORA);
+            expect(player, 3, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_NOT_BOUND);
+
+            bind(player, 4, session.getSessionId(), session.getRoundStartPlayer().getId());
+            expect(player, 4, SuzumeProtocol.STATUS_ERROR, SuzumeProtocol.ERR_UNKNOWN_SESSION);
+            assertEquals(0, server.getBroadcastSessionCnt());
+        }
+    }
+
+    @Test void servesManyConcurrentConnections() throws IOException {
+        final List<SocketChannel> channels = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 300; ++i) {
+                final SocketChannel channel = connect();
+                channels.add(channel);
+                bind(channel, i, session.getSessionId(), i % 2 == 0 ? "p1" : "p2");
+                act(channel, i + 1, SuzumeProtocol.OP_HUARYO);
+            }
+
+            for (int i = 0; i < channels.size(); ++i) {
+                expect(channels.get(i), i, SuzumeProtocol.STATUS_ACCEPTED, 0);
+                expect(channels.get(i), i + 1, SuzumeProtocol.STATUS_REJECTED, RuleCode.NOT_NOW.ordinal());
+            }
+
+            assertEquals(300, server.getConnectionCnt());
+        }
+        finally {
+            for (SocketChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+}
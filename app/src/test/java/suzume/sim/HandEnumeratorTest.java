@@ -0,0 +1,75 @@
+package suzume.sim;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import suzume.HuaryoScoreTable;
+import suzume.Tile;
+
+class HandEnumeratorTest {
+
+    @Test void matchesBruteForceOverEveryHand() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final HandDistribution dist;
+
+        try {
+            dist = new HandEnumerator(pool).enumerate();
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        // 발 도라 하나를 뺀 43개에서 6개를 뽑는 모든 손패 (발 도라 4개는 모두 같은 종류)
+        final Tile doraTile = Tile.getDefinedTile(37);
+        final List<Tile> deck = new ArrayList<>(Tile.getDefinedTileList());
+        deck.remove(doraTile);
+
+        final long[] keys = new long[deck.size()];
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = HuaryoScoreTable.keyOf(deck.get(i));
+        }
+
+        final long[] expected = new long[HandDistribution.SCORE_CAPACITY];
+        final int n = keys.length;
+        for (int a = 0; a < n; ++a)
+        for (int b = a + 1; b < n; ++b)
+        for (int c = b + 1; c < n; ++c)
+        for (int d = c + 1; d < n; ++d)
+        for (int e = d + 1; e < n; ++e)
+        for (int f = e + 1; f < n; ++f) {
+            ++expected[HuaryoScoreTable.getScore(Tile.VAL_BAL, keys[a] + keys[b] + keys[c] + keys[d] + keys[e] + keys[f])];
+        }
+
+        for (int score = 0; score < HandDistribution.SCORE_CAPACITY; ++score) {
+            assertEquals(4L * expected[score], dist.getHandCnt(Tile.VAL_BAL, score), "score " + score);
+        }
+
+        // 도라 패 44개 * C(43, 6)
+        assertEquals(44L * 6_096_454L, dist.getTotalCnt(0));
+        assertEquals(4L * 6_096_454L, dist.getTotalCnt(1));
+        assertTrue(dist.getWinProbability(1) > 0.0);
+        assertTrue(dist.getMeanWinScore(0) >= 5.0);
+    }
+
+    @Test void writesCsvRows() throws Exception {
+        final HandDistribution dist = new HandDistribution();
+        dist.record(3, 0, 90L);
+        dist.record(3, 7, 10L);
+
+        final StringWriter writer = new StringWriter();
+        dist.writeCsv(writer);
+
+        final String[] lines = writer.toString().split("\n");
+        assertEquals(HandDistribution.CSV_HEADER, lines[0]);
+        assertEquals("0,0,90,0.9", lines[1]);
+        assertEquals("0,7,10,0.1", lines[2]);
+        assertEquals("3,0,90,0.9", lines[3]);
+        assertEquals(5, lines.length);
+        assertEquals(0.1, dist.getWinProbability(3), 1e-12);
+    }
+}
@@ -0,0 +1,54 @@
+package suzume.sim;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import suzume.Yaku;
+
+class SelfPlaySimulatorTest {
+
+    private static SimulationStats simulate(int parallelism, long seed, long roundCnt) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            return new SelfPlaySimulator(Arrays.asList(SimplePolicies.greedy(), SimplePolicies.random(), SimplePolicies.tsumogiri()),
+                                         seed, pool).run(roundCnt);
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test void aggregatesEveryRound() {
+        final SimulationStats stats = simulate(2, 3L, 3000L);
+
+        assertEquals(3000L, stats.getRoundCnt());
+        assertEquals(stats.getRoundCnt(), stats.getHuaryoCnt() + stats.getLoanCnt() + stats.getDrawCnt());
+        assertEquals(stats.getHuaryoCnt() + stats.getLoanCnt(), stats.getWinCnt(0) + stats.getWinCnt(1) + stats.getWinCnt(2));
+        assertEquals(stats.getLoanCnt(), stats.getDealInCnt(0) + stats.getDealInCnt(1) + stats.getDealInCnt(2));
+
+        long scoreCnt = 0L;
+        for (int score = 0; score <= SimulationStats.MAX_SCORE; ++score) {
+            scoreCnt += stats.getScoreCnt(score);
+            assertTrue(score >= 5 || stats.getScoreCnt(score) == 0L);
+        }
+        assertEquals(stats.getHuaryoCnt() + stats.getLoanCnt(), scoreCnt);
+
+        // 탐욕 정책이 무작위/쯔모기리보다 자주 이김
+        assertTrue(stats.getWinRate(0) > stats.getWinRate(1));
+        assertTrue(stats.getWinRate(0) > stats.getWinRate(2));
+        assertTrue(stats.getYakuCnt(Yaku.RED) > 0L);
+        assertTrue(stats.getMeanRoundLength() > 0.0);
+    }
+
+    @Test void sameSeedGivesSameResultOnAnyPool() {
+        final SimulationStats single = simulate(1, 11L, 1000L);
+        final SimulationStats parallel = simulate(4, 11L, 1000L);
+
+        assertEquals(single.toString(), parallel.toString());
+        assertNotEquals(single.toString(), simulate(4, 12L, 1000L).toString());
+    }
+}